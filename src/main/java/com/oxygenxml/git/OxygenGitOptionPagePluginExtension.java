@@ -11,7 +11,10 @@ import javax.swing.JComponent;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JRadioButton;
+import javax.swing.JSpinner;
 import javax.swing.JTextArea;
+import javax.swing.JTextField;
+import javax.swing.SpinnerNumberModel;
 import javax.xml.bind.annotation.XmlEnum;
 
 import com.oxygenxml.git.options.OptionTags;
@@ -127,6 +130,26 @@ public class OxygenGitOptionPagePluginExtension extends OptionPagePluginExtensio
    */
   private JRadioButton doNothingRadio;
   
+  /**
+   * Patterns for the branches presented in the history of all branches.
+   */
+  private JTextField historyIncludedBranches;
+  
+  /**
+   * Patterns for the branches not presented in the history of all branches.
+   */
+  private JTextField historyExcludedBranches;
+  
+  /**
+   * Only the branches updated in this number of days are presented in the history of all branches.
+   */
+  private JSpinner historyBranchesMaxAgeDays;
+  
+  /**
+   * The maximum number of branches presented in the history of all branches.
+   */
+  private JSpinner historyMaxBranches;
+  
   
   /**
    * @see ro.sync.exml.plugin.option.OptionPagePluginExtension#init(ro.sync.exml.workspace.api.PluginWorkspace)
@@ -176,6 +199,8 @@ public class OxygenGitOptionPagePluginExtension extends OptionPagePluginExtensio
 
     addValidationSection(mainPanel, constraints);
     
+    addHistorySection(mainPanel, constraints);
+    
     // Empty panel to take up the rest of the space
     constraints.gridx = 0;
     constraints.gridy ++;
@@ -255,6 +280,74 @@ public class OxygenGitOptionPagePluginExtension extends OptionPagePluginExtensio
    
   }
 
+  /**
+   * Add the section with the branches presented in the history of all branches.
+   * 
+   * @param mainPanel   The panel to add this section.
+   * @param constraints The existing constraints in this panel.
+   */
+  private void addHistorySection(final JPanel mainPanel, final GridBagConstraints constraints) {
+    constraints.insets = new Insets(NESTED_OPTION_INSET, 0, 0, 0);
+    constraints.anchor = GridBagConstraints.LINE_START;
+    constraints.fill = GridBagConstraints.HORIZONTAL;
+    constraints.gridy ++;
+    constraints.weightx = 1;
+    mainPanel.add(new SectionPane(TRANSLATOR.getTranslation(Tags.HISTORY_OF_ALL_BRANCHES)), constraints);
+    
+    final JPanel historyPanel = new JPanel(new GridBagLayout());
+    final GridBagConstraints historyConstraints = new GridBagConstraints();
+    historyConstraints.gridx = 0;
+    historyConstraints.gridy = 0;
+    historyConstraints.anchor = GridBagConstraints.LINE_START;
+    
+    final String patternsTooltip = TRANSLATOR.getTranslation(Tags.BRANCHES_PATTERNS_TOOLTIP);
+    historyIncludedBranches = new JTextField();
+    historyIncludedBranches.setToolTipText(patternsTooltip);
+    addHistoryOption(historyPanel, historyConstraints, Tags.INCLUDED_BRANCHES, historyIncludedBranches);
+    
+    historyExcludedBranches = new JTextField();
+    historyExcludedBranches.setToolTipText(patternsTooltip);
+    addHistoryOption(historyPanel, historyConstraints, Tags.EXCLUDED_BRANCHES, historyExcludedBranches);
+    
+    historyBranchesMaxAgeDays = new JSpinner(new SpinnerNumberModel(0, 0, Integer.MAX_VALUE, 1));
+    addHistoryOption(historyPanel, historyConstraints, Tags.BRANCHES_UPDATED_IN_LAST_DAYS, historyBranchesMaxAgeDays);
+    
+    historyMaxBranches = new JSpinner(new SpinnerNumberModel(0, 0, Integer.MAX_VALUE, 1));
+    addHistoryOption(historyPanel, historyConstraints, Tags.MAX_PRESENTED_BRANCHES, historyMaxBranches);
+    
+    constraints.insets = new Insets(0, 0, 0, 0);
+    constraints.gridy ++;
+    mainPanel.add(historyPanel, constraints);
+  }
+  
+  /**
+   * Adds a labeled option in the history section.
+   * 
+   * @param historyPanel       The history section panel.
+   * @param historyConstraints The constraints in the history section.
+   * @param labelKey           The translation key of the label.
+   * @param component          The component that edits the option.
+   */
+  private static void addHistoryOption(
+      final JPanel historyPanel,
+      final GridBagConstraints historyConstraints,
+      final String labelKey,
+      final JComponent component) {
+    historyConstraints.gridx = 0;
+    historyConstraints.weightx = 0;
+    historyConstraints.fill = GridBagConstraints.NONE;
+    historyConstraints.insets = new Insets(2, COMBO_LEFT_INSET, 2, 5);
+    historyPanel.add(new JLabel(TRANSLATOR.getTranslation(labelKey)), historyConstraints);
+    
+    historyConstraints.gridx ++;
+    historyConstraints.weightx = 1;
+    historyConstraints.fill = GridBagConstraints.HORIZONTAL;
+    historyConstraints.insets = new Insets(2, 0, 2, 0);
+    historyPanel.add(component, historyConstraints);
+    
+    historyConstraints.gridy ++;
+  }
+
   /**
    * Set the initial states of the options.
    */
@@ -283,6 +376,11 @@ public class OxygenGitOptionPagePluginExtension extends OptionPagePluginExtensio
     
     askToCreateNewRepoIfNotCreated.setSelected(OPTIONS_MANAGER.getAskUserToCreateNewRepoIfNotExist());
     
+    historyIncludedBranches.setText(OPTIONS_MANAGER.getHistoryIncludedBranches());
+    historyExcludedBranches.setText(OPTIONS_MANAGER.getHistoryExcludedBranches());
+    historyBranchesMaxAgeDays.setValue(Math.max(0, OPTIONS_MANAGER.getHistoryBranchesMaxAgeDays()));
+    historyMaxBranches.setValue(Math.max(0, OPTIONS_MANAGER.getHistoryMaxBranches()));
+    
     WhenRepoDetectedInProject whatToDo = OPTIONS_MANAGER.getWhenRepoDetectedInProject();
     switch (whatToDo) {
       case ASK_TO_SWITCH_TO_WC:
@@ -340,6 +438,10 @@ public class OxygenGitOptionPagePluginExtension extends OptionPagePluginExtensio
     OPTIONS_MANAGER.setRejectCommitOnValidationProblems(rejectCommitOnValidationProblems.isSelected());
     OPTIONS_MANAGER.setValidateMainFilesBeforePush(validateBeforePush.isSelected());
     OPTIONS_MANAGER.setRejectPushOnValidationProblems(rejectPushOnValidationProblems.isSelected());
+    OPTIONS_MANAGER.setHistoryIncludedBranches(historyIncludedBranches.getText().trim());
+    OPTIONS_MANAGER.setHistoryExcludedBranches(historyExcludedBranches.getText().trim());
+    OPTIONS_MANAGER.setHistoryBranchesMaxAgeDays((Integer) historyBranchesMaxAgeDays.getValue());
+    OPTIONS_MANAGER.setHistoryMaxBranches((Integer) historyMaxBranches.getValue());
     WhenRepoDetectedInProject whatToDo = WhenRepoDetectedInProject.ASK_TO_SWITCH_TO_WC;
     if (autoSwitchToWCRadio.isSelected()) {
       whatToDo = WhenRepoDetectedInProject.AUTO_SWITCH_TO_WC;
@@ -363,6 +465,10 @@ public class OxygenGitOptionPagePluginExtension extends OptionPagePluginExtensio
     validateBeforePush.setSelected(false);
     rejectPushOnValidationProblems.setSelected(false);
     askToCreateNewRepoIfNotCreated.setSelected(false);
+    historyIncludedBranches.setText("");
+    historyExcludedBranches.setText("");
+    historyBranchesMaxAgeDays.setValue(0);
+    historyMaxBranches.setValue(0);
   }
 
   /**
@@ -399,7 +505,11 @@ public class OxygenGitOptionPagePluginExtension extends OptionPagePluginExtensio
         OptionTags.VALIDATE_MAIN_FILES_BEFORE_PUSH,
         OptionTags.REJECT_PUSH_ON_VALIDATION_PROBLEMS,
         OptionTags.DETECT_AND_OPEN_XPR_FILES,
-        OptionTags.ASK_USER_TO_CREATE_REPO
+        OptionTags.ASK_USER_TO_CREATE_REPO,
+        OptionTags.HISTORY_INCLUDED_BRANCHES,
+        OptionTags.HISTORY_EXCLUDED_BRANCHES,
+        OptionTags.HISTORY_BRANCHES_MAX_AGE_DAYS,
+        OptionTags.HISTORY_MAX_BRANCHES
     };
   }
 }
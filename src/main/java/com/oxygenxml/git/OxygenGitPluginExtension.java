@@ -215,6 +215,7 @@ public class OxygenGitPluginExtension implements WorkspaceAccessPluginExtension,
 		public void windowActivated(WindowEvent e) {
 			// Reset when you leave oxygen. Subsequent calls will recompute it.
 			gitController.getGitAccess().getStatusCache().resetCache();
+			gitController.getGitAccess().getRefsCache().resetCache();
 			super.windowActivated(e);
 			final boolean isStagingPanelShowing = stagingPanel != null && stagingPanel.isShowing();
 			final boolean isHistoryPanelShowing = historyView != null && historyView.isShowing();
@@ -437,6 +438,7 @@ public class OxygenGitPluginExtension implements WorkspaceAccessPluginExtension,
 	private void customizeHistoryView(ViewInfo viewInfo) {
 		if (historyView == null) {
 			historyView = new HistoryPanel(gitController);
+			historyView.setHistoryController(this);
 			gitRefreshSupport.setHistoryPanel(historyView);
 		}
 		viewInfo.setComponent(historyView);
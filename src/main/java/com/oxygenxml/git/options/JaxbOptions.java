@@ -131,6 +131,30 @@ public class JaxbOptions implements Options {
    */
   @XmlElement(name = "currentBranch")
   private String currentBranch = "";
+  
+  /**
+   * Glob patterns for the branches presented in the history of all branches.
+   */
+  @XmlElement(name = "historyIncludedBranches")
+  private String historyIncludedBranches = "";
+  
+  /**
+   * Glob patterns for the branches not presented in the history of all branches.
+   */
+  @XmlElement(name = "historyExcludedBranches")
+  private String historyExcludedBranches = "";
+  
+  /**
+   * Only the branches updated in this number of days are presented in the history of all branches.
+   */
+  @XmlElement(name = "historyBranchesMaxAgeDays")
+  private int historyBranchesMaxAgeDays = 0;
+  
+  /**
+   * The maximum number of branches presented in the history of all branches.
+   */
+  @XmlElement(name = "historyMaxBranches")
+  private int historyMaxBranches = 0;
 	
 	/**
 	 * The view mode for the staged resources: tree or table.
@@ -647,4 +671,44 @@ public class JaxbOptions implements Options {
     this.currentBranch = currentBranch;
   }
 
+  @Override
+  public void setHistoryIncludedBranches(final String includedBranches) {
+    this.historyIncludedBranches = includedBranches;
+  }
+
+  @Override
+  public String getHistoryIncludedBranches() {
+    return historyIncludedBranches;
+  }
+
+  @Override
+  public void setHistoryExcludedBranches(final String excludedBranches) {
+    this.historyExcludedBranches = excludedBranches;
+  }
+
+  @Override
+  public String getHistoryExcludedBranches() {
+    return historyExcludedBranches;
+  }
+
+  @Override
+  public void setHistoryBranchesMaxAgeDays(final int maxAgeDays) {
+    this.historyBranchesMaxAgeDays = maxAgeDays;
+  }
+
+  @Override
+  public int getHistoryBranchesMaxAgeDays() {
+    return historyBranchesMaxAgeDays;
+  }
+
+  @Override
+  public void setHistoryMaxBranches(final int maxBranches) {
+    this.historyMaxBranches = maxBranches;
+  }
+
+  @Override
+  public int getHistoryMaxBranches() {
+    return historyMaxBranches;
+  }
+
 }
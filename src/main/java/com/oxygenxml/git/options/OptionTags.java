@@ -170,5 +170,25 @@ public class OptionTags {
    * The tag option for current branch.
    */
   public static final String CURRENT_BRANCH = "com.oxygenxml.git.current.branch";
+  
+  /**
+   * The tag option for the patterns of the branches presented in the history of all branches.
+   */
+  public static final String HISTORY_INCLUDED_BRANCHES = "com.oxygenxml.git.history.included.branches";
+  
+  /**
+   * The tag option for the patterns of the branches not presented in the history of all branches.
+   */
+  public static final String HISTORY_EXCLUDED_BRANCHES = "com.oxygenxml.git.history.excluded.branches";
+  
+  /**
+   * The tag option for the number of days in which a branch must have been updated to be presented in the history of all branches.
+   */
+  public static final String HISTORY_BRANCHES_MAX_AGE_DAYS = "com.oxygenxml.git.history.branches.max.age.days";
+  
+  /**
+   * The tag option for the maximum number of branches presented in the history of all branches.
+   */
+  public static final String HISTORY_MAX_BRANCHES = "com.oxygenxml.git.history.max.branches";
 
 }
@@ -362,4 +362,50 @@ public interface Options {
    * @param currentBranch The new current branch to be set.
    */
   public void setCurrentBranch(final String currentBranch);
+  
+  /**
+   * @param includedBranches Glob patterns for the branches presented in the history of all branches, 
+   *                         separated by commas or spaces. Empty to present all the branches.
+   */
+  public void setHistoryIncludedBranches(final String includedBranches);
+  
+  /**
+   * @return Glob patterns for the branches presented in the history of all branches, 
+   *         separated by commas or spaces. Empty to present all the branches.
+   */
+  public String getHistoryIncludedBranches();
+  
+  /**
+   * @param excludedBranches Glob patterns for the branches not presented in the history of all branches, 
+   *                         separated by commas or spaces.
+   */
+  public void setHistoryExcludedBranches(final String excludedBranches);
+  
+  /**
+   * @return Glob patterns for the branches not presented in the history of all branches, 
+   *         separated by commas or spaces.
+   */
+  public String getHistoryExcludedBranches();
+  
+  /**
+   * @param maxAgeDays Only the branches updated in this number of days are presented in the history 
+   *                   of all branches. 0 for no limit.
+   */
+  public void setHistoryBranchesMaxAgeDays(final int maxAgeDays);
+  
+  /**
+   * @return Only the branches updated in this number of days are presented in the history 
+   *         of all branches. 0 for no limit.
+   */
+  public int getHistoryBranchesMaxAgeDays();
+  
+  /**
+   * @param maxBranches The maximum number of branches presented in the history of all branches. 0 for no limit.
+   */
+  public void setHistoryMaxBranches(final int maxBranches);
+  
+  /**
+   * @return The maximum number of branches presented in the history of all branches. 0 for no limit.
+   */
+  public int getHistoryMaxBranches();
 }
@@ -878,5 +878,67 @@ public class OptionsManager {
   public void setCurrentBranch(final String currentBranch) {
     getOptions().setCurrentBranch(currentBranch);
   }
+  
+  /**
+   * @param includedBranches Glob patterns for the branches presented in the history of all branches, 
+   *                         separated by commas or spaces. Empty to present all the branches.
+   */
+  public void setHistoryIncludedBranches(final String includedBranches) {
+    getOptions().setHistoryIncludedBranches(includedBranches);
+  }
+  
+  /**
+   * @return Glob patterns for the branches presented in the history of all branches, 
+   *         separated by commas or spaces. Empty to present all the branches.
+   */
+  public String getHistoryIncludedBranches() {
+    return getOptions().getHistoryIncludedBranches();
+  }
+  
+  /**
+   * @param excludedBranches Glob patterns for the branches not presented in the history of all branches, 
+   *                         separated by commas or spaces.
+   */
+  public void setHistoryExcludedBranches(final String excludedBranches) {
+    getOptions().setHistoryExcludedBranches(excludedBranches);
+  }
+  
+  /**
+   * @return Glob patterns for the branches not presented in the history of all branches, 
+   *         separated by commas or spaces.
+   */
+  public String getHistoryExcludedBranches() {
+    return getOptions().getHistoryExcludedBranches();
+  }
+  
+  /**
+   * @param maxAgeDays Only the branches updated in this number of days are presented in the history 
+   *                   of all branches. 0 for no limit.
+   */
+  public void setHistoryBranchesMaxAgeDays(final int maxAgeDays) {
+    getOptions().setHistoryBranchesMaxAgeDays(maxAgeDays);
+  }
+  
+  /**
+   * @return Only the branches updated in this number of days are presented in the history 
+   *         of all branches. 0 for no limit.
+   */
+  public int getHistoryBranchesMaxAgeDays() {
+    return getOptions().getHistoryBranchesMaxAgeDays();
+  }
+  
+  /**
+   * @param maxBranches The maximum number of branches presented in the history of all branches. 0 for no limit.
+   */
+  public void setHistoryMaxBranches(final int maxBranches) {
+    getOptions().setHistoryMaxBranches(maxBranches);
+  }
+  
+  /**
+   * @return The maximum number of branches presented in the history of all branches. 0 for no limit.
+   */
+  public int getHistoryMaxBranches() {
+    return getOptions().getHistoryMaxBranches();
+  }
 
 }
@@ -604,5 +604,62 @@ public class TagBasedOptions implements Options {
   public void setCurrentBranch(final String currentBranch) {
     wsOptionsStorage.setOption(OptionTags.CURRENT_BRANCH, currentBranch);
   }
+
+  @Override
+  public void setHistoryIncludedBranches(final String includedBranches) {
+    wsOptionsStorage.setOption(OptionTags.HISTORY_INCLUDED_BRANCHES, includedBranches);
+  }
+
+  @Override
+  public String getHistoryIncludedBranches() {
+    return wsOptionsStorage.getOption(OptionTags.HISTORY_INCLUDED_BRANCHES, "");
+  }
+
+  @Override
+  public void setHistoryExcludedBranches(final String excludedBranches) {
+    wsOptionsStorage.setOption(OptionTags.HISTORY_EXCLUDED_BRANCHES, excludedBranches);
+  }
+
+  @Override
+  public String getHistoryExcludedBranches() {
+    return wsOptionsStorage.getOption(OptionTags.HISTORY_EXCLUDED_BRANCHES, "");
+  }
+
+  @Override
+  public void setHistoryBranchesMaxAgeDays(final int maxAgeDays) {
+    wsOptionsStorage.setOption(OptionTags.HISTORY_BRANCHES_MAX_AGE_DAYS, String.valueOf(maxAgeDays));
+  }
+
+  @Override
+  public int getHistoryBranchesMaxAgeDays() {
+    return parseInt(wsOptionsStorage.getOption(OptionTags.HISTORY_BRANCHES_MAX_AGE_DAYS, "0"));
+  }
+
+  @Override
+  public void setHistoryMaxBranches(final int maxBranches) {
+    wsOptionsStorage.setOption(OptionTags.HISTORY_MAX_BRANCHES, String.valueOf(maxBranches));
+  }
+
+  @Override
+  public int getHistoryMaxBranches() {
+    return parseInt(wsOptionsStorage.getOption(OptionTags.HISTORY_MAX_BRANCHES, "0"));
+  }
+  
+  /**
+   * Parses a numeric option.
+   * 
+   * @param value The value of the option.
+   * 
+   * @return The number or 0 if the value is not a number.
+   */
+  private static int parseInt(final String value) {
+    int toReturn = 0;
+    try {
+      toReturn = Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      // Not a number. Use the default.
+    }
+    return toReturn;
+  }
   
 }
@@ -0,0 +1,207 @@
+package com.oxygenxml.git.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jgit.lib.BranchConfig;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.RevWalkUtils;
+import org.eclipse.jgit.revwalk.filter.RevFilter;
+
+import com.oxygenxml.git.service.annotation.TestOnly;
+import com.oxygenxml.git.view.history.CommitsAheadAndBehind;
+
+/**
+ * Computes the commits by which a local branch is ahead of its upstream and behind it, shared by the history,
+ * the toolbar, the branch selection and the remote changes watcher.
+ * <br>
+ * The result depends only on the two tips, so it is kept for each pair of tips: it remains valid until
+ * one of the branches moves, without any invalidation.
+ */
+public class AheadBehindCache {
+
+  /**
+   * The maximum number of cached results. A few are enough, for the current branch of the current repository.
+   */
+  private static final int MAX_ENTRIES = 8;
+
+  /**
+   * The singleton instance.
+   */
+  private static final AheadBehindCache INSTANCE = new AheadBehindCache();
+
+  /**
+   * The cached results, in access order.
+   */
+  private final Map<Key, CommitsAheadAndBehind> cache = new LinkedHashMap<Key, CommitsAheadAndBehind>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key, CommitsAheadAndBehind> eldest) {
+      return size() > MAX_ENTRIES;
+    }
+  };
+
+  /**
+   * Constructor.
+   */
+  private AheadBehindCache() {
+  }
+
+  /**
+   * @return The singleton instance.
+   */
+  public static AheadBehindCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Gets the commits by which a local branch is ahead of its upstream and behind it.
+   *
+   * @param repository The repository.
+   * @param branchName The local branch, full or short name.
+   *
+   * @return The commits ahead and behind or <code>null</code> if the branch or its upstream don't exist.
+   *
+   * @throws IOException When the commits cannot be read.
+   */
+  public CommitsAheadAndBehind get(Repository repository, String branchName) throws IOException {
+    final String shortBranchName = Repository.shortenRefName(branchName);
+    final BranchConfig branchConfig = new BranchConfig(repository.getConfig(), shortBranchName);
+    final String trackingBranch = branchConfig.getTrackingBranch();
+    if (trackingBranch == null) {
+      return null;
+    }
+
+    final Ref tracking = repository.exactRef(trackingBranch);
+    final Ref local = repository.exactRef(Constants.R_HEADS + shortBranchName);
+    if (tracking == null || tracking.getObjectId() == null || local == null || local.getObjectId() == null) {
+      return null;
+    }
+
+    final Key key = new Key(repository.getDirectory(), local.getObjectId(), tracking.getObjectId());
+    CommitsAheadAndBehind toReturn = get(key);
+    if (toReturn == null) {
+      toReturn = compute(repository, key.localTip, key.upstreamTip);
+      put(key, toReturn);
+    }
+    return toReturn;
+  }
+
+  /**
+   * Forgets all the results.
+   */
+  @TestOnly
+  synchronized void clear() {
+    cache.clear();
+  }
+
+  /**
+   * @param key The key.
+   *
+   * @return The cached result or <code>null</code>.
+   */
+  private synchronized CommitsAheadAndBehind get(Key key) {
+    return cache.get(key);
+  }
+
+  /**
+   * @param key    The key.
+   * @param result The result.
+   */
+  private synchronized void put(Key key, CommitsAheadAndBehind result) {
+    cache.put(key, result);
+  }
+
+  /**
+   * Computes the commits reachable from each tip and not from their merge base.
+   *
+   * @param repository  The repository.
+   * @param localTip    The tip of the local branch.
+   * @param upstreamTip The tip of the upstream branch.
+   *
+   * @return The commits ahead and behind. Never <code>null</code>.
+   *
+   * @throws IOException When the commits cannot be read.
+   */
+  private static CommitsAheadAndBehind compute(
+      Repository repository,
+      ObjectId localTip,
+      ObjectId upstreamTip) throws IOException {
+    try (RevWalk walk = new RevWalk(repository)) {
+      final RevCommit localCommit = walk.parseCommit(localTip);
+      final RevCommit trackingCommit = walk.parseCommit(upstreamTip);
+
+      walk.setRevFilter(RevFilter.MERGE_BASE);
+      walk.markStart(localCommit);
+      walk.markStart(trackingCommit);
+      final RevCommit mergeBase = walk.next();
+
+      walk.reset();
+      walk.setRevFilter(RevFilter.ALL);
+      final List<RevCommit> commitsAhead = RevWalkUtils.find(walk, localCommit, mergeBase);
+      final List<RevCommit> commitsBehind = RevWalkUtils.find(walk, trackingCommit, mergeBase);
+
+      // Shared by all the callers.
+      return new CommitsAheadAndBehind(
+          Collections.unmodifiableList(commitsAhead),
+          Collections.unmodifiableList(commitsBehind));
+    }
+  }
+
+  /**
+   * Identifies a pair of tips.
+   */
+  private static class Key {
+    /**
+     * The repository directory.
+     */
+    private final File directory;
+    /**
+     * The tip of the local branch.
+     */
+    private final ObjectId localTip;
+    /**
+     * The tip of the upstream branch.
+     */
+    private final ObjectId upstreamTip;
+
+    /**
+     * Constructor.
+     *
+     * @param directory   The repository directory.
+     * @param localTip    The tip of the local branch.
+     * @param upstreamTip The tip of the upstream branch.
+     */
+    Key(File directory, ObjectId localTip, ObjectId upstreamTip) {
+      this.directory = directory;
+      this.localTip = localTip.copy();
+      this.upstreamTip = upstreamTip.copy();
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(localTip, upstreamTip);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      boolean equals = false;
+      if (obj instanceof Key) {
+        final Key other = (Key) obj;
+        equals = localTip.equals(other.localTip)
+            && upstreamTip.equals(other.upstreamTip)
+            && directory.equals(other.directory);
+      }
+      return equals;
+    }
+  }
+}
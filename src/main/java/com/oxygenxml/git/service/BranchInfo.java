@@ -1,5 +1,8 @@
 package com.oxygenxml.git.service;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Stores information about the branch;
  * 
@@ -24,6 +27,11 @@ public class BranchInfo {
 	 */
 	private boolean isDetached;
 
+	/**
+	 * The tags of the commit on which the HEAD is. Only used on a detached HEAD
+	 */
+	private List<String> tags = Collections.emptyList();
+
 	public BranchInfo() {
 
 	}
@@ -58,4 +66,18 @@ public class BranchInfo {
 		this.shortBranchName = shortBranchName;
 	}
 
+	/**
+	 * @return The tags of the commit on which the detached HEAD is. Never <code>null</code>.
+	 */
+	public List<String> getTags() {
+		return tags;
+	}
+
+	/**
+	 * @param tags The tags of the commit on which the detached HEAD is.
+	 */
+	public void setTags(List<String> tags) {
+		this.tags = tags;
+	}
+
 }
@@ -0,0 +1,264 @@
+package com.oxygenxml.git.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.oxygenxml.git.service.annotation.TestOnly;
+import com.oxygenxml.git.service.entities.FileStatus;
+import com.oxygenxml.git.service.entities.FileStatusOverDiffEntry;
+
+/**
+ * A bounded, least recently used cache with the files changed by the commits, as computed by
+ * {@link RevCommitUtil#getChangedFiles(String)}. The cache is bounded by an estimation of the memory used
+ * by the cached lists. A commit never changes, so the entries are dropped only when the memory limit is reached
+ * or when another repository is loaded.
+ * <br>
+ * The cache can also compute in the background the changed files of the commits that will probably be
+ * presented next, for example the neighbors of the commit selected in the history.
+ */
+public class ChangedFilesCache {
+
+  /**
+   * Logger for logging.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(ChangedFilesCache.class);
+
+  /**
+   * The maximum estimated memory used by the cached lists, in bytes.
+   */
+  private static final long MAX_MEMORY = 8L * 1024 * 1024;
+
+  /**
+   * The estimated memory used by a cache entry, without its files.
+   */
+  private static final int ENTRY_OVERHEAD = 128;
+
+  /**
+   * The estimated memory used by a file status, without the characters of its path.
+   */
+  private static final int FILE_STATUS_OVERHEAD = 80;
+
+  /**
+   * The estimated memory used by the diff entry and the revision IDs of a {@link FileStatusOverDiffEntry}.
+   */
+  private static final int DIFF_ENTRY_OVERHEAD = 320;
+
+  /**
+   * The singleton instance.
+   */
+  private static final ChangedFilesCache INSTANCE = new ChangedFilesCache();
+
+  /**
+   * Computes the changed files in advance.
+   */
+  private final ExecutorService prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "Git changed files prefetch");
+    thread.setDaemon(true);
+    thread.setPriority(Thread.MIN_PRIORITY);
+    return thread;
+  });
+
+  /**
+   * Incremented with each prefetch request. A prefetch stops when a newer one is requested.
+   */
+  private final AtomicLong prefetchGeneration = new AtomicLong();
+
+  /**
+   * The changed files of each commit, in access order.
+   */
+  private final LinkedHashMap<ObjectId, CacheEntry> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * The directory of the repository to which the cached commits belong.
+   */
+  private File repositoryDirectory;
+
+  /**
+   * The estimated memory used by the cached lists, in bytes.
+   */
+  private long usedMemory;
+
+  /**
+   * Constructor.
+   */
+  private ChangedFilesCache() {
+  }
+
+  /**
+   * @return The singleton instance.
+   */
+  public static ChangedFilesCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Gets the cached changed files of a commit.
+   *
+   * @param repository The repository of the commit.
+   * @param commitId   The commit ID.
+   *
+   * @return A copy of the changed files or <code>null</code> if they are not cached.
+   */
+  public synchronized List<FileStatus> get(Repository repository, ObjectId commitId) {
+    List<FileStatus> toReturn = null;
+    if (repository.getDirectory().equals(repositoryDirectory)) {
+      CacheEntry entry = cache.get(commitId);
+      if (entry != null) {
+        // The file statuses are mutable.
+        toReturn = new ArrayList<>(entry.files.size());
+        for (FileStatus file : entry.files) {
+          toReturn.add(copy(file));
+        }
+      }
+    }
+    return toReturn;
+  }
+
+  /**
+   * Caches the changed files of a commit.
+   *
+   * @param repository The repository of the commit.
+   * @param commitId   The commit ID.
+   * @param files      The changed files.
+   */
+  public synchronized void put(Repository repository, ObjectId commitId, List<FileStatus> files) {
+    if (!repository.getDirectory().equals(repositoryDirectory)) {
+      clear();
+      repositoryDirectory = repository.getDirectory();
+    }
+
+    final List<FileStatus> copies = new ArrayList<>(files.size());
+    for (FileStatus file : files) {
+      copies.add(copy(file));
+    }
+    final CacheEntry entry = new CacheEntry(copies);
+    if (entry.size <= MAX_MEMORY) {
+      final CacheEntry previous = cache.put(commitId.copy(), entry);
+      if (previous != null) {
+        usedMemory -= previous.size;
+      }
+      usedMemory += entry.size;
+
+      final Iterator<Map.Entry<ObjectId, CacheEntry>> iterator = cache.entrySet().iterator();
+      while (usedMemory > MAX_MEMORY && iterator.hasNext()) {
+        usedMemory -= iterator.next().getValue().size;
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Removes all the cached entries.
+   */
+  public synchronized void clear() {
+    cache.clear();
+    usedMemory = 0;
+  }
+
+  /**
+   * @return The estimated memory used by the cached lists, in bytes.
+   */
+  @TestOnly
+  synchronized long getUsedMemory() {
+    return usedMemory;
+  }
+
+  /**
+   * Computes in the background the changed files of the given commits, in the given order.
+   * A previously requested prefetch that is still running is abandoned.
+   *
+   * @param commitIds The IDs of the commits.
+   */
+  public void prefetch(List<String> commitIds) {
+    final long generation = prefetchGeneration.incrementAndGet();
+    if (!commitIds.isEmpty()) {
+      final List<String> toPrefetch = new ArrayList<>(commitIds);
+      prefetcher.execute(() -> {
+        for (String commitId : toPrefetch) {
+          if (generation != prefetchGeneration.get()) {
+            break;
+          }
+          try {
+            RevCommitUtil.getChangedFiles(commitId);
+          } catch (IOException | GitAPIException e) {
+            LOGGER.debug(e.getMessage(), e);
+          }
+        }
+      });
+    }
+  }
+
+  /**
+   * Copies a file status. A {@link FileStatusOverDiffEntry} is copied with its diff entry and revision IDs,
+   * which are immutable and shared with the original.
+   *
+   * @param file The file status.
+   *
+   * @return The copy, of the same type.
+   */
+  private static FileStatus copy(FileStatus file) {
+    FileStatus copy;
+    if (file instanceof FileStatusOverDiffEntry) {
+      FileStatusOverDiffEntry fileOverDiff = (FileStatusOverDiffEntry) file;
+      copy = new FileStatusOverDiffEntry(
+          fileOverDiff.getDiffEntry(), 
+          fileOverDiff.getNewRevId(), 
+          fileOverDiff.getOldRevId());
+      copy.setChangeType(file.getChangeType());
+    } else {
+      copy = new FileStatus(file);
+    }
+    return copy.setDescription(file.getDescription());
+  }
+
+  /**
+   * The changed files of a commit.
+   */
+  private static class CacheEntry {
+    /**
+     * The changed files.
+     */
+    private final List<FileStatus> files;
+    /**
+     * The estimated memory used by the entry, in bytes.
+     */
+    private final long size;
+
+    /**
+     * Constructor.
+     *
+     * @param files The changed files.
+     */
+    CacheEntry(List<FileStatus> files) {
+      this.files = files;
+      long estimatedSize = ENTRY_OVERHEAD;
+      for (FileStatus file : files) {
+        estimatedSize += FILE_STATUS_OVERHEAD;
+        if (file instanceof FileStatusOverDiffEntry) {
+          estimatedSize += DIFF_ENTRY_OVERHEAD;
+        }
+        if (file.getFileLocation() != null) {
+          estimatedSize += 2L * file.getFileLocation().length();
+        }
+        if (file.getDescription() != null) {
+          estimatedSize += 2L * file.getDescription().length();
+        }
+      }
+      this.size = estimatedSize;
+    }
+  }
+}
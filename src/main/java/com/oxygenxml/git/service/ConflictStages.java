@@ -0,0 +1,139 @@
+package com.oxygenxml.git.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+
+/**
+ * Resolves the blobs from the stages of the conflicting files: BASE (stage 1), MINE (stage 2) and THEIRS (stage 3).
+ * <br>
+ * The index is read once for all the conflicting files and the result is kept until the index file changes,
+ * so resolving the conflicts of many files, each one with a 3-way comparison, doesn't read the index again and again.
+ */
+public class ConflictStages {
+
+  /**
+   * The singleton instance.
+   */
+  private static final ConflictStages INSTANCE = new ConflictStages();
+
+  /**
+   * The index file from which the stages were read.
+   */
+  private File indexFile;
+
+  /**
+   * The index from which the stages were read. It tells if the index file changed since.
+   */
+  private DirCache dirCache;
+
+  /**
+   * The blobs of each conflicting file, indexed by their stage. The unused stages are <code>null</code>.
+   */
+  private Map<String, ObjectId[]> stagesByPath = Collections.emptyMap();
+
+  /**
+   * Constructor.
+   */
+  private ConflictStages() {
+  }
+
+  /**
+   * @return The singleton instance.
+   */
+  public static ConflictStages getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Gets the blob from a stage of a conflicting file.
+   *
+   * @param repository The repository.
+   * @param path       The path of the file.
+   * @param stage      The stage: {@link DirCacheEntry#STAGE_1} for BASE, {@link DirCacheEntry#STAGE_2} for MINE
+   *                   or {@link DirCacheEntry#STAGE_3} for THEIRS.
+   *
+   * @return The blob or <code>null</code> if the file is not in conflict or if it doesn't have the given stage,
+   *         for example the BASE of a file added on both sides.
+   *
+   * @throws IOException When the index cannot be read.
+   */
+  public ObjectId getStage(Repository repository, String path, int stage) throws IOException {
+    final ObjectId[] stages = getStagesByPath(repository).get(path);
+    return stages != null ? stages[stage] : null;
+  }
+
+  /**
+   * Checks if a file is in conflict.
+   *
+   * @param repository The repository.
+   * @param path       The path of the file.
+   *
+   * @return <code>true</code> if the index has stages for the file.
+   *
+   * @throws IOException When the index cannot be read.
+   */
+  public boolean isInConflict(Repository repository, String path) throws IOException {
+    return getStagesByPath(repository).containsKey(path);
+  }
+
+  /**
+   * Gets all the conflicting files.
+   *
+   * @param repository The repository.
+   *
+   * @return The paths of the conflicting files. Never <code>null</code>.
+   *
+   * @throws IOException When the index cannot be read.
+   */
+  public Set<String> getConflictingPaths(Repository repository) throws IOException {
+    return Collections.unmodifiableSet(getStagesByPath(repository).keySet());
+  }
+
+  /**
+   * Gets the stages of all the conflicting files, reading the index again only if it changed.
+   *
+   * @param repository The repository.
+   *
+   * @return The blobs of each conflicting file, indexed by their stage, mapped by the file path.
+   *
+   * @throws IOException When the index cannot be read.
+   */
+  private synchronized Map<String, ObjectId[]> getStagesByPath(Repository repository) throws IOException {
+    final File currentIndexFile = repository.getIndexFile();
+    if (!currentIndexFile.equals(indexFile) || dirCache == null || dirCache.isOutdated()) {
+      // The state of the file is saved before reading it, so a change made while reading is detected next time.
+      dirCache = repository.readDirCache();
+      stagesByPath = readStages(dirCache);
+      indexFile = currentIndexFile;
+    }
+    return stagesByPath;
+  }
+
+  /**
+   * Reads the stages of the conflicting files from the index.
+   *
+   * @param dirCache The index.
+   *
+   * @return The blobs of each conflicting file, indexed by their stage, mapped by the file path.
+   */
+  private static Map<String, ObjectId[]> readStages(DirCache dirCache) {
+    final Map<String, ObjectId[]> stages = new HashMap<>();
+    for (int i = 0; i < dirCache.getEntryCount(); i++) {
+      final DirCacheEntry entry = dirCache.getEntry(i);
+      if (entry.getStage() != DirCacheEntry.STAGE_0) {
+        stages.computeIfAbsent(entry.getPathString(), path -> new ObjectId[DirCacheEntry.STAGE_3 + 1])
+            [entry.getStage()] = entry.getObjectId();
+      }
+    }
+    return stages;
+  }
+}
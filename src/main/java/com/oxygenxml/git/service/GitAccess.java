@@ -19,7 +19,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.StringTokenizer;
 import java.util.TreeMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.stream.Collectors;
@@ -36,8 +35,6 @@ import org.eclipse.jgit.api.CreateBranchCommand;
 import org.eclipse.jgit.api.CreateBranchCommand.SetupUpstreamMode;
 import org.eclipse.jgit.api.DeleteBranchCommand;
 import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.api.ListBranchCommand.ListMode;
-import org.eclipse.jgit.api.LogCommand;
 import org.eclipse.jgit.api.MergeCommand;
 import org.eclipse.jgit.api.MergeResult;
 import org.eclipse.jgit.api.MergeResult.MergeStatus;
@@ -72,7 +69,6 @@ import org.eclipse.jgit.errors.RevisionSyntaxException;
 import org.eclipse.jgit.internal.JGitText;
 import org.eclipse.jgit.lib.AnyObjectId;
 import org.eclipse.jgit.lib.BranchConfig;
-import org.eclipse.jgit.lib.BranchTrackingStatus;
 import org.eclipse.jgit.lib.Config;
 import org.eclipse.jgit.lib.ConfigConstants;
 import org.eclipse.jgit.lib.Constants;
@@ -94,6 +90,7 @@ import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.revwalk.filter.RevFilter;
 import org.eclipse.jgit.submodule.SubmoduleWalk;
 import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.transport.FetchResult;
 import org.eclipse.jgit.transport.PushResult;
 import org.eclipse.jgit.transport.RefSpec;
 import org.eclipse.jgit.transport.RemoteRefUpdate;
@@ -140,6 +137,7 @@ import com.oxygenxml.git.view.event.GitOperation;
 import com.oxygenxml.git.view.event.PullType;
 import com.oxygenxml.git.view.event.WorkingCopyGitEventInfo;
 import com.oxygenxml.git.view.history.CommitCharacteristics;
+import com.oxygenxml.git.view.history.CommitsAheadAndBehind;
 import com.oxygenxml.git.view.history.HistoryStrategy;
 import com.oxygenxml.git.view.history.RenameTracker;
 import com.oxygenxml.git.view.stash.StashApplyFailureWithStatusException;
@@ -185,6 +183,10 @@ public class GitAccess {
 	 * Singleton instance.
 	 */
 	private static GitAccess instance;
+	/**
+	 * The branch information computed for the last HEAD.
+	 */
+	private volatile BranchInfoMemo branchInfoMemo;
 	/**
 	 * Translation support.
 	 */
@@ -208,12 +210,18 @@ public class GitAccess {
 	 * Keeps a cache of the computed status to avoid processing overhead.
 	 */
 	private StatusCache statusCache = null;
+	
+	/**
+	 * Keeps a snapshot of the references to avoid reading them for each presented branch or tag.
+	 */
+	private RefsCache refsCache = null;
 
 	/**
 	 * Singleton instance.
 	 */
 	private GitAccess() {
 	  statusCache = new StatusCache(GitListeners.getInstance(), this::getGit);
+	  refsCache = new RefsCache(GitListeners.getInstance(), this::getGit);
 	}
 	
 	/**
@@ -222,6 +230,13 @@ public class GitAccess {
 	public StatusCache getStatusCache() {
     return statusCache;
   }
+	
+	/**
+	 * @return A cache with the snapshot of the references of the current repository.
+	 */
+	public RefsCache getRefsCache() {
+	  return refsCache;
+	}
 
 	/**
 	 * @return the singleton instance.
@@ -736,18 +751,9 @@ public class GitAccess {
 		List<Ref> branches = Collections.emptyList();
 		if(git != null) {
 			try {
-				branches = git.branchList().call();
-				// EXM-47153: if we are on a detached HEAD, 
-				// remove it from the list of local branches
-				Iterator<Ref> iterator = branches.iterator();
-				while (iterator.hasNext()) {
-					Ref ref = iterator.next();
-					if (Constants.HEAD.equals(ref.getName())) {
-						iterator.remove();
-						break;
-					}
-				}
-			} catch (GitAPIException e) {
+				// EXM-47153: a detached HEAD is not among the local branches.
+				branches = refsCache.getSnapshot().getLocalBranches();
+			} catch (IOException e) {
 				LOGGER.error(e.getMessage(), e);
 			}
 		}
@@ -763,8 +769,8 @@ public class GitAccess {
     List<Ref> branches = Collections.emptyList();
     if(git != null) {
     	try {
-    		branches = git.branchList().setListMode(ListMode.REMOTE).call();
-    	} catch (GitAPIException e) {
+    		branches = refsCache.getSnapshot().getRemoteBranches();
+    	} catch (IOException e) {
     		LOGGER.error(e.getMessage(), e);
     	}
     }
@@ -1041,7 +1047,9 @@ public class GitAccess {
       PullResult pullCommandResult = pullCmd.call();
 
 		  // Get fetch result
-		  Collection<TrackingRefUpdate> trackingRefUpdates = pullCommandResult.getFetchResult().getTrackingRefUpdates();
+		  FetchResult fetchResult = pullCommandResult.getFetchResult();
+		  RemoteTagsSnapshot.getInstance().update(repository, pullCommandResult.getFetchedFrom(), fetchResult.getAdvertisedRefs());
+		  Collection<TrackingRefUpdate> trackingRefUpdates = fetchResult.getTrackingRefUpdates();
 		  String lockFailureMessage = createLockFailureMessageIfNeeded(trackingRefUpdates);
 		  if (!lockFailureMessage.isEmpty()) {
 		    // Lock failure
@@ -1659,9 +1667,9 @@ public class GitAccess {
 	  try {
 	    String branchName = getBranchInfo().getBranchName();
 	    if (branchName != null && branchName.length() > 0) {
-	      BranchTrackingStatus bts = BranchTrackingStatus.of(getRepository(), branchName);
-	      if (bts != null) {
-	        numberOfCommits = bts.getAheadCount();
+	      CommitsAheadAndBehind commitsAheadAndBehind = AheadBehindCache.getInstance().get(getRepository(), branchName);
+	      if (commitsAheadAndBehind != null) {
+	        numberOfCommits = commitsAheadAndBehind.getAheadCount();
 	      } else {
 	        throw new RepoNotInitializedException();
 	      }
@@ -1685,9 +1693,9 @@ public class GitAccess {
 	  try {
 	    String branchName = getBranchInfo().getBranchName();
 	    if (branchName != null && branchName.length() > 0) {
-	      BranchTrackingStatus bts = BranchTrackingStatus.of(getRepository(), branchName);
-	      if (bts != null) {
-	        numberOfCommits = bts.getBehindCount();
+	      CommitsAheadAndBehind commitsAheadAndBehind = AheadBehindCache.getInstance().get(getRepository(), branchName);
+	      if (commitsAheadAndBehind != null) {
+	        numberOfCommits = commitsAheadAndBehind.getBehindCount();
 	      }
 	    }
 	  } catch (IOException | NoRepositorySelected e) {
@@ -1718,13 +1726,16 @@ public class GitAccess {
 			StoredConfig config = git.getRepository().getConfig();
 			Set<String> sections = config.getSections();
 			if (sections.contains(ConfigConstants.CONFIG_KEY_REMOTE)) {
-        git.fetch()
-            .setRefSpecs(new RefSpec("+refs/heads/*:refs/remotes/" + getRemoteFromCurrentBranch() + "/*"))
+			  String remote = getRemoteFromCurrentBranch();
+        FetchResult fetchResult = git.fetch()
+            .setRefSpecs(new RefSpec("+refs/heads/*:refs/remotes/" + remote + "/*"))
             .setCheckFetchedObjects(true)
-            .setRemote(getRemoteFromCurrentBranch())
+            .setRemote(remote)
             .setRemoveDeletedRefs(true)
 						.setCredentialsProvider(credentialsProvider)
 						.call();
+        // The remote advertises its tags too. Remember them, to know which local tags are pushed.
+        RemoteTagsSnapshot.getInstance().update(git.getRepository(), remote, fetchResult.getAdvertisedRefs());
 			}
 		} catch (TransportException e) {
 		  LOGGER.debug(e.getMessage(), e);
@@ -1808,32 +1819,118 @@ public class GitAccess {
 	public BranchInfo getBranchInfo() {
 	  BranchInfo branchInfo = new BranchInfo("", false);
 		if (git != null) {
-			branchInfo = new BranchInfo();
-			String branchName = "";
+			Repository repository = git.getRepository();
 			try {
-				branchName = git.getRepository().getBranch();
-				branchInfo.setBranchName(branchName);
-				LogCommand log = git.log();
-				if(log != null) {
-					Iterable<RevCommit> results = log.call();
-					for (RevCommit revCommit : results) {
-						if (revCommit.getId().name().equals(branchName)) {
-							branchInfo.setDetached(true);
-							branchInfo.setShortBranchName(
-									revCommit.getId().abbreviate(RevCommitUtilBase.ABBREVIATED_COMMIT_LENGTH).name());
-							break;
-						}
-					}
+				// The HEAD is detached when it points directly to a commit instead of a branch.
+				Ref head = repository.exactRef(Constants.HEAD);
+				Map<ObjectId, List<String>> tags = null;
+				if (head != null && !head.isSymbolic() && head.getObjectId() != null) {
+					tags = refsCache.getSnapshot().getTagsByObject();
 				}
-			} catch (NoHeadException e) {
-			  branchInfo = new BranchInfo(branchName, false);
-			  LOGGER.debug(e.getMessage(), e);
-			} catch (IOException | GitAPIException e) {
+				
+				BranchInfoMemo memo = branchInfoMemo;
+				if (memo != null && memo.isFor(repository, head, tags)) {
+					branchInfo = memo.branchInfo;
+				} else {
+					branchInfo = computeBranchInfo(head, tags);
+					branchInfoMemo = new BranchInfoMemo(repository, head, tags, branchInfo);
+				}
+			} catch (IOException e) {
 			  LOGGER.error(e.getMessage(), e);
 			}
 		}
 		return branchInfo;
 	}
+	
+	/**
+	 * Computes the branch information.
+	 * 
+	 * @param head The HEAD. <code>null</code> if the repository doesn't have one.
+	 * @param tags The tags mapped by their peeled object. <code>null</code> if the HEAD is not detached.
+	 * 
+	 * @return The branch information.
+	 */
+	private static BranchInfo computeBranchInfo(Ref head, Map<ObjectId, List<String>> tags) {
+	  BranchInfo branchInfo;
+	  if (head == null) {
+	    branchInfo = new BranchInfo(null, false);
+	  } else if (tags != null) {
+	    ObjectId headId = head.getObjectId();
+	    branchInfo = new BranchInfo(headId.name(), true);
+	    branchInfo.setShortBranchName(headId.abbreviate(RevCommitUtilBase.ABBREVIATED_COMMIT_LENGTH).name());
+	    branchInfo.setTags(tags.getOrDefault(headId, Collections.emptyList()));
+	  } else {
+	    // On a branch, maybe one without commits yet.
+	    branchInfo = new BranchInfo(Repository.shortenRefName(head.getTarget().getName()), false);
+	  }
+	  return branchInfo;
+	}
+	
+	/**
+	 * The branch information computed for a HEAD.
+	 */
+	private static class BranchInfoMemo {
+	  /**
+	   * The repository.
+	   */
+	  private final Repository repository;
+	  /**
+	   * The target of the HEAD, if symbolic, or the commit on which the HEAD is.
+	   */
+	  private final String head;
+	  /**
+	   * The tags from which the branch information was computed. <code>null</code> if the HEAD is not detached.
+	   */
+	  private final Map<ObjectId, List<String>> tags;
+	  /**
+	   * The branch information.
+	   */
+	  private final BranchInfo branchInfo;
+	  
+	  /**
+	   * Constructor.
+	   * 
+	   * @param repository The repository.
+	   * @param head       The HEAD.
+	   * @param tags       The tags. <code>null</code> if the HEAD is not detached.
+	   * @param branchInfo The branch information.
+	   */
+	  BranchInfoMemo(Repository repository, Ref head, Map<ObjectId, List<String>> tags, BranchInfo branchInfo) {
+	    this.repository = repository;
+	    this.head = describe(head);
+	    this.tags = tags;
+	    this.branchInfo = branchInfo;
+	  }
+	  
+	  /**
+	   * @param repository The repository.
+	   * @param head       The HEAD.
+	   * @param tags       The tags. <code>null</code> if the HEAD is not detached.
+	   * 
+	   * @return <code>true</code> if the branch information was computed for the same HEAD and tags.
+	   */
+	  boolean isFor(Repository repository, Ref head, Map<ObjectId, List<String>> tags) {
+	    // The tags are read again, in a new map, when the references change.
+	    return this.repository == repository && this.tags == tags && Objects.equals(this.head, describe(head));
+	  }
+	  
+	  /**
+	   * @param head The HEAD.
+	   * 
+	   * @return The target of the HEAD, if symbolic, or the commit on which the HEAD is.
+	   */
+	  private static String describe(Ref head) {
+	    String description = null;
+	    if (head != null) {
+	      if (head.isSymbolic()) {
+	        description = head.getTarget().getName();
+	      } else if (head.getObjectId() != null) {
+	        description = head.getObjectId().name();
+	      }
+	    }
+	    return description;
+	  }
+	}
 
 	/**
 	 * Sets the given branch as the current branch
@@ -2046,6 +2143,7 @@ public class GitAccess {
   public void cleanUp() {
     listeners.clear();
     statusCache = new StatusCache(listeners, () -> git);
+    refsCache = new RefsCache(listeners, () -> git);
     closeRepo();
   }
 	
@@ -2220,29 +2318,14 @@ public class GitAccess {
 			throws GitAPIException, IOException {
 		Map<String, List<String>> commitTagMap = new LinkedHashMap<>();
 		if(git != null) {
-			List<Ref> call = git.tagList().call();
-
-			// search through all commits for tags
-			for (Ref ref : call) {
-				List<String> tagList = new ArrayList<>();
-				String tagName = ref.getName();
-				StringTokenizer st = new StringTokenizer(tagName, "/");
-				while (st.hasMoreTokens()) {
-					tagName = st.nextToken();
-				}
-				LogCommand log = git.log();
-
-				Ref peeledRef = repository.getRefDatabase().peel(ref);
-				if (peeledRef.getPeeledObjectId() != null) {
-					log.add(peeledRef.getPeeledObjectId());
-				} else {
-					log.add(ref.getObjectId());
-				}
-				Iterable<RevCommit> logs = log.call();
-				tagList.add(tagName);
-				String commitToPut = logs.iterator().next().getId().abbreviate(RevCommitUtilBase.ABBREVIATED_COMMIT_LENGTH).name();
+			// The tags are peeled once and kept until the references change.
+			Map<ObjectId, List<String>> tagsByCommit = refsCache.getSnapshot().getTagsByObject();
+			for (Map.Entry<ObjectId, List<String>> entry : tagsByCommit.entrySet()) {
+				String commitToPut = entry.getKey().abbreviate(RevCommitUtilBase.ABBREVIATED_COMMIT_LENGTH).name();
 				List<String> tags = commitTagMap.computeIfAbsent(commitToPut, key -> new ArrayList<>());
-				tags.addAll(tagList);
+				for (String tagName : entry.getValue()) {
+					tags.add(tagName.substring(tagName.lastIndexOf('/') + 1));
+				}
 			}
 		}
 		return commitTagMap;
@@ -2877,7 +2960,7 @@ public class GitAccess {
 	}
 	
 	/**
-   * Push a given local tag
+   * Push a given local tag to the remote of the current branch.
    * 
    * @param name The name of the tag
    * 
@@ -2887,18 +2970,21 @@ public class GitAccess {
       final CredentialsProvider credentialsProvider = AuthUtil.getCredentialsProvider(getHostName());
       final StringBuilder refTag = new StringBuilder(Constants.R_TAGS).append(name).append(":")
           .append(Constants.R_TAGS).append(name);
+      final String remote = getRemoteFromCurrentBranch();
       getGit()
         .push()
+        .setRemote(remote)
         .setCredentialsProvider(credentialsProvider)
         .setRefSpecs(new RefSpec(refTag.toString()))
         .call();
+      RemoteTagsSnapshot.getInstance().add(getGit().getRepository(), remote, name);
   }
   
   /**
    * Delete all given tags.
    * 
    * @param tags           The names of the tags to be deleted.
-   * @param includeRemotes <code>true</code> if the remote tags should be also deleted.
+   * @param includeRemotes <code>true</code> if the tags should be also deleted from the remote of the current branch.
    * 
    * @throws GitAPIException
    */
@@ -2912,13 +2998,16 @@ public class GitAccess {
       final CredentialsProvider credentialsProvider = AuthUtil.getCredentialsProvider(getHostName());
       
       if(includeRemotes) {
+        final String remote = getRemoteFromCurrentBranch();
         for(String name : tags) {
           final StringBuilder refTag = new StringBuilder(":").append(Constants.R_TAGS).append(name);
           getGit()
           .push()
+          .setRemote(remote)
           .setCredentialsProvider(credentialsProvider)
           .setRefSpecs(new RefSpec(refTag.toString()))
           .call();
+          RemoteTagsSnapshot.getInstance().remove(getGit().getRepository(), remote, name);
         }
       }
 
@@ -0,0 +1,261 @@
+package com.oxygenxml.git.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.ReflogEntry;
+import org.eclipse.jgit.lib.ReflogReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.oxygenxml.git.options.OptionsManager;
+
+/**
+ * Selects the branches from which the history is collected when all the branches are presented.
+ * <br>
+ * A branch is kept if its name matches one of the included patterns (any name, when there are no included patterns),
+ * doesn't match any of the excluded patterns and, if an age limit is set, was updated in the last days.
+ * When there are too many branches, only the most recently updated ones are kept. The current branch and its upstream
+ * are always kept.
+ * <br>
+ * The branches are evaluated before walking the history, from the ref database, the reflogs and, when there is
+ * no relevant reflog entry, the tip commit.
+ */
+public class HistoryBranchesFilter {
+
+  /**
+   * Logger for logging.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(HistoryBranchesFilter.class);
+
+  /**
+   * Separates the patterns given as a single text.
+   */
+  private static final Pattern PATTERNS_SEPARATOR = Pattern.compile("[,\\s]+");
+
+  /**
+   * The prefix of the reflog entries created when cloning. They don't tell when a branch was last updated.
+   */
+  private static final String CLONE_REFLOG_PREFIX = "clone:";
+
+  /**
+   * The patterns of the included branches. Empty to include all the branches.
+   */
+  private final List<Pattern> includedPatterns;
+
+  /**
+   * The patterns of the excluded branches.
+   */
+  private final List<Pattern> excludedPatterns;
+
+  /**
+   * Only the branches updated in this number of days are kept. 0 for no limit.
+   */
+  private final int maxAgeDays;
+
+  /**
+   * The maximum number of kept branches. 0 for no limit.
+   */
+  private final int maxBranches;
+
+  /**
+   * Constructor.
+   *
+   * @param includedPatterns Glob patterns for the included branches, separated by commas or spaces.
+   *                         Empty to include all the branches.
+   * @param excludedPatterns Glob patterns for the excluded branches, separated by commas or spaces.
+   * @param maxAgeDays       Only the branches updated in this number of days are kept. 0 for no limit.
+   * @param maxBranches      The maximum number of kept branches. 0 for no limit.
+   */
+  public HistoryBranchesFilter(String includedPatterns, String excludedPatterns, int maxAgeDays, int maxBranches) {
+    this.includedPatterns = parsePatterns(includedPatterns);
+    this.excludedPatterns = parsePatterns(excludedPatterns);
+    this.maxAgeDays = Math.max(0, maxAgeDays);
+    this.maxBranches = Math.max(0, maxBranches);
+  }
+
+  /**
+   * @return The filter configured in the options. Never <code>null</code>.
+   */
+  public static HistoryBranchesFilter fromOptions() {
+    final OptionsManager optionsManager = OptionsManager.getInstance();
+    return new HistoryBranchesFilter(
+        optionsManager.getHistoryIncludedBranches(),
+        optionsManager.getHistoryExcludedBranches(),
+        optionsManager.getHistoryBranchesMaxAgeDays(),
+        optionsManager.getHistoryMaxBranches());
+  }
+
+  /**
+   * @return <code>true</code> if all the branches are kept.
+   */
+  public boolean keepsAll() {
+    return includedPatterns.isEmpty() && excludedPatterns.isEmpty() && maxAgeDays == 0 && maxBranches == 0;
+  }
+
+  /**
+   * Selects the branches from which the history is collected.
+   *
+   * @param repository     The repository.
+   * @param branches       The candidate branches.
+   * @param alwaysIncluded The full names of the branches that are kept regardless of the filter.
+   *
+   * @return The commit ID of each kept tip, mapped by the full name of its ref, in the order of the given branches.
+   *         Never <code>null</code>.
+   */
+  public Map<String, ObjectId> filter(Repository repository, List<Ref> branches, Collection<String> alwaysIncluded) {
+    final List<Ref> kept = new ArrayList<>(branches.size());
+    for (Ref branch : branches) {
+      if (alwaysIncluded.contains(branch.getName()) || matchesPatterns(branch.getName())) {
+        kept.add(branch);
+      }
+    }
+
+    final boolean tooMany = maxBranches > 0 && kept.size() > maxBranches;
+    if (maxAgeDays > 0 || tooMany) {
+      final Map<String, Long> updateTimes = getUpdateTimes(repository, kept);
+      if (maxAgeDays > 0) {
+        final long minTime = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(maxAgeDays);
+        kept.removeIf(branch -> !alwaysIncluded.contains(branch.getName())
+            && updateTimes.get(branch.getName()) < minTime);
+      }
+
+      if (maxBranches > 0 && kept.size() > maxBranches) {
+        final List<Ref> mostRecent = new ArrayList<>(kept);
+        mostRecent.sort(
+            Comparator.comparing((Ref branch) -> !alwaysIncluded.contains(branch.getName()))
+            .thenComparing(branch -> updateTimes.get(branch.getName()), Comparator.reverseOrder()));
+        final Set<Ref> toKeep = new HashSet<>(mostRecent.subList(0, maxBranches));
+        kept.removeIf(branch -> !toKeep.contains(branch));
+      }
+    }
+
+    final Map<String, ObjectId> tips = new LinkedHashMap<>();
+    for (Ref branch : kept) {
+      tips.put(branch.getName(), branch.getObjectId());
+    }
+    return tips;
+  }
+
+  /**
+   * Checks the included and excluded patterns.
+   *
+   * @param fullName The full name of the branch.
+   *
+   * @return <code>true</code> if the branch is included and is not excluded.
+   */
+  private boolean matchesPatterns(String fullName) {
+    final String shortName = Repository.shortenRefName(fullName);
+    return (includedPatterns.isEmpty() || matchesAny(includedPatterns, fullName, shortName))
+        && !matchesAny(excludedPatterns, fullName, shortName);
+  }
+
+  /**
+   * @param patterns  The patterns.
+   * @param fullName  The full name of the branch.
+   * @param shortName The short name of the branch.
+   *
+   * @return <code>true</code> if one of the names matches one of the patterns.
+   */
+  private static boolean matchesAny(List<Pattern> patterns, String fullName, String shortName) {
+    for (Pattern pattern : patterns) {
+      if (pattern.matcher(shortName).matches() || pattern.matcher(fullName).matches()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the time when each branch was last updated. It is the time of the last reflog entry or, when there is
+   * no such entry or it was created by the clone, the time of the tip commit.
+   *
+   * @param repository The repository.
+   * @param branches   The branches.
+   *
+   * @return The last update time of each branch, in milliseconds, mapped by the full branch name.
+   */
+  private static Map<String, Long> getUpdateTimes(Repository repository, List<Ref> branches) {
+    final Map<String, Long> updateTimes = new HashMap<>();
+    try (RevWalk revWalk = new RevWalk(repository)) {
+      for (Ref branch : branches) {
+        long updateTime = 0;
+        try {
+          final ReflogReader reflogReader = repository.getRefDatabase().getReflogReader(branch);
+          final ReflogEntry lastEntry = reflogReader != null ? reflogReader.getLastEntry() : null;
+          if (lastEntry != null && !lastEntry.getComment().startsWith(CLONE_REFLOG_PREFIX)) {
+            updateTime = lastEntry.getWho().getWhen().getTime();
+          } else if (branch.getObjectId() != null) {
+            updateTime = TimeUnit.SECONDS.toMillis(revWalk.parseCommit(branch.getObjectId()).getCommitTime());
+          }
+        } catch (IOException e) {
+          LOGGER.debug(e.getMessage(), e);
+        }
+        updateTimes.put(branch.getName(), updateTime);
+      }
+    }
+    return updateTimes;
+  }
+
+  /**
+   * Parses the patterns given as a single text.
+   *
+   * @param patterns Glob patterns, separated by commas or spaces. May be <code>null</code>.
+   *
+   * @return The patterns. Never <code>null</code>.
+   */
+  private static List<Pattern> parsePatterns(String patterns) {
+    List<Pattern> parsed = Collections.emptyList();
+    if (patterns != null && !patterns.trim().isEmpty()) {
+      parsed = new ArrayList<>();
+      for (String glob : PATTERNS_SEPARATOR.split(patterns.trim())) {
+        parsed.add(globToPattern(glob));
+      }
+    }
+    return parsed;
+  }
+
+  /**
+   * Converts a glob pattern to a regular expression. "*" matches any sequence of characters,
+   * including "/", and "?" matches any character.
+   *
+   * @param glob The glob pattern.
+   *
+   * @return The regular expression.
+   */
+  static Pattern globToPattern(String glob) {
+    final StringBuilder regex = new StringBuilder(glob.length() + 8);
+    final StringBuilder literal = new StringBuilder();
+    for (int i = 0; i < glob.length(); i++) {
+      final char c = glob.charAt(i);
+      if (c == '*' || c == '?') {
+        if (literal.length() > 0) {
+          regex.append(Pattern.quote(literal.toString()));
+          literal.setLength(0);
+        }
+        regex.append(c == '*' ? ".*" : ".");
+      } else {
+        literal.append(c);
+      }
+    }
+    if (literal.length() > 0) {
+      regex.append(Pattern.quote(literal.toString()));
+    }
+    return Pattern.compile(regex.toString());
+  }
+}
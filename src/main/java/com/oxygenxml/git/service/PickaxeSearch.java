@@ -0,0 +1,356 @@
+package com.oxygenxml.git.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jgit.annotations.Nullable;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.RawText;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectLoader;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilter;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.eclipse.jgit.util.RawParseUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.oxygenxml.git.service.entities.FileStatusUtil;
+
+/**
+ * Searches the commits that add or remove a text, like "git log -S".
+ * <br>
+ * A commit matches when the number of occurrences of the searched text is different in a changed file
+ * and in its version from the parent commit. Merge commits are skipped, as Git does by default.
+ * <br>
+ * When a single file is searched, its renames are followed the same way the history of the file follows them:
+ * in the commit that renamed it, the file is compared with its old version.
+ * <br>
+ * The commits are parsed by a {@link RevWalk} on the calling thread and the blobs are compared on a pool
+ * of worker threads shared by all the searches. The matches are reported in the order of the searched commits,
+ * as soon as they are known. The search can be canceled from any thread.
+ */
+public class PickaxeSearch {
+
+  /**
+   * Logger for logging.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(PickaxeSearch.class);
+
+  /**
+   * Blobs bigger than this are not searched.
+   */
+  private static final int MAX_BLOB_SIZE = 10 * 1024 * 1024;
+
+  /**
+   * The number of threads that compare blobs.
+   */
+  private static final int WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+  /**
+   * How many commits can be compared in advance of the last reported one, for each worker.
+   */
+  private static final int PENDING_COMMITS_PER_WORKER = 16;
+
+  /**
+   * Compares the blobs, for all the searches.
+   */
+  private static final ExecutorService WORKERS_EXECUTOR = Executors.newFixedThreadPool(WORKERS, runnable -> {
+    Thread thread = new Thread(runnable, "Git content search");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * The delimiter of a text that should be searched as a regular expression.
+   */
+  private static final String REGEX_DELIMITER = "/";
+
+  /**
+   * The repository.
+   */
+  private final Repository repository;
+
+  /**
+   * The searched text.
+   */
+  private final Pattern pattern;
+
+  /**
+   * Gives the path of the searched file in each commit. <code>null</code> to search in all the files.
+   */
+  private final Function<ObjectId, String> filePaths;
+
+  /**
+   * <code>true</code> if the search was canceled.
+   */
+  private volatile boolean canceled = false;
+
+  /**
+   * Constructor.
+   *
+   * @param repository The repository.
+   * @param pattern    The searched text. See {@link #createPattern(String)}.
+   * @param filePaths  Gives the path of the searched file in each searched commit, following its renames.
+   *                   <code>null</code> to search in all the files.
+   */
+  public PickaxeSearch(Repository repository, Pattern pattern, @Nullable Function<ObjectId, String> filePaths) {
+    this.repository = repository;
+    this.pattern = pattern;
+    this.filePaths = filePaths;
+  }
+
+  /**
+   * Creates the pattern for a searched text. A text enclosed in slashes, like "/a+b/", is a regular expression.
+   * Any other text is searched literally.
+   *
+   * @param text The text typed by the user.
+   *
+   * @return The pattern. Never <code>null</code>.
+   *
+   * @throws PatternSyntaxException If the regular expression is not valid.
+   */
+  public static Pattern createPattern(String text) {
+    Pattern toReturn;
+    if (text.length() > 2 && text.startsWith(REGEX_DELIMITER) && text.endsWith(REGEX_DELIMITER)) {
+      toReturn = Pattern.compile(text.substring(1, text.length() - 1));
+    } else {
+      toReturn = Pattern.compile(Pattern.quote(text));
+    }
+    return toReturn;
+  }
+
+  /**
+   * Stops the search. The matches found afterwards are no longer reported.
+   */
+  public void cancel() {
+    canceled = true;
+  }
+
+  /**
+   * @return <code>true</code> if the search was canceled.
+   */
+  public boolean isCanceled() {
+    return canceled;
+  }
+
+  /**
+   * Searches the given commits. Blocks until all the commits were searched or the search is canceled.
+   *
+   * @param commits       The commits to search in, in the order in which the matches should be reported.
+   * @param matchListener Receives the matching commits, on the calling thread.
+   *
+   * @return <code>true</code> if all the commits were searched, <code>false</code> if the search was canceled.
+   *
+   * @throws IOException When a commit cannot be parsed.
+   */
+  public boolean search(List<? extends ObjectId> commits, Consumer<ObjectId> matchListener) throws IOException {
+    final int maxPending = WORKERS * PENDING_COMMITS_PER_WORKER;
+    final Deque<PendingCommit> pending = new ArrayDeque<>(maxPending);
+    try (RevWalk revWalk = new RevWalk(repository)) {
+      for (ObjectId commitId : commits) {
+        if (canceled) {
+          break;
+        }
+        final RevCommit commit = revWalk.parseCommit(commitId);
+        if (commit.getParentCount() <= 1) {
+          ObjectId parentTree = null;
+          if (commit.getParentCount() == 1) {
+            RevCommit parent = commit.getParent(0);
+            revWalk.parseHeaders(parent);
+            parentTree = parent.getTree().copy();
+          }
+          final ObjectId oldTree = parentTree;
+          final ObjectId newTree = commit.getTree().copy();
+          final String filePath = filePaths != null ? filePaths.apply(commit) : null;
+          pending.add(new PendingCommit(
+              commit.copy(), 
+              WORKERS_EXECUTOR.submit(() -> !canceled && changesOccurrences(oldTree, newTree, filePath))));
+          if (pending.size() >= maxPending) {
+            reportFirst(pending, matchListener);
+          }
+        }
+      }
+      while (!pending.isEmpty() && !canceled) {
+        reportFirst(pending, matchListener);
+      }
+    } finally {
+      // Don't keep the shared workers busy with the commits of a canceled search.
+      for (PendingCommit pendingCommit : pending) {
+        pendingCommit.matches.cancel(false);
+      }
+    }
+
+    return !canceled;
+  }
+
+  /**
+   * Waits for the oldest pending commit and reports it if it matches.
+   *
+   * @param pending       The commits being compared, in the order in which they should be reported.
+   * @param matchListener Receives the matching commits.
+   */
+  private void reportFirst(Deque<PendingCommit> pending, Consumer<ObjectId> matchListener) {
+    final PendingCommit first = pending.removeFirst();
+    try {
+      if (first.matches.get().booleanValue() && !canceled) {
+        matchListener.accept(first.commitId);
+      }
+    } catch (ExecutionException e) {
+      LOGGER.debug(e.getMessage(), e);
+    } catch (InterruptedException e) {
+      canceled = true;
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Checks if a commit changes the number of occurrences of the searched text in a file.
+   *
+   * @param oldTree  The tree of the parent commit. <code>null</code> for a root commit.
+   * @param newTree  The tree of the commit.
+   * @param filePath The path of the searched file in the commit. <code>null</code> to search in all the files.
+   *
+   * @return <code>true</code> if a file has a different number of occurrences in the two trees.
+   *
+   * @throws IOException When the trees cannot be read.
+   */
+  private boolean changesOccurrences(
+      @Nullable ObjectId oldTree, 
+      ObjectId newTree, 
+      @Nullable String filePath) throws IOException {
+    boolean changes = false;
+    try (ObjectReader reader = repository.newObjectReader();
+        TreeWalk treeWalk = new TreeWalk(repository, reader)) {
+      treeWalk.setRecursive(true);
+      if (oldTree != null) {
+        treeWalk.addTree(oldTree);
+      } else {
+        treeWalk.addTree(new EmptyTreeIterator());
+      }
+      treeWalk.addTree(newTree);
+      treeWalk.setFilter(filePath != null ?
+          AndTreeFilter.create(PathFilter.create(filePath), TreeFilter.ANY_DIFF) : TreeFilter.ANY_DIFF);
+
+      while (!changes && !canceled && treeWalk.next()) {
+        ObjectId oldBlob = treeWalk.getObjectId(0);
+        int oldMode = treeWalk.getRawMode(0);
+        if (filePath != null && oldTree != null && oldMode == FileMode.TYPE_MISSING) {
+          // Added by the commit. If it was renamed, compare it with its old version.
+          final Optional<DiffEntry> rename = findRename(reader, oldTree, newTree, filePath);
+          if (rename.isPresent()) {
+            oldBlob = rename.get().getOldId().toObjectId();
+            oldMode = rename.get().getOldMode().getBits();
+          }
+        }
+        changes = countOccurrences(reader, oldBlob, oldMode)
+            != countOccurrences(reader, treeWalk.getObjectId(1), treeWalk.getRawMode(1));
+      }
+    }
+
+    return changes;
+  }
+
+  /**
+   * Finds the rename or the copy that created a file, with the same rename detection as the history of a file.
+   *
+   * @param reader   The reader to use.
+   * @param oldTree  The tree of the parent commit.
+   * @param newTree  The tree of the commit.
+   * @param filePath The path of the file in the commit.
+   *
+   * @return The rename or the copy, or an empty optional if the file was added.
+   *
+   * @throws IOException When the trees or the blobs cannot be read.
+   */
+  private Optional<DiffEntry> findRename(
+      ObjectReader reader, 
+      ObjectId oldTree, 
+      ObjectId newTree, 
+      String filePath) throws IOException {
+    final List<DiffEntry> diffs;
+    try (TreeWalk treeWalk = new TreeWalk(repository, reader)) {
+      treeWalk.setRecursive(true);
+      treeWalk.setFilter(TreeFilter.ANY_DIFF);
+      treeWalk.addTree(oldTree);
+      treeWalk.addTree(newTree);
+      diffs = DiffEntry.scan(treeWalk);
+    }
+    return RenameDetection.compute(repository, reader, diffs).stream()
+        .filter(diff -> FileStatusUtil.isRename(diff.getChangeType()) && filePath.equals(diff.getNewPath()))
+        .findFirst();
+  }
+
+  /**
+   * Counts the occurrences of the searched text in a blob.
+   *
+   * @param reader The reader to use.
+   * @param blobId The blob.
+   * @param mode   The mode of the tree entry.
+   *
+   * @return The number of occurrences. 0 if the entry is missing, is not a file or is binary.
+   *
+   * @throws IOException When the blob cannot be read.
+   */
+  private int countOccurrences(ObjectReader reader, ObjectId blobId, int mode) throws IOException {
+    int count = 0;
+    if ((mode & FileMode.TYPE_MASK) == FileMode.TYPE_FILE) {
+      final ObjectLoader loader = reader.open(blobId, Constants.OBJ_BLOB);
+      if (!loader.isLarge() && loader.getSize() <= MAX_BLOB_SIZE) {
+        final byte[] content = loader.getCachedBytes();
+        if (!RawText.isBinary(content)) {
+          final Matcher matcher = pattern.matcher(RawParseUtils.decode(content));
+          while (matcher.find() && !canceled) {
+            count++;
+          }
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * A commit whose trees are being compared.
+   */
+  private static class PendingCommit {
+    /**
+     * The commit.
+     */
+    private final ObjectId commitId;
+    /**
+     * <code>true</code> if the commit matches.
+     */
+    private final Future<Boolean> matches;
+
+    /**
+     * Constructor.
+     *
+     * @param commitId The commit.
+     * @param matches  <code>true</code> if the commit matches.
+     */
+    PendingCommit(ObjectId commitId, Future<Boolean> matches) {
+      this.commitId = commitId;
+      this.matches = matches;
+    }
+  }
+}
@@ -0,0 +1,176 @@
+package com.oxygenxml.git.service;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.events.ListenerHandle;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefDatabase;
+import org.eclipse.jgit.lib.Repository;
+
+import com.oxygenxml.git.view.event.GitEventInfo;
+import com.oxygenxml.git.view.event.GitOperation;
+
+/**
+ * A cache with the snapshot of the references of the loaded repository, shared by all the components that present
+ * branches or tags, so that the references are read and the tags are peeled once per change instead of once per
+ * component.
+ * <br>
+ * The snapshot is read once per invalidation: after JGit notifies a change of the references with a
+ * <code>RefsChangedEvent</code>, after a Git operation that changes them or when the application window is
+ * activated, which covers the changes made by other processes. Until then, the snapshot is returned without
+ * listing the references again.
+ */
+public class RefsCache {
+
+  /**
+   * The operations that don't change the references.
+   */
+  private static final Set<GitOperation> OPERATIONS_KEEPING_REFS = EnumSet.of(
+      GitOperation.STAGE,
+      GitOperation.UNSTAGE,
+      GitOperation.DISCARD,
+      GitOperation.CHECKOUT_FILE);
+
+  /**
+   * A supplier of the loaded repository.
+   */
+  private final Supplier<Git> gitSupplier;
+
+  /**
+   * The snapshot. <code>null</code> when it must be read again.
+   */
+  private volatile RefsSnapshot snapshot;
+
+  /**
+   * Incremented each time the references change, to detect the changes made while the snapshot is read.
+   */
+  private final AtomicLong refsVersion = new AtomicLong();
+
+  /**
+   * Serializes the reads of the snapshot, so that it is read once per invalidation.
+   */
+  private final Object readLock = new Object();
+
+  /**
+   * The thread that lists the references. The changes it notices are in the snapshot it reads.
+   */
+  private volatile Thread readingThread;
+
+  /**
+   * The repository whose references are listened.
+   */
+  private Repository repository;
+
+  /**
+   * The listener for the reference changes of the repository.
+   */
+  private ListenerHandle refsChangedHandle;
+
+  /**
+   * Constructor.
+   *
+   * @param listeners   The listeners for the Git operations.
+   * @param gitSupplier A supplier of the loaded repository.
+   */
+  public RefsCache(GitListeners listeners, Supplier<Git> gitSupplier) {
+    this.gitSupplier = gitSupplier;
+    listeners.addGitPriorityListener(new GitEventAdapter() {
+      @Override
+      public void operationSuccessfullyEnded(GitEventInfo info) {
+        if (!OPERATIONS_KEEPING_REFS.contains(info.getGitOperation())) {
+          resetCache();
+        }
+      }
+    });
+  }
+
+  /**
+   * Gets the snapshot of the references of the loaded repository.
+   *
+   * @return The snapshot. Never <code>null</code>.
+   *
+   * @throws IOException When the references cannot be read.
+   */
+  public RefsSnapshot getSnapshot() throws IOException {
+    final Git git = gitSupplier.get();
+    if (git == null) {
+      return RefsSnapshot.EMPTY;
+    }
+    final Repository repo = git.getRepository();
+    listenTo(repo);
+
+    RefsSnapshot toReturn = snapshot;
+    if (toReturn == null) {
+      synchronized (readLock) {
+        toReturn = snapshot;
+        if (toReturn == null) {
+          toReturn = read(repo);
+        }
+      }
+    }
+    return toReturn;
+  }
+
+  /**
+   * Reads the snapshot and keeps it, unless the references changed meanwhile.
+   *
+   * @param repo The repository.
+   *
+   * @return The snapshot. Never <code>null</code>.
+   *
+   * @throws IOException When the references cannot be read.
+   */
+  private RefsSnapshot read(Repository repo) throws IOException {
+    final long version = refsVersion.get();
+    final List<Ref> refs;
+    readingThread = Thread.currentThread();
+    try {
+      // Fires the RefsChangedEvent if the references changed since the last listing.
+      refs = repo.getRefDatabase().getRefsByPrefix(RefDatabase.ALL);
+    } finally {
+      readingThread = null;
+    }
+    final RefsSnapshot toReturn = RefsSnapshot.read(repo, refs);
+    synchronized (this) {
+      if (refsVersion.get() == version && repository == repo) {
+        snapshot = toReturn;
+      }
+    }
+    return toReturn;
+  }
+
+  /**
+   * Forgets the snapshot, to be read again on the next request.
+   */
+  public synchronized void resetCache() {
+    refsVersion.incrementAndGet();
+    snapshot = null;
+  }
+
+  /**
+   * Starts listening for the reference changes of a repository, if it is not the listened one.
+   *
+   * @param repo The repository.
+   */
+  private synchronized void listenTo(Repository repo) {
+    if (repository != repo) {
+      if (refsChangedHandle != null) {
+        refsChangedHandle.remove();
+      }
+      repository = repo;
+      refsChangedHandle = repo.getListenerList().addRefsChangedListener(event -> {
+        // The changes noticed while listing the references are already in the read snapshot.
+        if (readingThread != Thread.currentThread()) {
+          resetCache();
+        }
+      });
+      resetCache();
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package com.oxygenxml.git.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefDatabase;
+import org.eclipse.jgit.lib.Repository;
+
+/**
+ * The references of a repository, read at once: the local branches, the remote-tracking branches and the tags,
+ * mapped by the object they point to after peeling the annotated tags.
+ * <br>
+ * A snapshot never changes. The snapshots are kept by {@link RefsCache}.
+ */
+public class RefsSnapshot {
+
+  /**
+   * A snapshot without references.
+   */
+  static final RefsSnapshot EMPTY = new RefsSnapshot(
+      Collections.emptyList(), Collections.emptyList(), Collections.emptyMap());
+
+  /**
+   * The local branches, sorted by name.
+   */
+  private final List<Ref> localBranches;
+
+  /**
+   * The remote-tracking branches, sorted by name.
+   */
+  private final List<Ref> remoteBranches;
+
+  /**
+   * The short names of the tags, sorted by name, mapped by the peeled object.
+   */
+  private final Map<ObjectId, List<String>> tagsByObject;
+
+  /**
+   * Constructor.
+   *
+   * @param localBranches  The local branches.
+   * @param remoteBranches The remote-tracking branches.
+   * @param tagsByObject   The short names of the tags, mapped by the peeled object.
+   */
+  private RefsSnapshot(List<Ref> localBranches, List<Ref> remoteBranches, Map<ObjectId, List<String>> tagsByObject) {
+    this.localBranches = localBranches;
+    this.remoteBranches = remoteBranches;
+    this.tagsByObject = tagsByObject;
+  }
+
+  /**
+   * Reads the snapshot of the references of a repository.
+   * <br>
+   * The tags are peeled through the reference database, which uses the peeled values from the packed-refs file
+   * when available.
+   *
+   * @param repository The repository.
+   * @param refs       All the references of the repository.
+   *
+   * @return The snapshot. Never <code>null</code>.
+   *
+   * @throws IOException When the tags cannot be peeled.
+   */
+  static RefsSnapshot read(Repository repository, Collection<Ref> refs) throws IOException {
+    final List<Ref> sortedRefs = new ArrayList<>(refs);
+    sortedRefs.sort(Comparator.comparing(Ref::getName));
+
+    final RefDatabase refDatabase = repository.getRefDatabase();
+    final List<Ref> localBranches = new ArrayList<>();
+    final List<Ref> remoteBranches = new ArrayList<>();
+    final Map<ObjectId, List<String>> tagsByObject = new LinkedHashMap<>();
+    for (Ref ref : sortedRefs) {
+      final String name = ref.getName();
+      if (name.startsWith(Constants.R_HEADS)) {
+        localBranches.add(ref);
+      } else if (name.startsWith(Constants.R_REMOTES)) {
+        remoteBranches.add(ref);
+      } else if (name.startsWith(Constants.R_TAGS)) {
+        final Ref peeled = ref.isPeeled() ? ref : refDatabase.peel(ref);
+        final ObjectId target = peeled.getPeeledObjectId() != null ? peeled.getPeeledObjectId() : ref.getObjectId();
+        if (target != null) {
+          tagsByObject.computeIfAbsent(target, id -> new ArrayList<>(1)).add(Repository.shortenRefName(name));
+        }
+      }
+    }
+    tagsByObject.replaceAll((id, names) -> Collections.unmodifiableList(names));
+
+    return new RefsSnapshot(
+        Collections.unmodifiableList(localBranches),
+        Collections.unmodifiableList(remoteBranches),
+        Collections.unmodifiableMap(tagsByObject));
+  }
+
+  /**
+   * @return The local branches, sorted by name. Never <code>null</code>.
+   */
+  public List<Ref> getLocalBranches() {
+    return localBranches;
+  }
+
+  /**
+   * @return The remote-tracking branches, sorted by name. Never <code>null</code>.
+   */
+  public List<Ref> getRemoteBranches() {
+    return remoteBranches;
+  }
+
+  /**
+   * @return The short names of the tags, sorted by name, mapped by the object they point to after peeling.
+   *         Never <code>null</code>.
+   */
+  public Map<ObjectId, List<String>> getTagsByObject() {
+    return tagsByObject;
+  }
+
+  /**
+   * Gets the tags that point to an object.
+   *
+   * @param objectId The object, usually a commit.
+   *
+   * @return The short names of the tags, sorted by name. Never <code>null</code>.
+   */
+  public List<String> getTags(ObjectId objectId) {
+    return tagsByObject.getOrDefault(objectId, Collections.emptyList());
+  }
+}
@@ -0,0 +1,257 @@
+package com.oxygenxml.git.service;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.transport.CredentialsProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.oxygenxml.git.auth.AuthUtil;
+import com.oxygenxml.git.service.annotation.TestOnly;
+
+/**
+ * The names of the tags known to exist on the remote of the current repository.
+ * <br>
+ * The names are taken from the refs advertised by the remote on the last fetch or ls-remote and they are kept
+ * up to date when tags are pushed or deleted from the remote. This way, knowing if a local tag is pushed doesn't
+ * need a network round trip. A fresh list can be requested in the background.
+ */
+public class RemoteTagsSnapshot {
+
+  /**
+   * Logger for logging.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(RemoteTagsSnapshot.class);
+
+  /**
+   * The singleton instance.
+   */
+  private static final RemoteTagsSnapshot INSTANCE = new RemoteTagsSnapshot();
+
+  /**
+   * Lists the remote tags.
+   */
+  private static final ExecutorService LS_REMOTE_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "Git remote tags");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * The directory of the repository for which the names are known.
+   */
+  private File repositoryDirectory;
+
+  /**
+   * The remote for which the names are known.
+   */
+  private String remote;
+
+  /**
+   * The names of the remote tags.
+   */
+  private Set<String> names = new HashSet<>();
+
+  /**
+   * The tags pushed (<code>true</code>) or deleted (<code>false</code>) while the remote tags are listed, to be
+   * applied over the listed ones.
+   */
+  private final Map<String, Boolean> changesWhileListing = new HashMap<>();
+
+  /**
+   * The time when the names were read from the remote, in milliseconds. <code>0</code> if they were never read.
+   */
+  private long timestamp;
+
+  /**
+   * Constructor.
+   */
+  private RemoteTagsSnapshot() {
+  }
+
+  /**
+   * @return The singleton instance.
+   */
+  public static RemoteTagsSnapshot getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Gets the names of the tags known to exist on a remote, without contacting it.
+   *
+   * @param repository The repository.
+   * @param remote     The remote.
+   *
+   * @return The names. Never <code>null</code>.
+   */
+  public synchronized Set<String> getNames(Repository repository, String remote) {
+    selectRemote(repository, remote);
+    return Collections.unmodifiableSet(new HashSet<>(names));
+  }
+
+  /**
+   * @return The time when the names were last read from the remote, in milliseconds,
+   *         or <code>0</code> if they were never read.
+   */
+  public synchronized long getTimestamp() {
+    return timestamp;
+  }
+
+  /**
+   * Tells if the names of the tags of a remote were read from it, on fetch or by listing them. Until then, only the
+   * tags pushed or deleted from this application are known.
+   *
+   * @param repository The repository.
+   * @param remote     The remote.
+   *
+   * @return <code>true</code> if the names were read from the remote.
+   */
+  public synchronized boolean isRead(Repository repository, String remote) {
+    selectRemote(repository, remote);
+    return timestamp > 0;
+  }
+
+  /**
+   * Reads the names of the remote tags from the refs advertised by a remote.
+   *
+   * @param repository     The repository.
+   * @param remote         The remote.
+   * @param advertisedRefs The refs advertised by the remote, for example on fetch.
+   */
+  public synchronized void update(Repository repository, String remote, Collection<Ref> advertisedRefs) {
+    selectRemote(repository, remote);
+    names = new HashSet<>();
+    for (Ref ref : advertisedRefs) {
+      if (ref.getName().startsWith(Constants.R_TAGS)) {
+        names.add(Repository.shortenRefName(ref.getName()));
+      }
+    }
+    changesWhileListing.clear();
+    timestamp = System.currentTimeMillis();
+  }
+
+  /**
+   * Records that a tag was pushed to a remote.
+   *
+   * @param repository The repository.
+   * @param remote     The remote.
+   * @param name       The name of the tag.
+   */
+  public synchronized void add(Repository repository, String remote, String name) {
+    selectRemote(repository, remote);
+    names.add(name);
+    changesWhileListing.put(name, true);
+  }
+
+  /**
+   * Records that a tag was deleted from a remote.
+   *
+   * @param repository The repository.
+   * @param remote     The remote.
+   * @param name       The name of the tag.
+   */
+  public synchronized void remove(Repository repository, String remote, String name) {
+    selectRemote(repository, remote);
+    names.remove(name);
+    changesWhileListing.put(name, false);
+  }
+
+  /**
+   * Lists the tags of a remote and remembers their names.
+   *
+   * @param git    The Git instance of the repository.
+   * @param remote The remote.
+   *
+   * @return The refs of the remote tags. Never <code>null</code>.
+   *
+   * @throws GitAPIException When the remote cannot be contacted.
+   */
+  public Collection<Ref> refresh(Git git, String remote) throws GitAPIException {
+    final Repository repository = git.getRepository();
+    synchronized (this) {
+      selectRemote(repository, remote);
+      changesWhileListing.clear();
+    }
+    final CredentialsProvider credentialsProvider = AuthUtil.getCredentialsProvider(GitAccess.getInstance().getHostName());
+    final Collection<Ref> refs = git.lsRemote()
+        .setRemote(remote)
+        .setCredentialsProvider(credentialsProvider)
+        .setTags(true)
+        .call();
+    synchronized (this) {
+      // The tags pushed or deleted meanwhile might be missing from the listing.
+      final Map<String, Boolean> changes = new HashMap<>(changesWhileListing);
+      update(repository, remote, refs);
+      changes.forEach((name, pushed) -> {
+        if (pushed.booleanValue()) {
+          names.add(name);
+        } else {
+          names.remove(name);
+        }
+      });
+    }
+    return refs;
+  }
+
+  /**
+   * Lists the tags of a remote in the background.
+   *
+   * @param git       The Git instance of the repository.
+   * @param remote    The remote.
+   * @param onRefresh Receives the names of the remote tags, on the background thread.
+   *                  Not called if the remote cannot be contacted.
+   */
+  public void scheduleRefresh(Git git, String remote, Consumer<Set<String>> onRefresh) {
+    LS_REMOTE_EXECUTOR.execute(() -> {
+      try {
+        refresh(git, remote);
+        onRefresh.accept(getNames(git.getRepository(), remote));
+      } catch (GitAPIException | RuntimeException e) {
+        LOGGER.debug(e.getMessage(), e);
+      }
+    });
+  }
+
+  /**
+   * Forgets the names of the remote tags.
+   */
+  @TestOnly
+  synchronized void clear() {
+    repositoryDirectory = null;
+    remote = null;
+    names = new HashSet<>();
+    changesWhileListing.clear();
+    timestamp = 0;
+  }
+
+  /**
+   * Forgets the names if they were read for another repository or another remote.
+   *
+   * @param repository The repository.
+   * @param remote     The remote.
+   */
+  private void selectRemote(Repository repository, String remote) {
+    final File directory = repository.getDirectory().getAbsoluteFile();
+    if (!directory.equals(repositoryDirectory) || !remote.equals(this.remote)) {
+      repositoryDirectory = directory;
+      this.remote = remote;
+      names = new HashSet<>();
+      changesWhileListing.clear();
+      timestamp = 0;
+    }
+  }
+}
@@ -0,0 +1,355 @@
+package com.oxygenxml.git.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.jgit.diff.DiffConfig;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.RenameDetector;
+import org.eclipse.jgit.diff.SimilarityIndex;
+import org.eclipse.jgit.diff.SimilarityIndex.TableFullException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectLoader;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.oxygenxml.git.service.annotation.TestOnly;
+
+/**
+ * Detects the renamed and copied files among the changes with JGit's {@link RenameDetector} and memoizes the result.
+ * <br>
+ * The result of a detection only depends on the changes, that is on their paths, modes and blobs, and on the rename
+ * limit. The blobs are immutable, so the cached results never become stale. Browsing the history around a commit
+ * that restructures many files detects the renames of the same changes again and again, and only the first detection
+ * reads and compares the content.
+ * <br>
+ * The similarity index of each blob compared with files from outside the object database is cached as well, see
+ * {@link #findRenameTarget(ObjectReader, String, ObjectId, Map)}.
+ * <br>
+ * Only whole detections are memoized. {@link RenameDetector} hashes the blobs and scores the pairs internally and
+ * offers no way to supply cached indexes or scores, so two detections over different changes share nothing, even
+ * when they compare the same blobs.
+ */
+public class RenameDetection {
+
+  /**
+   * Logger for logging.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(RenameDetection.class);
+
+  /**
+   * The minimum score of a rename, like the default of {@link RenameDetector}.
+   */
+  private static final int RENAME_SCORE = 60;
+
+  /**
+   * The content of larger files is not compared.
+   */
+  private static final long BIG_FILE_THRESHOLD = 50L * 1024 * 1024;
+
+  /**
+   * The maximum score computed by {@link SimilarityIndex#score(SimilarityIndex, int)}.
+   */
+  private static final int MAX_CONTENT_SCORE = 10000;
+
+  /**
+   * The maximum number of cached similarity indexes.
+   */
+  private static final int MAX_CACHED_INDEXES = 256;
+
+  /**
+   * The maximum number of changes in all the cached detections.
+   */
+  private static final int MAX_CACHED_CHANGES = 50_000;
+
+  /**
+   * The similarity index of each blob, in access order. Empty for the blobs whose content cannot be indexed.
+   */
+  private static final Map<ObjectId, Optional<SimilarityIndex>> INDEXES = new LinkedHashMap<ObjectId, Optional<SimilarityIndex>>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<ObjectId, Optional<SimilarityIndex>> eldest) {
+      return size() > MAX_CACHED_INDEXES;
+    }
+  };
+
+  /**
+   * The result of each detection, in access order.
+   */
+  private static final LinkedHashMap<Changes, List<DiffEntry>> RESULTS = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * The number of changes in all the cached detections.
+   */
+  private static int cachedChanges;
+
+  /**
+   * Hidden constructor.
+   */
+  private RenameDetection() {
+    // Nothing
+  }
+
+  /**
+   * Detects the renamed and copied files among the changes, with the same result as {@link RenameDetector}.
+   *
+   * @param repository The repository.
+   * @param reader     Reads the compared blobs.
+   * @param entries    The changes.
+   *
+   * @return The changes, with the renames and copies combining their added and removed files. Never <code>null</code>.
+   * 
+   * @throws IOException When a blob cannot be read.
+   */
+  public static List<DiffEntry> compute(
+      Repository repository,
+      ObjectReader reader,
+      Collection<DiffEntry> entries) throws IOException {
+    final Changes changes = new Changes(entries, repository.getConfig().get(DiffConfig.KEY).getRenameLimit());
+    List<DiffEntry> result;
+    synchronized (RESULTS) {
+      result = RESULTS.get(changes);
+    }
+    if (result == null) {
+      final RenameDetector renameDetector = new RenameDetector(repository);
+      renameDetector.addAll(entries);
+      result = Collections.unmodifiableList(renameDetector.compute(reader, NullProgressMonitor.INSTANCE));
+      cache(changes, result);
+    }
+    return new ArrayList<>(result);
+  }
+
+  /**
+   * Caches the result of a detection.
+   * 
+   * @param changes The detected changes.
+   * @param result  The result.
+   */
+  private static void cache(Changes changes, List<DiffEntry> result) {
+    if (changes.size() <= MAX_CACHED_CHANGES) {
+      synchronized (RESULTS) {
+        if (RESULTS.put(changes, result) == null) {
+          cachedChanges += changes.size();
+        }
+        final Iterator<Changes> iterator = RESULTS.keySet().iterator();
+        while (cachedChanges > MAX_CACHED_CHANGES && iterator.hasNext()) {
+          cachedChanges -= iterator.next().size();
+          iterator.remove();
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the similarity index of a blob.
+   *
+   * @param reader Reads the blob.
+   * @param id     The blob.
+   *
+   * @return The index, empty if the content has too many distinct lines to be indexed. Never <code>null</code>.
+   *
+   * @throws IOException When the blob cannot be read.
+   */
+  private static Optional<SimilarityIndex> getIndex(ObjectReader reader, ObjectId id) throws IOException {
+    Optional<SimilarityIndex> index;
+    synchronized (INDEXES) {
+      index = INDEXES.get(id);
+    }
+    if (index == null) {
+      try {
+        index = Optional.of(SimilarityIndex.create(reader.open(id, Constants.OBJ_BLOB)));
+      } catch (TableFullException e) {
+        index = Optional.empty();
+      }
+      synchronized (INDEXES) {
+        INDEXES.put(id.copy(), index);
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Finds the new location of a removed blob among files that are not in the object database, 
+   * for example the new files from the working copy. Only the files with a compatible size are read.
+   *
+   * @param reader     Reads the removed blob.
+   * @param oldPath    The path of the removed blob.
+   * @param oldId      The removed blob.
+   * @param candidates The candidate files, mapped by their path.
+   *
+   * @return The path of the most similar file, or an empty optional if none is similar enough.
+   *
+   * @throws IOException When the removed blob cannot be read.
+   */
+  public static Optional<String> findRenameTarget(
+      ObjectReader reader,
+      String oldPath,
+      ObjectId oldId,
+      Map<String, File> candidates) throws IOException {
+    final long oldSize = reader.getObjectSize(oldId, Constants.OBJ_BLOB);
+    final ObjectInserter.Formatter formatter = new ObjectInserter.Formatter();
+    String bestPath = null;
+    int bestScore = RENAME_SCORE - 1;
+    for (Map.Entry<String, File> candidate : candidates.entrySet()) {
+      final long newSize = candidate.getValue().length();
+      final long max = Math.max(oldSize, newSize);
+      final long min = Math.min(oldSize, newSize);
+      if (max > 0 && max <= BIG_FILE_THRESHOLD && min * 100 / max >= RENAME_SCORE) {
+        final byte[] content = Files.readAllBytes(candidate.getValue().toPath());
+        int contentScore = 0;
+        if (oldId.equals(formatter.idFor(Constants.OBJ_BLOB, content))) {
+          contentScore = MAX_CONTENT_SCORE;
+        } else {
+          final Optional<SimilarityIndex> oldIndex = getIndex(reader, oldId);
+          if (oldIndex.isPresent()) {
+            try {
+              contentScore = oldIndex.get().score(
+                  SimilarityIndex.create(new ObjectLoader.SmallObject(Constants.OBJ_BLOB, content)),
+                  MAX_CONTENT_SCORE);
+            } catch (TableFullException e) {
+              LOGGER.debug(e.getMessage(), e);
+            }
+          }
+        }
+
+        final int score = (contentScore * 99 + nameScore(oldPath, candidate.getKey()) * 100) / MAX_CONTENT_SCORE;
+        if (score > bestScore) {
+          bestPath = candidate.getKey();
+          bestScore = score;
+        }
+      }
+    }
+    return Optional.ofNullable(bestPath);
+  }
+
+  /**
+   * Forgets the results of the detections.
+   */
+  @TestOnly
+  static void clearResults() {
+    synchronized (RESULTS) {
+      RESULTS.clear();
+      cachedChanges = 0;
+    }
+  }
+
+  /**
+   * Computes the similarity of two paths, like JGit does when detecting renames.
+   *
+   * @param a The first path.
+   * @param b The second path.
+   *
+   * @return The score, between 0 and 100.
+   */
+  static int nameScore(String a, String b) {
+    final int aDirLen = a.lastIndexOf('/') + 1;
+    final int bDirLen = b.lastIndexOf('/') + 1;
+    final int dirMin = Math.min(aDirLen, bDirLen);
+    final int dirMax = Math.max(aDirLen, bDirLen);
+
+    final int dirScoreLtr;
+    final int dirScoreRtl;
+    if (dirMax == 0) {
+      dirScoreLtr = 100;
+      dirScoreRtl = 100;
+    } else {
+      int dirSim = 0;
+      while (dirSim < dirMin && a.charAt(dirSim) == b.charAt(dirSim)) {
+        dirSim++;
+      }
+      dirScoreLtr = dirSim * 100 / dirMax;
+
+      if (dirScoreLtr == 100) {
+        dirScoreRtl = 100;
+      } else {
+        dirSim = 0;
+        while (dirSim < dirMin && a.charAt(aDirLen - 1 - dirSim) == b.charAt(bDirLen - 1 - dirSim)) {
+          dirSim++;
+        }
+        dirScoreRtl = dirSim * 100 / dirMax;
+      }
+    }
+
+    final int fileMin = Math.min(a.length() - aDirLen, b.length() - bDirLen);
+    final int fileMax = Math.max(a.length() - aDirLen, b.length() - bDirLen);
+    int fileSim = 0;
+    while (fileSim < fileMin && a.charAt(a.length() - 1 - fileSim) == b.charAt(b.length() - 1 - fileSim)) {
+      fileSim++;
+    }
+    final int fileScore = fileMax == 0 ? 100 : fileSim * 100 / fileMax;
+
+    return ((dirScoreLtr + dirScoreRtl) * 25 + fileScore * 50) / 100;
+  }
+
+  /**
+   * The changes given to a detection, compared by their paths, modes and blobs, and the rename limit.
+   */
+  private static final class Changes {
+    /**
+     * For each change: the type, the paths, the modes and the blobs.
+     */
+    private final Object[] values;
+    /**
+     * The number of changes.
+     */
+    private final int size;
+    /**
+     * The hash code.
+     */
+    private final int hash;
+
+    /**
+     * Constructor.
+     *
+     * @param entries     The changes.
+     * @param renameLimit The rename limit.
+     */
+    Changes(Collection<DiffEntry> entries, int renameLimit) {
+      size = entries.size();
+      values = new Object[size * 7 + 1];
+      int i = 0;
+      for (DiffEntry entry : entries) {
+        values[i++] = entry.getChangeType();
+        values[i++] = entry.getOldPath();
+        values[i++] = entry.getNewPath();
+        values[i++] = entry.getOldMode().getBits();
+        values[i++] = entry.getNewMode().getBits();
+        values[i++] = entry.getOldId();
+        values[i++] = entry.getNewId();
+      }
+      values[i] = renameLimit;
+      hash = Arrays.hashCode(values);
+    }
+
+    /**
+     * @return The number of changes.
+     */
+    int size() {
+      return size;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Changes && hash == ((Changes) obj).hash && Arrays.equals(values, ((Changes) obj).values);
+    }
+  }
+}
@@ -0,0 +1,252 @@
+package com.oxygenxml.git.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffEntry.ChangeType;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+import com.oxygenxml.git.service.entities.FileStatusUtil;
+
+/**
+ * Index with the renames performed by the commits of the current repository, relative to their first parent.
+ * <br>
+ * The renames of a commit are detected the first time the commit is on the first-parent chain between two looked up
+ * revisions, so only the commits that the presented file history actually needs are diffed. After that, the path of
+ * a file in one revision is found from its path in another revision with lookups, without diffing the history again.
+ * The index keeps a bounded number of commits and it is dropped when another repository is used.
+ */
+public class RenameIndex {
+
+  /**
+   * The maximum number of indexed commits.
+   */
+  private static final int MAX_INDEXED_COMMITS = 10_000;
+
+  /**
+   * The index of the current repository.
+   */
+  private static RenameIndex instance;
+
+  /**
+   * The repository.
+   */
+  private final Repository repository;
+
+  /**
+   * The renames of each indexed commit, in access order. The commits without renames are mapped to an empty list.
+   */
+  private final Map<ObjectId, List<Rename>> renamesByCommit = new LinkedHashMap<ObjectId, List<Rename>>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<ObjectId, List<Rename>> eldest) {
+      return size() > MAX_INDEXED_COMMITS;
+    }
+  };
+
+  /**
+   * Constructor.
+   *
+   * @param repository The repository.
+   */
+  private RenameIndex(Repository repository) {
+    this.repository = repository;
+  }
+
+  /**
+   * Gets the index of a repository. The index of the previously used repository is dropped.
+   *
+   * @param repository The repository.
+   *
+   * @return The index. Never <code>null</code>.
+   */
+  public static synchronized RenameIndex getInstance(Repository repository) {
+    // The repository might have been reopened, or another repository is used.
+    if (instance == null || instance.repository != repository) {
+      instance = new RenameIndex(repository);
+    }
+    return instance;
+  }
+
+  /**
+   * Gets the renames performed by a commit, detecting them if the commit is not indexed.
+   *
+   * @param revWalk The walk that parsed the commit.
+   * @param commit  The commit.
+   *
+   * @return The renames. Never <code>null</code>.
+   *
+   * @throws IOException When the commits or the trees cannot be read.
+   */
+  private List<Rename> getRenames(RevWalk revWalk, RevCommit commit) throws IOException {
+    List<Rename> renames;
+    synchronized (renamesByCommit) {
+      renames = renamesByCommit.get(commit);
+    }
+    if (renames == null) {
+      RevCommit parent = null;
+      if (commit.getParentCount() > 0) {
+        parent = commit.getParent(0);
+        revWalk.parseHeaders(parent);
+      }
+      renames = computeRenames(repository, revWalk.getObjectReader(), parent, commit);
+      synchronized (renamesByCommit) {
+        renamesByCommit.put(commit.copy(), renames);
+      }
+    }
+    return renames;
+  }
+
+  /**
+   * Detects the renames performed by a commit.
+   *
+   * @param repo   The repository.
+   * @param reader The reader to use.
+   * @param parent The first parent of the commit. <code>null</code> for a root commit.
+   * @param commit The commit.
+   *
+   * @return The renames. Never <code>null</code>.
+   *
+   * @throws IOException When the trees cannot be read.
+   */
+  private static List<Rename> computeRenames(
+      Repository repo,
+      ObjectReader reader,
+      RevCommit parent,
+      RevCommit commit) throws IOException {
+    List<Rename> renames = Collections.emptyList();
+    try (TreeWalk treeWalk = new TreeWalk(repo, reader)) {
+      treeWalk.setRecursive(true);
+      treeWalk.setFilter(TreeFilter.ANY_DIFF);
+      if (parent != null) {
+        treeWalk.addTree(parent.getTree());
+      } else {
+        treeWalk.addTree(new EmptyTreeIterator());
+      }
+      treeWalk.addTree(commit.getTree());
+
+      final List<DiffEntry> diffs = DiffEntry.scan(treeWalk);
+      // A rename needs both a removed and an added file. Avoid the rename detection otherwise.
+      boolean hasAdd = false;
+      boolean hasDelete = false;
+      for (DiffEntry diff : diffs) {
+        hasAdd |= diff.getChangeType() == ChangeType.ADD;
+        hasDelete |= diff.getChangeType() == ChangeType.DELETE;
+      }
+
+      if (hasAdd && hasDelete) {
+        for (DiffEntry diff : RenameDetection.compute(repo, reader, diffs)) {
+          if (FileStatusUtil.isRename(diff.getChangeType())) {
+            if (renames.isEmpty()) {
+              renames = new ArrayList<>(1);
+            }
+            renames.add(new Rename(diff.getOldPath(), diff.getNewPath(), diff.getChangeType() == ChangeType.COPY));
+          }
+        }
+      }
+    }
+    return renames;
+  }
+
+  /**
+   * Finds the path of a file in a revision, knowing its path in another revision. Both revisions must be on the same
+   * first-parent chain. The commits between them that are not indexed yet are indexed now.
+   * <br>
+   * Looking forward, only the renames are followed: the copied file is still at its old path. Looking backward,
+   * the copies are followed as well, like the file history does.
+   *
+   * @param since   The older revision.
+   * @param until   The newer revision.
+   * @param path    The path in the older revision if <code>forward</code> is <code>true</code>,
+   *                the path in the newer revision otherwise.
+   * @param forward <code>true</code> to find the path in the newer revision,
+   *                <code>false</code> to find the path in the older revision.
+   *
+   * @return The path, or an empty optional if it cannot be determined from the index.
+   *
+   * @throws IOException When the commits cannot be read.
+   */
+  public Optional<String> findPath(ObjectId since, ObjectId until, String path, boolean forward) throws IOException {
+    final List<List<Rename>> chainRenames = new ArrayList<>();
+    try (RevWalk revWalk = new RevWalk(repository)) {
+      revWalk.setRetainBody(false);
+      final RevCommit sinceCommit = revWalk.parseCommit(since);
+      RevCommit commit = revWalk.parseCommit(until);
+      while (!commit.equals(sinceCommit)) {
+        if (commit.getParentCount() == 0
+            // Not an ancestor on the first-parent chain.
+            || commit.getCommitTime() < sinceCommit.getCommitTime()) {
+          return Optional.empty();
+        }
+        chainRenames.add(getRenames(revWalk, commit));
+        commit = commit.getParent(0);
+        revWalk.parseHeaders(commit);
+      }
+    }
+
+    String toReturn = path;
+    if (forward) {
+      for (int i = chainRenames.size() - 1; i >= 0; i--) {
+        for (Rename rename : chainRenames.get(i)) {
+          if (!rename.copy && rename.oldPath.equals(toReturn)) {
+            toReturn = rename.newPath;
+            break;
+          }
+        }
+      }
+    } else {
+      for (List<Rename> renames : chainRenames) {
+        for (Rename rename : renames) {
+          if (rename.newPath.equals(toReturn)) {
+            toReturn = rename.oldPath;
+            break;
+          }
+        }
+      }
+    }
+    return Optional.of(toReturn);
+  }
+
+  /**
+   * A file rename or copy.
+   */
+  private static class Rename {
+    /**
+     * The path in the parent commit.
+     */
+    private final String oldPath;
+    /**
+     * The path in the commit.
+     */
+    private final String newPath;
+    /**
+     * <code>true</code> if the file was copied, so it is still at the old path as well.
+     */
+    private final boolean copy;
+
+    /**
+     * Constructor.
+     *
+     * @param oldPath The path in the parent commit.
+     * @param newPath The path in the commit.
+     * @param copy    <code>true</code> if the file was copied.
+     */
+    Rename(String oldPath, String newPath, boolean copy) {
+      this.oldPath = oldPath;
+      this.newPath = newPath;
+      this.copy = copy;
+    }
+  }
+}
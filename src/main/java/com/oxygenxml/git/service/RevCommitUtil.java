@@ -4,33 +4,40 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.eclipse.jgit.annotations.NonNull;
 import org.eclipse.jgit.annotations.Nullable;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.Status;
 import org.eclipse.jgit.api.errors.CanceledException;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.diff.DiffConfig;
 import org.eclipse.jgit.diff.DiffEntry;
-import org.eclipse.jgit.diff.DiffFormatter;
-import org.eclipse.jgit.diff.RenameDetector;
+import org.eclipse.jgit.diff.DiffEntry.ChangeType;
+import org.eclipse.jgit.dircache.DirCacheEntry;
 import org.eclipse.jgit.errors.CorruptObjectException;
 import org.eclipse.jgit.errors.IncorrectObjectTypeException;
 import org.eclipse.jgit.errors.MissingObjectException;
 import org.eclipse.jgit.errors.RevisionSyntaxException;
 import org.eclipse.jgit.lib.BranchConfig;
 import org.eclipse.jgit.lib.Constants;
-import org.eclipse.jgit.lib.NullProgressMonitor;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.ReflogEntry;
+import org.eclipse.jgit.lib.ReflogReader;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revplot.PlotCommit;
 import org.eclipse.jgit.revplot.PlotCommitList;
@@ -39,15 +46,13 @@ import org.eclipse.jgit.revwalk.FollowFilter;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevTree;
 import org.eclipse.jgit.revwalk.RevWalk;
-import org.eclipse.jgit.revwalk.RevWalkUtils;
-import org.eclipse.jgit.revwalk.filter.RevFilter;
 import org.eclipse.jgit.treewalk.CanonicalTreeParser;
 import org.eclipse.jgit.treewalk.EmptyTreeIterator;
-import org.eclipse.jgit.treewalk.FileTreeIterator;
 import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
 import org.eclipse.jgit.treewalk.filter.PathFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
 import org.eclipse.jgit.treewalk.filter.TreeFilter;
-import org.eclipse.jgit.util.io.NullOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,6 +63,7 @@ import com.oxygenxml.git.service.entities.GitChangeType;
 import com.oxygenxml.git.service.exceptions.NoRepositorySelected;
 import com.oxygenxml.git.view.history.CommitCharacteristics;
 import com.oxygenxml.git.view.history.CommitsAheadAndBehind;
+import com.oxygenxml.git.view.history.HistoryStrategy;
 import com.oxygenxml.git.view.history.RenameTracker;
 import com.oxygenxml.git.view.history.graph.GraphColorUtil;
 import com.oxygenxml.git.view.history.graph.VisualCommitsList;
@@ -81,6 +87,36 @@ public class RevCommitUtil {
    * Index of the parent commit which contains untracked changes.
    */
   public static final int PARENT_COMMIT_UNTRACKED = 2;
+  /**
+   * Includes the entries of the last tree of the walk that differ, in content or mode, from the entries of all 
+   * the other trees.
+   */
+  private static final TreeFilter CHANGED_FROM_EVERY_PARENT = new TreeFilter() {
+    @Override
+    public boolean include(TreeWalk walker) {
+      final int commitTree = walker.getTreeCount() - 1;
+      boolean changed = true;
+      for (int i = 0; changed && i < commitTree; i++) {
+        changed = walker.getRawMode(i) != walker.getRawMode(commitTree) || !walker.idEqual(i, commitTree);
+      }
+      return changed;
+    }
+
+    @Override
+    public boolean shouldBeRecursive() {
+      return false;
+    }
+
+    @Override
+    public TreeFilter clone() {
+      return this;
+    }
+
+    @Override
+    public String toString() {
+      return "CHANGED_FROM_EVERY_PARENT";
+    }
+  };
   
 
 
@@ -92,6 +128,7 @@ public class RevCommitUtil {
 
   /**
    * Get changed files as compared with the parent version.
+   * The files of a commit are computed once and then kept in the {@link ChangedFilesCache}.
    *
    * @param commitID The commit ID.
    *
@@ -107,24 +144,31 @@ public class RevCommitUtil {
       if (!GitAccess.UNCOMMITED_CHANGES.getCommitId().equals(commitID)) {
         ObjectId head = repository.resolve(commitID);
         
-        try (RevWalk rw = new RevWalk(repository)) {
-          RevCommit commit = rw.parseCommit(head);
-          RevCommit oldCommit = commit.getParentCount() > 0 ? rw.parseCommit(commit.getParent(0)) : null;
-          RevCommit[] parents = commit.getParents();
+        final ChangedFilesCache cache = ChangedFilesCache.getInstance();
+        List<FileStatus> cachedFiles = head != null ? cache.get(repository, head) : null;
+        if (cachedFiles != null) {
+          changedFiles = cachedFiles;
+        } else {
+          try (RevWalk rw = new RevWalk(repository)) {
+            RevCommit commit = rw.parseCommit(head);
+            RevCommit oldCommit = commit.getParentCount() > 0 ? rw.parseCommit(commit.getParent(0)) : null;
+            RevCommit[] parents = commit.getParents();
 
-          for (RevCommit parent : parents) {
-            rw.parseBody(parent);
-          }
+            for (RevCommit parent : parents) {
+              rw.parseBody(parent);
+            }
 
-          TreeWalk treewalk = new TreeWalk(rw.getObjectReader());
-          treewalk.setRecursive(true);
-          treewalk.setFilter(TreeFilter.ANY_DIFF);
+            TreeWalk treewalk = new TreeWalk(rw.getObjectReader());
+            treewalk.setRecursive(true);
+            treewalk.setFilter(TreeFilter.ANY_DIFF);
 
-          changedFiles = computeFileStatuses(repository, treewalk, commit, oldCommit, TreeFilter.ALL);
+            changedFiles = computeFileStatuses(repository, treewalk, commit, oldCommit, TreeFilter.ALL);
 
-          if(parents.length > 2) {
-          	changedFiles.addAll(getUntrackedFiles(repository, rw, commit));
-          }          
+            if(parents.length > 2) {
+              changedFiles.addAll(getUntrackedFiles(repository, rw, commit));
+            }          
+          }
+          cache.put(repository, head, changedFiles);
         }
       } else {
         changedFiles = GitAccess.getInstance().getUnstagedFiles();
@@ -233,9 +277,7 @@ public class RevCommitUtil {
             .call();
 
         // Identify potential renames.
-        RenameDetector rd = new RenameDetector(git.getRepository());
-        rd.addAll(diffs);
-        collect = rd.compute();
+        collect = RenameDetection.compute(repository, reader, diffs);
       }
     }
 
@@ -243,27 +285,20 @@ public class RevCommitUtil {
   }
 
   /**
-   * Iterates over the entire tree of files inside a commit. <b>Note:</b> Not just hte changes, the entire tree.
+   * Checks if a file exists in a commit. Only the trees on the path of the file are read.
    * 
    * @param repository Git repository.
    * @param commit Commit object.
+   * @param path The path of the file.
    *  
-   * @return All the files present in the repository at the time of that commit.
+   * @return <code>true</code> if the commit contains a file (not a folder) with the given path.
    * 
    * @throws IOException If it fails.
    */
-  private static List<FileStatus> getFiles(Repository repository, RevCommit commit) throws IOException {
-    List<FileStatus> collect = new LinkedList<>();
-
-    try (DiffFormatter diffFmt = new DiffFormatter(NullOutputStream.INSTANCE)) {
-      diffFmt.setRepository(repository);
-
-      for(DiffEntry diff: diffFmt.scan(null, commit.getTree())) {
-        collect.add(new FileStatusOverDiffEntry(diff, commit.getId().name(), null));
-      }
+  private static boolean containsFile(Repository repository, RevCommit commit, String path) throws IOException {
+    try (TreeWalk treeWalk = TreeWalk.forPath(repository, path, commit.getTree())) {
+      return treeWalk != null && !treeWalk.isSubtree();
     }
-
-    return collect;
   }
 
   /**
@@ -425,28 +460,17 @@ public class RevCommitUtil {
 
     // a RevWalk allows to walk over commits based on some filtering that is defined
     // EXM-44307 Show current branch commits only.
-    String fullBranch = repository.getFullBranch();
-    Ref branchHead = repository.exactRef(fullBranch);
-    if (branchHead != null) {
+    Map<String, ObjectId> tips = getCurrentBranchTips(repository, includeRemote);
+    if (!tips.isEmpty()) {
       try (PlotWalk plotWalk = new PlotWalk(repository)) {
-    	  RevCommit root = plotWalk.parseCommit(branchHead.getObjectId());
-		  plotWalk.markStart(root);
-		  if(filePath != null && renameTracker != null) {
-			  renameTracker.reset(filePath);
-			  plotWalk.setRevFilter(renameTracker.getFilter());
-		  }
-		
-		if(includeRemote) {
-			 // If we have a remote, put it as well.
-	        String fullRemoteBranchName = getUpstreamBranchName(repository, repository.getBranch());
-	        if (fullRemoteBranchName != null) {
-	          Ref fullRemoteBranchHead = repository.exactRef(fullRemoteBranchName);
-	          if (fullRemoteBranchHead != null) {
-	            plotWalk.markStart(plotWalk.parseCommit(fullRemoteBranchHead.getObjectId()));
-	          }
-	        }
-		}  
-		
+        for (ObjectId tip : tips.values()) {
+          plotWalk.markStart(plotWalk.parseCommit(tip));
+        }
+        if(filePath != null && renameTracker != null) {
+          renameTracker.reset(filePath);
+          plotWalk.setRevFilter(renameTracker.getFilter());
+        }
+
         collectRevisions(filePath, revisions, repository, plotWalk, renameTracker);
       }
 
@@ -477,14 +501,11 @@ public class RevCommitUtil {
       RenameTracker renameTracker,
       boolean includeRemote) throws IOException {
 
-	  List<Ref> allRefs = GitAccess.getInstance().getLocalBranchList();
-	  if(includeRemote) {
-		  allRefs.addAll(GitAccess.getInstance().getRemoteBrachListForCurrentRepo());
-	  }
+	  Map<String, ObjectId> tips = getAllBranchTips(repository, includeRemote);
 	  
 	  try (PlotWalk plotWalk = new PlotWalk(repository)) {
-		  for (Ref ref : allRefs) {
-			  plotWalk.markStart(plotWalk.parseCommit(ref.getObjectId()));
+		  for (ObjectId tip : tips.values()) {
+			  plotWalk.markStart(plotWalk.parseCommit(tip));
 			}
 		  if(filePath != null && renameTracker != null) {
 			  renameTracker.reset(filePath);
@@ -495,6 +516,210 @@ public class RevCommitUtil {
   }
   
   
+  /**
+   * Gets the branch tips from which the history is collected for the given strategy.
+   * 
+   * @param repository The current repository.
+   * @param strategy   The strategy used to present the history.
+   * 
+   * @return The commit ID of each tip, mapped by the full name of its ref. Never <code>null</code>.
+   * 
+   * @throws IOException Unable to read the refs.
+   */
+  public static Map<String, ObjectId> getHistoryTips(Repository repository, HistoryStrategy strategy) throws IOException {
+    Map<String, ObjectId> tips;
+    switch (strategy) {
+      case ALL_BRANCHES:
+        tips = getAllBranchTips(repository, true);
+        break;
+      case ALL_LOCAL_BRANCHES:
+        tips = getAllBranchTips(repository, false);
+        break;
+      case CURRENT_BRANCH:
+        tips = getCurrentBranchTips(repository, true);
+        break;
+      case CURRENT_LOCAL_BRANCH:
+        tips = getCurrentBranchTips(repository, false);
+        break;
+      default:
+        tips = Collections.emptyMap();
+        break;
+    }
+    return tips;
+  }
+  
+  /**
+   * Gets the tip of the current branch and, optionally, the tip of its upstream branch.
+   * 
+   * @param repository    The current repository.
+   * @param includeRemote <code>true</code> to also include the upstream branch.
+   * 
+   * @return The commit ID of each tip, mapped by the full name of its ref. Never <code>null</code>.
+   * 
+   * @throws IOException Unable to read the refs.
+   */
+  private static Map<String, ObjectId> getCurrentBranchTips(Repository repository, boolean includeRemote) throws IOException {
+    Map<String, ObjectId> tips = new LinkedHashMap<>();
+    String fullBranch = repository.getFullBranch();
+    Ref branchHead = repository.exactRef(fullBranch);
+    if (branchHead != null) {
+      tips.put(branchHead.getName(), branchHead.getObjectId());
+      if (includeRemote) {
+        // If we have a remote, put it as well.
+        String fullRemoteBranchName = getUpstreamBranchName(repository, repository.getBranch());
+        if (fullRemoteBranchName != null) {
+          Ref fullRemoteBranchHead = repository.exactRef(fullRemoteBranchName);
+          if (fullRemoteBranchHead != null) {
+            tips.put(fullRemoteBranchHead.getName(), fullRemoteBranchHead.getObjectId());
+          }
+        }
+      }
+    }
+    return tips;
+  }
+  
+  /**
+   * Gets the tips of all the local branches and, optionally, of all the remote branches. 
+   * The branches are selected according to the {@link HistoryBranchesFilter} from the options.
+   * 
+   * @param repository    The current repository.
+   * @param includeRemote <code>true</code> to also include the remote branches.
+   * 
+   * @return The commit ID of each tip, mapped by the full name of its ref. Never <code>null</code>.
+   * 
+   * @throws IOException Unable to read the refs.
+   */
+  private static Map<String, ObjectId> getAllBranchTips(Repository repository, boolean includeRemote) throws IOException {
+    List<Ref> allRefs = new ArrayList<>(GitAccess.getInstance().getLocalBranchList());
+    if(includeRemote) {
+      allRefs.addAll(GitAccess.getInstance().getRemoteBrachListForCurrentRepo());
+    }
+    Map<String, ObjectId> tips;
+    HistoryBranchesFilter branchesFilter = HistoryBranchesFilter.fromOptions();
+    if (branchesFilter.keepsAll()) {
+      tips = new LinkedHashMap<>();
+      for (Ref ref : allRefs) {
+        tips.put(ref.getName(), ref.getObjectId());
+      }
+    } else {
+      // The current branch and its upstream are always presented.
+      tips = branchesFilter.filter(repository, allRefs, getCurrentBranchTips(repository, includeRemote).keySet());
+    }
+    return tips;
+  }
+  
+  /**
+   * Checks if the history presented from some old tips can be brought up to date just by adding the new commits 
+   * on top of it. This is the case when no ref was removed and all the refs that moved were fast-forwarded.
+   * 
+   * @param repository The current repository.
+   * @param oldTips    The tips from which the presented history was collected.
+   * @param newTips    The current tips.
+   * 
+   * @return <code>true</code> if all the previously collected commits are still reachable from the new tips.
+   * 
+   * @throws IOException Unable to walk the commits.
+   */
+  public static boolean isFastForward(
+      Repository repository,
+      Map<String, ObjectId> oldTips,
+      Map<String, ObjectId> newTips) throws IOException {
+    boolean isFastForward = true;
+    try (RevWalk revWalk = new RevWalk(repository)) {
+      for (Map.Entry<String, ObjectId> oldTip : oldTips.entrySet()) {
+        ObjectId newTip = newTips.get(oldTip.getKey());
+        if (newTip == null) {
+          // The ref was removed. Its commits might not be part of the history anymore.
+          isFastForward = false;
+        } else if (!newTip.equals(oldTip.getValue())) {
+          isFastForward = revWalk.isMergedInto(
+              revWalk.parseCommit(oldTip.getValue()), 
+              revWalk.parseCommit(newTip));
+        }
+        
+        if (!isFastForward) {
+          break;
+        }
+      }
+    }
+    return isFastForward;
+  }
+  
+  /**
+   * Collects only the revisions reachable from the new tips that are not reachable from the old tips, to be added
+   * on top of the presented history.
+   * <br>
+   * The graph lanes of these revisions are assigned in a separate walk, so they can only be connected to the presented
+   * graph when they continue, in the first lane, the commit presented on top. This is the case when the new revisions
+   * form a chain of non-merge commits whose oldest parent is the presented top commit, for example after a commit or 
+   * a fast-forward pull. The walk includes the presented top commit as well, so that it gets a child in the graph 
+   * and must replace the presented one.
+   * 
+   * @param repository   The current repository.
+   * @param newTips      The current tips.
+   * @param oldTips      The tips from which the already presented revisions were collected.
+   * @param presentedTop The first commit of the presented history.
+   * 
+   * @return The new revisions, from newest to oldest, followed by the presented top commit, or an empty optional
+   * if the new revisions cannot be connected to the presented graph and the history must be collected again.
+   * 
+   * @throws IOException Unable to walk the commits.
+   */
+  public static Optional<List<CommitCharacteristics>> collectNewRevisions(
+      Repository repository,
+      Collection<ObjectId> newTips,
+      Collection<ObjectId> oldTips,
+      CommitCharacteristics presentedTop) throws IOException {
+    final PlotCommit<VisualLane> presentedTopPlot = presentedTop.getPlotCommit();
+    if (presentedTopPlot == null 
+        || presentedTopPlot.getParentCount() > 1
+        || presentedTopPlot.getLane() == null
+        || presentedTopPlot.getLane().getPosition() != 0) {
+      return Optional.empty();
+    }
+    
+    List<CommitCharacteristics> revisions = new ArrayList<>();
+    try (PlotWalk plotWalk = new PlotWalk(repository)) {
+      for (ObjectId tip : newTips) {
+        plotWalk.markStart(plotWalk.parseCommit(tip));
+      }
+      for (ObjectId tip : oldTips) {
+        if (!presentedTopPlot.equals(tip)) {
+          plotWalk.markUninteresting(plotWalk.parseCommit(tip));
+        }
+      }
+      // Walk the presented top commit too, but not its ancestors, to link it with the new revisions.
+      final RevCommit top = plotWalk.parseCommit(presentedTopPlot);
+      for (RevCommit parent : top.getParents()) {
+        plotWalk.markUninteresting(parent);
+      }
+      collectRevisions(null, revisions, repository, plotWalk, null);
+    }
+    
+    return isSingleLaneChain(revisions, presentedTopPlot) ? Optional.of(revisions) : Optional.empty();
+  }
+  
+  /**
+   * Checks if some revisions form a chain of non-merge commits in the first lane, ending with a given commit.
+   * 
+   * @param revisions The revisions, from newest to oldest.
+   * @param last      The commit expected to end the chain.
+   * 
+   * @return <code>true</code> if the revisions form a single lane chain ending with the given commit.
+   */
+  private static boolean isSingleLaneChain(List<CommitCharacteristics> revisions, ObjectId last) {
+    boolean isChain = !revisions.isEmpty() && last.equals(revisions.get(revisions.size() - 1).getPlotCommit());
+    for (int i = 0; isChain && i < revisions.size(); i++) {
+      final PlotCommit<VisualLane> commit = revisions.get(i).getPlotCommit();
+      isChain = commit.getLane() != null && commit.getLane().getPosition() == 0;
+      if (isChain && i < revisions.size() - 1) {
+        isChain = commit.getParentCount() == 1 && commit.getParent(0).equals(revisions.get(i + 1).getPlotCommit());
+      }
+    }
+    return isChain;
+  }
+  
+  
   /**
    * Gets the full remote-tracking branch name or null is the local branch is not tracking a remote branch.
    * 
@@ -590,6 +815,11 @@ public class RevCommitUtil {
       RevCommit since, 
       RevCommit until,
       String filePath) throws GitAPIException, IOException {
+    Optional<String> indexedPath = RenameIndex.getInstance(git.getRepository()).findPath(since, until, filePath, true);
+    if (indexedPath.isPresent()) {
+      return indexedPath.get();
+    }
+
     Iterable<RevCommit> revs = git.log().addRange(since, until).call();
 
     List<RevCommit> revisions = sort(revs, since, true);
@@ -616,6 +846,11 @@ public class RevCommitUtil {
       RevCommit since, 
       RevCommit until,
       String newFilePath) throws GitAPIException, IOException {
+    Optional<String> indexedPath = RenameIndex.getInstance(git.getRepository()).findPath(since, until, newFilePath, false);
+    if (indexedPath.isPresent()) {
+      return indexedPath.get();
+    }
+
     Iterable<RevCommit> revs = git.log().addRange(since, until).call();
 
     List<RevCommit> sorted = sort(revs, since, false);
@@ -696,15 +931,20 @@ public class RevCommitUtil {
       List<RevCommit> revisions,
       String path) throws IOException, GitAPIException {
     RevCommit lastRev = revisions.get(revisions.size() - 1);
-    List<FileStatus> targetRevFiles = getFiles(repository, lastRev);
-    Set<String> lastRevFiles = targetRevFiles.stream().map(FileStatus::getFileLocation).collect(Collectors.toSet());
+    // The path changes only when a rename is found, so the existence in the last revision is rarely checked again.
+    String checkedPath = null;
+    boolean existsInLastRev = false;
 
     RevCommit previous = null;
     for (RevCommit revCommit : revisions) {
       if (previous != null) {
+        if (!path.equals(checkedPath)) {
+          checkedPath = path;
+          existsInLastRev = containsFile(repository, lastRev, path);
+        }
 
         // Fast stop.
-        if (lastRevFiles.contains(path)) {
+        if (existsInLastRev) {
           // The current discovered path is the same as in the target revision.
           if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Same path as in target. Stop. {}", revCommit.getFullMessage());
@@ -714,11 +954,7 @@ public class RevCommitUtil {
 
         // Check if the current discovered path is also present in the new revision to consume.
         // This way we will avoid a time consuming diff with rename detection.
-        List<FileStatus> currentRevisionFiles = getFiles(repository, revCommit);
-        final String fpath = path;
-        boolean same = currentRevisionFiles.stream().anyMatch(t -> fpath.equals(t.getFileLocation()));
-
-        if (!same) {
+        if (!containsFile(repository, revCommit, path)) {
           path = doDiffWithRenameDetection(repository, path, previous, revCommit);
         }
       }
@@ -848,7 +1084,8 @@ public class RevCommitUtil {
   }
 
   /**
-   * Detects a rename between the head revision and the working copy.
+   * Detects a rename between the head revision and the working copy. Only the new files from the 
+   * working copy are compared with the HEAD version of the file.
    * 
    * @param git Git access.
    * @param head Head revision.
@@ -864,41 +1101,99 @@ public class RevCommitUtil {
     String toReturn = path;
     if(git != null) {
       Repository repository = git.getRepository();
-      try (ObjectReader reader = repository.newObjectReader()) {
-        // Head files.
-        CanonicalTreeParser headTreeIter = new CanonicalTreeParser();
-        headTreeIter.reset(reader, head.getTree().getId());
-
-        // Working copy files.
-        FileTreeIterator it = new FileTreeIterator(repository);
-
-        // Compute diff.
-        List<DiffEntry> diffs= git.diff()
-            .setNewTree(it)
-            .setOldTree(headTreeIter)
-            .call();
-
-        // Search for renames.
-        RenameDetector rd = new RenameDetector(repository);
-        rd.addAll(diffs);
-        List<DiffEntry> collect = rd.compute();
-
-        for (DiffEntry diffEntry : collect) {
-          if (FileStatusUtil.isRename(diffEntry.getChangeType()) && diffEntry.getOldPath().equals(path)) {
-            toReturn = diffEntry.getNewPath();
-            break;
+      try (TreeWalk headWalk = TreeWalk.forPath(repository, path, head.getTree());
+          ObjectReader reader = repository.newObjectReader()) {
+        if (headWalk != null && !headWalk.isSubtree()) {
+          ObjectId headId = headWalk.getObjectId(0);
+          Set<String> cachedNewFiles = getNewFilesInWorkingCopy(git, true);
+          toReturn = findWCRename(repository, reader, path, headId, cachedNewFiles);
+          if (toReturn.equals(path)) {
+            // The cached status might be older than the rename.
+            Set<String> newFiles = getNewFilesInWorkingCopy(git, false);
+            newFiles.removeAll(cachedNewFiles);
+            toReturn = findWCRename(repository, reader, path, headId, newFiles);
           }
         }
-
-        return toReturn;
       }
     }
     
    return toReturn;
   }
+  
+  /**
+   * Compares a file from the HEAD revision with some new files from the working copy.
+   * 
+   * @param repository The repository.
+   * @param reader     Reads the HEAD version of the file.
+   * @param path       The path from the HEAD revision that might have been renamed.
+   * @param headId     The HEAD version of the file.
+   * @param newFiles   The paths of the new files.
+   * 
+   * @return The path of the most similar new file or the old path.
+   * 
+   * @throws IOException When the HEAD version cannot be read.
+   */
+  private static String findWCRename(
+      Repository repository, 
+      ObjectReader reader, 
+      String path, 
+      ObjectId headId, 
+      Set<String> newFiles) throws IOException {
+    Map<String, File> candidates = new LinkedHashMap<>();
+    for (String newFile : newFiles) {
+      File file = new File(repository.getWorkTree(), newFile); // NOSONAR findsecbugs:PATH_TRAVERSAL_IN
+      if (file.isFile()) {
+        candidates.put(newFile, file);
+      }
+    }
+    
+    return candidates.isEmpty() ? path 
+        : RenameDetection.findRenameTarget(reader, path, headId, candidates).orElse(path);
+  }
+  
+  /**
+   * Gets the files added in the working copy, staged or not.
+   * 
+   * @param git      Git access.
+   * @param useCache <code>true</code> to use the cached status, if it belongs to the given repository.
+   * 
+   * @return The paths of the new files. Never <code>null</code>.
+   * 
+   * @throws GitAPIException When the status cannot be computed.
+   */
+  private static Set<String> getNewFilesInWorkingCopy(Git git, boolean useCache) throws GitAPIException {
+    Set<String> newFiles = new LinkedHashSet<>();
+    GitAccess gitAccess = GitAccess.getInstance();
+    boolean isCurrentRepository = false;
+    try {
+      isCurrentRepository = useCache 
+          && git.getRepository().getDirectory().equals(gitAccess.getRepository().getDirectory());
+    } catch (NoRepositorySelected e) {
+      LOGGER.debug(e.getMessage(), e);
+    }
+    
+    if (isCurrentRepository) {
+      GitStatus status = gitAccess.getStatus();
+      for (FileStatus file : status.getUnstagedFiles()) {
+        if (file.getChangeType() == GitChangeType.UNTRACKED) {
+          newFiles.add(file.getFileLocation());
+        }
+      }
+      for (FileStatus file : status.getStagedFiles()) {
+        if (file.getChangeType() == GitChangeType.ADD) {
+          newFiles.add(file.getFileLocation());
+        }
+      }
+    } else {
+      Status status = git.status().call();
+      newFiles.addAll(status.getUntracked());
+      newFiles.addAll(status.getAdded());
+    }
+    return newFiles;
+  }
 
   /**
-   * Get commits ahead and behind.
+   * Get commits ahead and behind. The result is shared until one of the branches moves.
    * 
    * @param repository Current repo.
    * @param branchName Current branch.
@@ -909,42 +1204,7 @@ public class RevCommitUtil {
    */
   public static CommitsAheadAndBehind getCommitsAheadAndBehind(Repository repository, String branchName)
       throws IOException {
-
-    String shortBranchName = Repository.shortenRefName(branchName);
-    String fullBranchName = Constants.R_HEADS + shortBranchName;
-    BranchConfig branchConfig = new BranchConfig(repository.getConfig(), shortBranchName);
-
-    String trackingBranch = branchConfig.getTrackingBranch();
-    if (trackingBranch == null) {
-      return null;
-    }
-
-    Ref tracking = repository.exactRef(trackingBranch);
-    if (tracking == null) {
-      return null;
-    }
-
-    Ref local = repository.exactRef(fullBranchName);
-    if (local == null) {
-      return null;
-    }
-
-    try (RevWalk walk = new RevWalk(repository)) {
-      RevCommit localCommit = walk.parseCommit(local.getObjectId());
-      RevCommit trackingCommit = walk.parseCommit(tracking.getObjectId());
-
-      walk.setRevFilter(RevFilter.MERGE_BASE);
-      walk.markStart(localCommit);
-      walk.markStart(trackingCommit);
-      RevCommit mergeBase = walk.next();
-
-      walk.reset();
-      walk.setRevFilter(RevFilter.ALL);
-      List<RevCommit> commitsAhead = RevWalkUtils.find(walk, localCommit, mergeBase);
-      List<RevCommit> commitsBehind = RevWalkUtils.find(walk, trackingCommit, mergeBase);
-
-      return new CommitsAheadAndBehind(commitsAhead, commitsBehind);
-    }
+    return AheadBehindCache.getInstance().get(repository, branchName);
   }
 
 
@@ -963,8 +1223,14 @@ public class RevCommitUtil {
   public static ObjectId getBaseCommit(Git git, String filePath) throws IOException, GitAPIException {
     ObjectId toReturn = null;
     if(git != null) {
-      List<DiffEntry> entries = git.diff().setPathFilter(PathFilter.create(filePath)).call();
-      if (!entries.isEmpty()) {
+      final ConflictStages conflictStages = ConflictStages.getInstance();
+      final Repository repository = git.getRepository();
+      List<DiffEntry> entries = conflictStages.isInConflict(repository, filePath) ? Collections.emptyList()
+          : git.diff().setPathFilter(PathFilter.create(filePath)).call();
+      ObjectId stage = conflictStages.getStage(repository, filePath, DirCacheEntry.STAGE_1);
+      if (stage != null) {
+        toReturn = stage;
+      } else if (!entries.isEmpty()) {
         toReturn = entries.get(0).getOldId().toObjectId();
       } else { 
         if (LOGGER.isDebugEnabled()) {
@@ -992,11 +1258,17 @@ public class RevCommitUtil {
   public static ObjectId getTheirCommit(Git git, String filePath) throws IOException, GitAPIException {
     ObjectId toReturn = null;
     if(git != null) {
-      List<DiffEntry> entries = git.diff().setPathFilter(PathFilter.create(filePath)).call();
+      final ConflictStages conflictStages = ConflictStages.getInstance();
+      final Repository repository = git.getRepository();
+      List<DiffEntry> entries = conflictStages.isInConflict(repository, filePath) ? Collections.emptyList()
+          : git.diff().setPathFilter(PathFilter.create(filePath)).call();
       int noOfDiffEntries = entries.size();
       boolean isTwoWayDiff = noOfDiffEntries < THREE_DIFF_ENTRIES;
       int indexOfTheirs = isTwoWayDiff ? 1 : 2;
-      if (indexOfTheirs < noOfDiffEntries) {
+      ObjectId stage = conflictStages.getStage(repository, filePath, DirCacheEntry.STAGE_3);
+      if (stage != null) {
+        toReturn = stage;
+      } else if (indexOfTheirs < noOfDiffEntries) {
         toReturn =  entries.get(indexOfTheirs).getOldId().toObjectId();
       } else {
         if (LOGGER.isDebugEnabled()) {
@@ -1026,11 +1298,17 @@ public class RevCommitUtil {
   public static ObjectId getMyCommit(Git git, String path) throws IOException, GitAPIException {
     ObjectId toReturn = null;
     if(git != null) {
-      List<DiffEntry> entries = git.diff().setPathFilter(PathFilter.create(path)).call();
+      final ConflictStages conflictStages = ConflictStages.getInstance();
+      final Repository repository = git.getRepository();
+      List<DiffEntry> entries = conflictStages.isInConflict(repository, path) ? Collections.emptyList()
+          : git.diff().setPathFilter(PathFilter.create(path)).call();
       int noOfDiffEntries = entries.size();
       boolean isTwoWayDiff = noOfDiffEntries < THREE_DIFF_ENTRIES;
       int indexOfMine = isTwoWayDiff ? 0 : 1;
-      if (indexOfMine < noOfDiffEntries) {
+      ObjectId stage = conflictStages.getStage(repository, path, DirCacheEntry.STAGE_2);
+      if (stage != null) {
+        toReturn = stage;
+      } else if (indexOfMine < noOfDiffEntries) {
         toReturn =  entries.get(indexOfMine).getOldId().toObjectId();
       } else {
         if (LOGGER.isDebugEnabled()) {
@@ -1056,22 +1334,48 @@ public class RevCommitUtil {
    * @throws IOException
    */
   public static ObjectId getLastLocalCommitForPath(Git git, String path) throws IOException {
-    ObjectId toReturn = null;
+    return getLastLocalCommitForPaths(git, Collections.singleton(path)).get(path);
+  }
 
-    if(git != null) {
+  /**
+   * Get last local commit for many resource paths at once. The last local commit is walked
+   * only once, no matter how many paths are requested, and the walk stops as soon as all the
+   * paths are resolved.
+   * 
+   * @param git   Git access.
+   * @param paths The paths.
+   * 
+   * @return the last local commit of each path, mapped by path. The paths that don't exist in
+   * the last local commit are missing from the map. Never <code>null</code>.
+   * 
+   * @throws IOException
+   */
+  public static Map<String, ObjectId> getLastLocalCommitForPaths(Git git, Collection<String> paths) throws IOException {
+    final Map<String, ObjectId> toReturn = new HashMap<>();
+
+    if(git != null && !paths.isEmpty()) {
       ObjectId lastLocalCommit = getLastLocalCommitInRepo(git);
-      RevWalk revWalk = new RevWalk(git.getRepository());
-      RevCommit revCommit = revWalk.parseCommit(lastLocalCommit);
-      RevTree tree = revCommit.getTree();
-      TreeWalk treeWalk = new TreeWalk(git.getRepository());
-      treeWalk.addTree(tree);
-      treeWalk.setRecursive(true);
-      treeWalk.setFilter(PathFilter.create(path));
-      if (treeWalk.next()) {
-        toReturn = treeWalk.getObjectId(0);
+      if (lastLocalCommit != null) {
+        final Set<String> toResolve = new HashSet<>(paths);
+        try (RevWalk revWalk = new RevWalk(git.getRepository());
+            TreeWalk treeWalk = new TreeWalk(git.getRepository())) {
+          RevTree tree = revWalk.parseCommit(lastLocalCommit).getTree();
+          treeWalk.addTree(tree);
+          treeWalk.setRecursive(true);
+          treeWalk.setFilter(PathFilterGroup.createFromStrings(toResolve));
+          while (toReturn.size() < toResolve.size() && treeWalk.next()) {
+            // A path can also be a folder. It gets the first file from it, as a path filter matches.
+            String current = treeWalk.getPathString();
+            while (current != null) {
+              if (toResolve.contains(current)) {
+                toReturn.putIfAbsent(current, treeWalk.getObjectId(0));
+              }
+              int separatorIndex = current.lastIndexOf('/');
+              current = separatorIndex != -1 ? current.substring(0, separatorIndex) : null;
+            }
+          }
+        }
       }
-      treeWalk.close();
-      revWalk.close();
     }
    
     return toReturn;
@@ -1115,6 +1419,12 @@ public class RevCommitUtil {
   
   /**
    * Computer files statues for specified tree walk and commit.
+   * <br>
+   * A merge commit only reports the files that differ from every parent, like the combined diff of Git. 
+   * They are found with one walk over the trees of the merge and of all its parents, which skips the subtrees 
+   * identical to the ones of a parent. These files are then compared with the first parent. 
+   * A stash commit is compared with its first parent, otherwise a change that is also in the index 
+   * would match the index parent and it would not be reported.
    *
    * @param repository         The current repository.
    * @param walk               Tree walk for current repository.
@@ -1138,8 +1448,18 @@ public class RevCommitUtil {
 
     final List<FileStatus> filesToReturn = new ArrayList<>();
 
+    boolean hasChanges = true;
+    if (parents.length > 1 && !isStash(repository, commit)) {
+      final Set<String> paths = getPathsChangedFromEveryParent(walk.getObjectReader(), commit, parents);
+      hasChanges = !paths.isEmpty();
+      if (hasChanges) {
+        walk.setFilter(AndTreeFilter.create(PathFilterGroup.createFromStrings(paths), walk.getFilter()));
+      }
+    }
+
     if (parents.length > 0) {
-      walk.reset(trees(commit, parents));
+      // The walk only enters the subtrees whose IDs differ between the two trees.
+      walk.reset(parents[0].getTree().getId(), commit.getTree().getId());
     } else {
       walk.reset();
       walk.addTree(new EmptyTreeIterator());
@@ -1148,12 +1468,10 @@ public class RevCommitUtil {
 
     final String commitName     = commit.getName();
     final String oldCommitName  = oldCommit !=null ? oldCommit.getName() : null;
-    if (walk.getTreeCount() <= 2) {
-      List<DiffEntry> entries = DiffEntry.scan(walk, false, markTreeFilters);
-      List<DiffEntry> xentries = new LinkedList<>(entries);
-      RenameDetector detector = new RenameDetector(repository);
-      detector.addAll(entries);
-      List<DiffEntry> renames = detector.compute(walk.getObjectReader(),NullProgressMonitor.INSTANCE);
+    List<DiffEntry> entries = hasChanges ? DiffEntry.scan(walk, false, markTreeFilters) : Collections.emptyList();
+    List<DiffEntry> xentries = new LinkedList<>(entries);
+    if (hasRenameCandidates(entries)) {
+      List<DiffEntry> renames = RenameDetection.compute(repository, walk.getObjectReader(), entries);
 
       for (DiffEntry fileDiff : renames) { 
         final FileStatus currentFileStatus = new FileStatusOverDiffEntry
@@ -1161,22 +1479,91 @@ public class RevCommitUtil {
         filesToReturn.add(currentFileStatus);
         cleanDiffEntries(fileDiff, xentries);
       }
+    }
 
-      addFiles(filesToReturn, xentries, commitName, oldCommitName);
-
-    } else { 
-      // This case is for merge commits, this file extraction method is a bit slower than before. 
-      // It should be seen in the future if a faster way can be found to generate affected files in merge commits.
-      try {
-        filesToReturn.addAll(getChanges(repository, commit, oldCommit));
-      } catch (IOException | GitAPIException e) {
-        LOGGER.error(e.getMessage(), e);
-      }
-    }    
+    addFiles(filesToReturn, xentries, commitName, oldCommitName);
 
     return filesToReturn;
   }
   
+  /**
+   * Walks the trees of a merge commit and of all its parents at once and collects the files that differ 
+   * from every parent. A subtree identical to the one of a parent is not entered.
+   * 
+   * @param reader  Reads the trees.
+   * @param commit  The merge commit.
+   * @param parents The parents of the commit, parsed.
+   * 
+   * @return The paths of the files, relative to the working copy. Never <code>null</code>.
+   * 
+   * @throws IOException When the trees cannot be read.
+   */
+  private static Set<String> getPathsChangedFromEveryParent(
+      ObjectReader reader, 
+      RevCommit commit, 
+      RevCommit[] parents) throws IOException {
+    final Set<String> paths = new HashSet<>();
+    try (TreeWalk treeWalk = new TreeWalk(reader)) {
+      treeWalk.setRecursive(true);
+      treeWalk.setFilter(CHANGED_FROM_EVERY_PARENT);
+      for (RevCommit parent : parents) {
+        treeWalk.addTree(parent.getTree());
+      }
+      treeWalk.addTree(commit.getTree());
+      while (treeWalk.next()) {
+        paths.add(treeWalk.getPathString());
+      }
+    }
+    return paths;
+  }
+  
+  /**
+   * Checks if a commit is a stash, that is if it is recorded by the reflog of the stash reference.
+   * 
+   * @param repository The repository.
+   * @param commit     The commit.
+   * 
+   * @return <code>true</code> if the commit is a stash.
+   * 
+   * @throws IOException When the reflog cannot be read.
+   */
+  private static boolean isStash(Repository repository, RevCommit commit) throws IOException {
+    boolean isStash = false;
+    final Ref stashRef = repository.exactRef(Constants.R_STASH);
+    if (stashRef != null) {
+      final ReflogReader reflogReader = repository.getRefDatabase().getReflogReader(stashRef);
+      if (reflogReader != null) {
+        for (ReflogEntry entry : reflogReader.getReverseEntries()) {
+          if (commit.equals(entry.getNewId())) {
+            isStash = true;
+            break;
+          }
+        }
+      }
+    }
+    return isStash;
+  }
+  
+  /**
+   * A file is detected as renamed only if it was removed and another one was added. 
+   * 
+   * @param entries The changes.
+   * 
+   * @return <code>true</code> if the changes contain both added and removed files.
+   */
+  private static boolean hasRenameCandidates(List<DiffEntry> entries) {
+    boolean hasAdd = false;
+    boolean hasDelete = false;
+    for (DiffEntry entry : entries) {
+      hasAdd |= entry.getChangeType() == ChangeType.ADD;
+      hasDelete |= entry.getChangeType() == ChangeType.DELETE;
+      if (hasAdd && hasDelete) {
+        break;
+      }
+    }
+    return hasAdd && hasDelete;
+  }
+  
   /**
    * Clean diff entries from xentries list raported to file diff. If the list has an element with the same old and new path, this element will be removed from list.
    * 
@@ -1209,45 +1596,6 @@ public class RevCommitUtil {
     }
   }
 
-  /**
-   * Gets all the files changed between two revisions.
-   * 
-   * @param repository Repository.
-   * @param newCommit The new commit.
-   * @param oldCommit The previous commit. Maybe <code>null<code>.
-   * 
-   * @return A list with changed files. Never <code>null</code>.
-   * @throws IOException
-   * @throws GitAPIException
-   */
-  private static List<FileStatus> getChanges(Repository repository, RevCommit newCommit, RevCommit oldCommit) throws IOException, GitAPIException {
-    List<DiffEntry> diffs = diff(repository, newCommit, oldCommit);
-
-    return diffs
-        .stream()
-        .map(t -> new FileStatusOverDiffEntry(t, newCommit.getId().name(), oldCommit != null ? oldCommit.getId().name() : null))
-        .collect(Collectors.toList());
-  }
-  
-  /**
-   * Compute and return the objects id of current commit trees.
-   *   
-   * @param commit   Current commit.
-   * @param parents  Parents for this commit.
-   * 
-   * @return The trees objects id.
-   */
-  private static ObjectId[] trees(final RevCommit commit, final RevCommit[] parents) {
-    final ObjectId[] toReturn = new ObjectId[parents.length + 1];
-
-    for (int i = 0; i < toReturn.length - 1; i++) {
-      toReturn[i] = parents[i].getTree().getId();
-    }
-    toReturn[toReturn.length - 1] = commit.getTree().getId();
-
-    return toReturn;
-  }
-  
   /**
    * Computer files statues for specified tree walk and commit.
    *
@@ -1999,5 +1999,45 @@ public class Tags {
    */
   public static final String MISSING_UNTRACKED_FILES = "Missing_Untracked_Files";
   
+  /**
+   * Check box that searches the filter text in the content changed by the commits.
+   */
+  public static final String SEARCH_IN_FILE_CONTENTS = "Search_In_File_Contents";
+  
+  /**
+   * Tooltip for the check box that searches the filter text in the content changed by the commits.
+   */
+  public static final String SEARCH_IN_FILE_CONTENTS_TOOLTIP = "Search_In_File_Contents_Tooltip";
+  
+  /**
+   * Title of the options section about the branches presented in the history of all branches.
+   */
+  public static final String HISTORY_OF_ALL_BRANCHES = "History_Of_All_Branches";
+  
+  /**
+   * Label of the option with the patterns of the branches presented in the history.
+   */
+  public static final String INCLUDED_BRANCHES = "Included_Branches";
+  
+  /**
+   * Label of the option with the patterns of the branches not presented in the history.
+   */
+  public static final String EXCLUDED_BRANCHES = "Excluded_Branches";
+  
+  /**
+   * Tooltip for the options with branch patterns.
+   */
+  public static final String BRANCHES_PATTERNS_TOOLTIP = "Branches_Patterns_Tooltip";
+  
+  /**
+   * Label of the option with the number of days in which a branch must have been updated to be presented in the history.
+   */
+  public static final String BRANCHES_UPDATED_IN_LAST_DAYS = "Branches_Updated_In_Last_Days";
+  
+  /**
+   * Label of the option with the maximum number of branches presented in the history.
+   */
+  public static final String MAX_PRESENTED_BRANCHES = "Max_Presented_Branches";
+  
 }
 
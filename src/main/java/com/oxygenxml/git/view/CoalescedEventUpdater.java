@@ -35,4 +35,11 @@ public class CoalescedEventUpdater {
     timer.restart();
   }
 
+  /**
+   * Cancel the pending event, if any.
+   */
+  public void cancel() {
+    timer.stop();
+  }
+
 }
@@ -0,0 +1,321 @@
+package com.oxygenxml.git.view.blame;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.jgit.diff.DiffAlgorithm;
+import org.eclipse.jgit.diff.DiffAlgorithm.SupportedAlgorithm;
+import org.eclipse.jgit.diff.EditList;
+import org.eclipse.jgit.diff.RawText;
+import org.eclipse.jgit.diff.RawTextComparator;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+
+import com.oxygenxml.git.service.annotation.TestOnly;
+
+/**
+ * A least recently used cache with the blame of committed files, keyed by the file path, the commit and the blob
+ * of the file in that commit.
+ * <br>
+ * When a file is blamed in a commit that descends from a cached one through a linear history, the cached blame is
+ * carried forward: each commit that changed the file is diffed with its parent and only the changed lines are
+ * attributed to it, the same way the blame generator does it, without walking the entire history of the file.
+ */
+public class BlameCache {
+
+  /**
+   * The maximum number of lines in all the cached blames.
+   */
+  private static final int MAX_LINES = 500_000;
+
+  /**
+   * The maximum number of commits walked when searching for a cached blame to carry forward.
+   */
+  private static final int MAX_CARRIED_COMMITS = 100;
+
+  /**
+   * The diff algorithm used by the blame generator.
+   */
+  private static final DiffAlgorithm DIFF_ALGORITHM = DiffAlgorithm.getAlgorithm(SupportedAlgorithm.HISTOGRAM);
+
+  /**
+   * The singleton instance.
+   */
+  private static final BlameCache INSTANCE = new BlameCache();
+
+  /**
+   * The source commit of each line, in access order. Only the commit IDs are kept, so the bound on the number of lines
+   * bounds the memory.
+   */
+  private final LinkedHashMap<Key, BlameLines> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * The number of lines in all the cached blames.
+   */
+  private int cachedLines;
+
+  /**
+   * Constructor.
+   */
+  private BlameCache() {
+  }
+
+  /**
+   * @return The singleton instance.
+   */
+  public static BlameCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Gets the blame of a committed file, either from the cache or by carrying forward the cached blame of an ancestor.
+   *
+   * @param repository The repository.
+   * @param reader     The reader to use.
+   * @param path       The path of the file.
+   * @param commit     The commit.
+   * @param blobId     The blob of the file in the commit.
+   *
+   * @return The source commit of each line or <code>null</code> if the blame must be computed from scratch.
+   *
+   * @throws IOException When the commits or the blobs cannot be read.
+   */
+  public BlameLines get(
+      Repository repository,
+      ObjectReader reader,
+      String path,
+      ObjectId commit,
+      ObjectId blobId) throws IOException {
+    final File directory = repository.getDirectory();
+    BlameLines toReturn = get(new Key(directory, path, commit, blobId));
+    if (toReturn == null && hasPath(directory, path)) {
+      toReturn = carryForward(repository, reader, path, commit);
+      if (toReturn != null) {
+        put(repository, path, commit, blobId, toReturn);
+      }
+    }
+    return toReturn;
+  }
+
+  /**
+   * Caches the blame of a committed file.
+   *
+   * @param repository The repository.
+   * @param path       The path of the file.
+   * @param commit     The commit.
+   * @param blobId     The blob of the file in the commit.
+   * @param lines      The source commit of each line.
+   */
+  public synchronized void put(Repository repository, String path, ObjectId commit, ObjectId blobId, BlameLines lines) {
+    if (lines.size() <= MAX_LINES) {
+      final BlameLines previous = cache.put(new Key(repository.getDirectory(), path, commit.copy(), blobId.copy()), lines);
+      if (previous != null) {
+        cachedLines -= previous.size();
+      }
+      cachedLines += lines.size();
+
+      final Iterator<BlameLines> iterator = cache.values().iterator();
+      while (cachedLines > MAX_LINES && iterator.hasNext()) {
+        cachedLines -= iterator.next().size();
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Removes all the cached blames.
+   */
+  @TestOnly
+  synchronized void clear() {
+    cache.clear();
+    cachedLines = 0;
+  }
+
+  /**
+   * @param key The key.
+   *
+   * @return The cached blame or <code>null</code>.
+   */
+  private synchronized BlameLines get(Key key) {
+    return cache.get(key);
+  }
+
+  /**
+   * @param directory The repository directory.
+   * @param path      The file path.
+   *
+   * @return <code>true</code> if the file is blamed in at least one cached commit.
+   */
+  private synchronized boolean hasPath(File directory, String path) {
+    for (Key key : cache.keySet()) {
+      if (key.path.equals(path) && key.directory.equals(directory)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Searches the first-parent ancestors of a commit for a cached blame of a file and carries it forward
+   * to the commit.
+   *
+   * @param repository The repository.
+   * @param reader     The reader to use.
+   * @param path       The path of the file.
+   * @param commitId   The commit.
+   *
+   * @return The source commit of each line in the given commit or <code>null</code> if no cached blame can be
+   *         carried forward.
+   *
+   * @throws IOException When the commits or the blobs cannot be read.
+   */
+  private BlameLines carryForward(
+      Repository repository,
+      ObjectReader reader,
+      String path,
+      ObjectId commitId) throws IOException {
+    final File directory = repository.getDirectory();
+    try (RevWalk revWalk = new RevWalk(reader)) {
+      // The commits that follow the cached one, newest first, and the blob of the file in each of them.
+      final List<RevCommit> commits = new ArrayList<>();
+      final List<ObjectId> blobs = new ArrayList<>();
+      RevCommit commit = revWalk.parseCommit(commitId);
+      BlameLines baseLines = null;
+      ObjectId baseBlob = null;
+      while (baseLines == null) {
+        final ObjectId blob = getBlob(reader, path, commit);
+        if (blob == null || commits.size() > MAX_CARRIED_COMMITS) {
+          // Deleted or renamed, or too far.
+          return null;
+        }
+        baseLines = commits.isEmpty() ? null : get(new Key(directory, path, commit, blob));
+        if (baseLines != null) {
+          baseBlob = blob;
+        } else {
+          if (commit.getParentCount() == 0) {
+            return null;
+          }
+          commits.add(commit);
+          blobs.add(blob);
+          commit = commit.getParent(0);
+          revWalk.parseBody(commit);
+        }
+      }
+
+      BlameLines lines = baseLines;
+      ObjectId previousBlob = baseBlob;
+      RawText previousText = null;
+      for (int i = commits.size() - 1; i >= 0; i--) {
+        final RevCommit current = commits.get(i);
+        final ObjectId blob = blobs.get(i);
+        if (!blob.equals(previousBlob)) {
+          if (current.getParentCount() > 1) {
+            // The blame generator would compare the file with all the parents.
+            return null;
+          }
+          if (previousText == null) {
+            previousText = new RawText(reader.open(previousBlob).getCachedBytes(Integer.MAX_VALUE));
+          }
+          final RawText text = new RawText(reader.open(blob).getCachedBytes(Integer.MAX_VALUE));
+          lines = lines.applyEdits(diff(previousText, text), text.size(), current);
+          previousText = text;
+          previousBlob = blob;
+        }
+      }
+      return lines;
+    }
+  }
+
+  /**
+   * Gets the blob of a file in a commit.
+   *
+   * @param reader The reader to use.
+   * @param path   The path of the file.
+   * @param commit The commit.
+   *
+   * @return The blob or <code>null</code> if the file is not in the commit.
+   *
+   * @throws IOException When the tree cannot be read.
+   */
+  static ObjectId getBlob(ObjectReader reader, String path, RevCommit commit) throws IOException {
+    try (TreeWalk treeWalk = TreeWalk.forPath(reader, path, commit.getTree())) {
+      return treeWalk != null ? treeWalk.getObjectId(0) : null;
+    }
+  }
+
+  /**
+   * Compares two versions of a file, the way the blame generator does it.
+   *
+   * @param oldText The old version.
+   * @param newText The new version.
+   *
+   * @return The edits that transform the old version into the new one.
+   */
+  static EditList diff(RawText oldText, RawText newText) {
+    return DIFF_ALGORITHM.diff(RawTextComparator.DEFAULT, oldText, newText);
+  }
+
+  /**
+   * Identifies the blame of a committed file.
+   */
+  private static class Key {
+    /**
+     * The repository directory.
+     */
+    private final File directory;
+    /**
+     * The path of the file.
+     */
+    private final String path;
+    /**
+     * The commit.
+     */
+    private final ObjectId commit;
+    /**
+     * The blob of the file in the commit.
+     */
+    private final ObjectId blob;
+
+    /**
+     * Constructor.
+     *
+     * @param directory The repository directory.
+     * @param path      The path of the file.
+     * @param commit    The commit.
+     * @param blob      The blob of the file in the commit.
+     */
+    Key(File directory, String path, ObjectId commit, ObjectId blob) {
+      this.directory = directory;
+      this.path = path;
+      this.commit = commit;
+      this.blob = blob;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, commit, blob);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      boolean equals = false;
+      if (obj instanceof Key) {
+        final Key other = (Key) obj;
+        equals = path.equals(other.path)
+            && commit.equals(other.commit)
+            && blob.equals(other.blob)
+            && directory.equals(other.directory);
+      }
+      return equals;
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package com.oxygenxml.git.view.blame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jgit.diff.Edit;
+import org.eclipse.jgit.diff.EditList;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+
+/**
+ * The source commit of each line of a blamed file, stored compactly: a table with the distinct commit IDs and,
+ * for each line, the index of its commit in the table.
+ * <br>
+ * Only the IDs are kept, not the parsed commits, which would keep reachable their parents and all the history walked
+ * by the blame. The commits are parsed on demand, when the lines are highlighted.
+ */
+public class BlameLines {
+
+  /**
+   * The distinct source commits.
+   */
+  private final ObjectId[] commits;
+
+  /**
+   * For each line, the index of its source commit in {@link #commits}.
+   */
+  private final int[] lines;
+
+  /**
+   * Constructor.
+   *
+   * @param commits The distinct source commits.
+   * @param lines   For each line, the index of its source commit.
+   */
+  private BlameLines(ObjectId[] commits, int[] lines) {
+    this.commits = commits;
+    this.lines = lines;
+  }
+
+  /**
+   * @return The number of lines.
+   */
+  public int size() {
+    return lines.length;
+  }
+
+  /**
+   * @param line The line, 0 based.
+   *
+   * @return The source commit of the line or <code>null</code> if the line was not attributed.
+   */
+  public ObjectId getCommit(int line) {
+    return lines[line] != -1 ? commits[lines[line]] : null;
+  }
+
+  /**
+   * Two lines have the same source commit if they have the same commit index.
+   *
+   * @param line The line, 0 based.
+   *
+   * @return The index of the source commit of the line.
+   */
+  public int getCommitIndex(int line) {
+    return lines[line];
+  }
+
+  /**
+   * Attributes the lines of a new version of a file: the lines kept from the old version keep their source,
+   * the inserted and the replaced ones get the given source.
+   *
+   * @param edits   The edits that transform the old version into the new one.
+   * @param newSize The number of lines in the new version.
+   * @param source  The source of the changed lines.
+   *
+   * @return The source of each line in the new version.
+   */
+  BlameLines applyEdits(EditList edits, int newSize, AnyObjectId source) {
+    final Builder builder = new Builder(commits, newSize);
+    final int sourceIndex = builder.indexOf(source);
+    int oldLine = 0;
+    int newLine = 0;
+    for (Edit edit : edits) {
+      while (newLine < edit.getBeginB()) {
+        builder.lines[newLine++] = lines[oldLine++];
+      }
+      while (newLine < edit.getEndB()) {
+        builder.lines[newLine++] = sourceIndex;
+      }
+      oldLine = edit.getEndA();
+    }
+    while (newLine < newSize) {
+      builder.lines[newLine++] = lines[oldLine++];
+    }
+    return builder.build();
+  }
+
+  /**
+   * Collects the source commits of the lines of a file.
+   */
+  static class Builder {
+    /**
+     * The distinct source commits.
+     */
+    private final List<ObjectId> commits;
+    /**
+     * The index of each commit in {@link #commits}.
+     */
+    private final Map<ObjectId, Integer> indexes = new HashMap<>();
+    /**
+     * For each line, the index of its source commit. -1 for the lines not yet attributed.
+     */
+    private final int[] lines;
+
+    /**
+     * Constructor.
+     *
+     * @param size The number of lines.
+     */
+    Builder(int size) {
+      this(new ObjectId[0], size);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param commits The known source commits.
+     * @param size    The number of lines.
+     */
+    private Builder(ObjectId[] commits, int size) {
+      this.commits = new ArrayList<>(Arrays.asList(commits));
+      for (int i = 0; i < commits.length; i++) {
+        indexes.put(commits[i], i);
+      }
+      lines = new int[size];
+      Arrays.fill(lines, -1);
+    }
+
+    /**
+     * Gets the index of a commit in the table, adding it if needed.
+     *
+     * @param commit The commit.
+     *
+     * @return The index.
+     */
+    private int indexOf(AnyObjectId commit) {
+      Integer index = indexes.get(commit);
+      if (index == null) {
+        // A copy, so that no parsed commit is kept.
+        final ObjectId id = commit.copy();
+        index = commits.size();
+        commits.add(id);
+        indexes.put(id, index);
+      }
+      return index;
+    }
+
+    /**
+     * Attributes a range of lines to a commit.
+     *
+     * @param start  The first line, 0 based.
+     * @param length The number of lines.
+     * @param commit The source commit.
+     */
+    void set(int start, int length, AnyObjectId commit) {
+      Arrays.fill(lines, start, start + length, indexOf(commit));
+    }
+
+    /**
+     * @return The source commit of each line.
+     */
+    BlameLines build() {
+      return new BlameLines(commits.toArray(new ObjectId[0]), lines);
+    }
+  }
+}
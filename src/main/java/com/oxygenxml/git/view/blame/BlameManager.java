@@ -7,11 +7,14 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
+import org.eclipse.jgit.annotations.Nullable;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.io.Files;
+import com.oxygenxml.git.protocol.GitRevisionURLHandler;
 import com.oxygenxml.git.service.GitAccess;
 import com.oxygenxml.git.service.GitControllerBase;
 import com.oxygenxml.git.service.GitEventAdapter;
@@ -106,10 +109,28 @@ public class BlameManager {
   public  void doBlame(
       String filePath, 
       HistoryController historyController) throws IOException, GitAPIException {
+    doBlame(filePath, historyController, null);
+  }
+
+  /**
+   * Start a blame on a revision of a file. The revision is opened in an editor.
+   * 
+   * @param filePath The path of the file for which to compute the blame.
+   * @param historyController Interface to the history view.
+   * @param revisionId The ID of the commit to blame, for example one selected in the history view.
+   * <code>null</code> to blame the working copy file.
+   * 
+   * @throws IOException Unable to read from the given file.
+   * @throws GitAPIException Git related exceptions.
+   */
+  public  void doBlame(
+      String filePath, 
+      HistoryController historyController,
+      @Nullable String revisionId) throws IOException, GitAPIException {
     
     try {
       File file = new File(GitAccess.getInstance().getWorkingCopy(), filePath); // NOSONAR findsecbugs:PATH_TRAVERSAL_IN
-      URL url = file.toURI().toURL();
+      URL url = revisionId != null ? GitRevisionURLHandler.encodeURL(revisionId, filePath) : file.toURI().toURL();
       // Check if another blame is already active and dispose it.
       dispose(url);
 
@@ -129,7 +150,12 @@ public class BlameManager {
           editor.changePage(EditorPageConstants.PAGE_TEXT);
 
           BlamePerformer blamePerformer = new BlamePerformer();
-          blamePerformer.doit(GitAccess.getInstance().getRepository(), filePath, editor, historyController);
+          blamePerformer.doit(
+              GitAccess.getInstance().getRepository(),
+              filePath,
+              editor,
+              historyController,
+              revisionId != null ? ObjectId.fromString(revisionId) : null);
 
           String key = PluginWorkspaceProvider.getPluginWorkspace().getUtilAccess().correctURL(url.toExternalForm());
           activeBlames.put(key, blamePerformer);
@@ -3,32 +3,46 @@ package com.oxygenxml.git.view.blame;
 import java.awt.Color;
 import java.awt.event.FocusAdapter;
 import java.awt.event.FocusEvent;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.swing.JTextArea;
 import javax.swing.SwingUtilities;
 import javax.swing.event.CaretListener;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.Highlighter;
+import javax.swing.text.Highlighter.Highlight;
 import javax.swing.text.Highlighter.HighlightPainter;
 
-import org.eclipse.jgit.api.BlameCommand;
+import org.eclipse.jgit.annotations.Nullable;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.blame.BlameGenerator;
 import org.eclipse.jgit.blame.BlameResult;
+import org.eclipse.jgit.diff.Edit;
+import org.eclipse.jgit.diff.RawText;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.util.RawParseUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.oxygenxml.git.translator.Tags;
 import com.oxygenxml.git.translator.Translator;
 import com.oxygenxml.git.utils.Equaler;
+import com.oxygenxml.git.view.CoalescedEventUpdater;
 import com.oxygenxml.git.view.history.HistoryController;
 
 import ro.sync.exml.editor.EditorPageConstants;
@@ -38,13 +52,22 @@ import ro.sync.exml.workspace.api.editor.page.WSEditorPage;
 import ro.sync.exml.workspace.api.editor.page.text.WSTextEditorPage;
 
 /**
- * Computes the blame information and installs highlights on the text page. 
+ * Computes the blame information and installs highlights on the text page.
+ * <br>
+ * The blame is computed in the background and each region is highlighted as soon as its source commit is known,
+ * the regions changed by the newest commits first. The blamed revision, the last commit by default, is compared with
+ * the content presented in the editor, so the highlights match the text even if it is not saved. The blame of each
+ * revision is cached, see {@link BlameCache}.
  */
 public class BlamePerformer {
   /**
    * Alpha for the color of the highlight painter.
    */
   private static final float HIGHLIGHT_PAINTER_COLOR_ALPHA = (float) 0.4;
+  /**
+   * Gray level of the marker for the lines that are not committed.
+   */
+  private static final float NOT_COMMITTED_GRAY = (float) 0.6;
   /**
    * Caret listener delay.
    */
@@ -54,31 +77,46 @@ public class BlamePerformer {
    */
   private static final Logger LOGGER = LoggerFactory.getLogger(BlamePerformer.class);
   /**
-   * The current active commit. The one that contained the caret line. 
+   * Computes the blames.
    */
-  protected RevCommit activeRevCommit;
+  private static final ExecutorService BLAME_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "Git blame");
+    thread.setDaemon(true);
+    return thread;
+  });
   /**
-   * Timer to sync the caret with a revision in the history view.
+   * The current active commit. The one that contained the caret line. 
    */
-  private  Timer caretSyncTimer = new Timer();
+  protected RevCommit activeRevCommit;
   /**
-   * Task to sync the caret with a revision in the history view.
+   * Syncs the caret with a revision in the history view, on the AWT thread, once the caret stops moving.
    */
-  private  TimerTask caretSyncTask;
+  private  CoalescedEventUpdater caretSyncUpdater;
   /**
    * Revision ID to Painter mapping.
    */
   private  Map<String, HighlightPainter> painters = new HashMap<>();
   
   /**
-   * Highlight to Revision mapping.
+   * Painter for the lines that are not committed.
    */
-  private  Map<Object, RevCommit> highlightsToRevCommits = new HashMap<>();
+  private  HighlightPainter notCommittedPainter;
   
   /**
-   * Line to Revision mapping.
+   * The source commits of the regions. The regions refer them by their index in this list.
    */
-  private  Map<Integer, RevCommit> lineIndicesToRevCommits = new HashMap<>();
+  private  List<RevCommit> commits = new ArrayList<>();
+  
+  /**
+   * The index of each commit in {@link #commits}.
+   */
+  private  Map<RevCommit, Integer> commitIndexes = new HashMap<>();
+  
+  /**
+   * One highlight for each region of consecutive lines with the same source commit, sorted by offset.
+   * The highlights follow the edits made in the editor.
+   */
+  private  List<Region> regions = new ArrayList<>();
   /**
    * The bind text page.
    */
@@ -95,6 +133,10 @@ public class BlamePerformer {
    * Random number generator.
    */
   private Random rand = new SecureRandom();
+  /**
+   * <code>true</code> after the performer was disposed. The blame computation stops.
+   */
+  private volatile boolean disposed;
   
   /**
    * Computes the blame for the given resource and adds highlights on the editor.
@@ -111,70 +153,384 @@ public class BlamePerformer {
       String filePath, 
       final WSEditor editor, 
       HistoryController historyController) throws GitAPIException {
+    doit(repository, filePath, editor, historyController, null);
+  }
+
+  /**
+   * Computes the blame for the given resource, as presented in the editor, and adds highlights on the editor.
+   * The lines of the editor that are not in the blamed revision are marked as not committed.
+   * 
+   * @param repository The repository that contains the file.
+   * @param filePath File for which to compute the path.
+   * @param editor Editor that presents the file.
+   * @param historyController Interface to history support.
+   * @param revision The revision to blame, for example a commit selected in the history view.
+   * <code>null</code> for the last commit.
+   * 
+   * @throws GitAPIException Git related issues.
+   */
+  public void doit(
+      Repository repository, 
+      String filePath, 
+      final WSEditor editor, 
+      HistoryController historyController,
+      @Nullable ObjectId revision) throws GitAPIException {
     
     // Currently we only support text page highlights.
     editor.changePage(EditorPageConstants.PAGE_TEXT);
     
     WSEditorPage currentPage = editor.getCurrentPage();
     if (currentPage instanceof WSTextEditorPage) {
-      doBlame(repository, filePath, historyController, (WSTextEditorPage) currentPage);
+      doBlame(repository, filePath, historyController, (WSTextEditorPage) currentPage, revision);
     }
   }
 
   /**
-   * Computes the blame for the given resource and adds highlights on the editor.
+   * Computes the blame for the given resource in the background and adds highlights on the editor
+   * as the regions are computed.
    * 
    * @param repository The repository that contains the file.
    * @param filePath File for which to compute the path.
    * @param historyController Interface to history support.
    * @param currentPage Editor that presents the file.
-   * 
-   * @throws GitAPIException if it fails.
+   * @param revision The revision to blame. <code>null</code> for the last commit.
    */
   private void doBlame(
       Repository repository,
       String filePath, 
       HistoryController historyController, 
-      WSTextEditorPage currentPage) throws GitAPIException {
-    BlameCommand blamer = new BlameCommand(repository);
-    
-    // This is how you do it on a specific commit. If left out, it's performed on the WC instance.
-    //    ObjectId commitID = repository.resolve("HEAD~~"); NOSONAR
-    //    blamer.setStartCommit(commitID); NOSONAR
-    
-    blamer.setFilePath(filePath);
-    BlameResult blame = blamer.call();
+      WSTextEditorPage currentPage,
+      ObjectId revision) {
     textpage = currentPage;
     JTextArea textArea = (JTextArea) textpage.getTextComponent();
-    Highlighter highlighter = textArea.getHighlighter();
-
-    // Add highlights for each interval.
-    if (blame != null) {
-      int lines = blame.getResultContents().size();
-      for (int i = 0; i < lines; i++) {
-        RevCommit commit = blame.getSourceCommit(i);
-        lineIndicesToRevCommits.put(i, commit);
-        if (commit != null) {
-          try {
-            int offsetOfLineStart = textpage.getOffsetOfLineStart(i + 1);
-            int offsetOfLineEnd = textpage.getOffsetOfLineEnd(i + 1);
-
-            Object addHighlight = highlighter.addHighlight(offsetOfLineStart, offsetOfLineEnd, getPainter(commit, textpage));
-            highlightsToRevCommits.put(addHighlight, commit);
-          } catch (BadLocationException e) {
-            LOGGER.error(e.getMessage(), e);
+    // The content presented in the editor, even if it is not saved.
+    String editorContent = textArea.getText();
+
+    BLAME_EXECUTOR.execute(() -> {
+      try (ObjectReader reader = repository.newObjectReader()) {
+        if (!disposed) {
+          ObjectId commitId = revision != null ? revision : repository.resolve(Constants.HEAD);
+          computeBlame(repository, reader, filePath, commitId, editorContent, historyController, textArea);
+        }
+      } catch (IOException e) {
+        LOGGER.error(e.getMessage(), e);
+      }
+    });
+  }
+
+  /**
+   * Computes the blame of a revision, or takes it from the cache, and highlights it on the AWT thread,
+   * region by region, over the lines of the editor that are also in the revision.
+   * 
+   * @param repository The repository that contains the file.
+   * @param reader The reader to use.
+   * @param filePath File for which to compute the path.
+   * @param commitId The blamed commit. <code>null</code> if the repository has no commits.
+   * @param editorContent The content presented in the editor.
+   * @param historyController Interface to history support.
+   * @param textArea Text page that presents the file.
+   * 
+   * @throws IOException if it fails.
+   */
+  private void computeBlame(
+      Repository repository,
+      ObjectReader reader,
+      String filePath,
+      ObjectId commitId,
+      String editorContent,
+      HistoryController historyController,
+      JTextArea textArea) throws IOException {
+    // Parses the commits presented in the editor, apart from the walk of the blame generator, which keeps the
+    // walked history.
+    try (RevWalk commitsWalk = new RevWalk(reader)) {
+      ObjectId blobId = null;
+      if (commitId != null) {
+        blobId = BlameCache.getBlob(reader, filePath, commitsWalk.parseCommit(commitId));
+      }
+      highlightBlame(repository, reader, filePath, commitId, blobId, commitsWalk, editorContent, historyController, textArea);
+    }
+  }
+
+  /**
+   * Computes the blame of a file in a revision, or takes it from the cache, and highlights it on the AWT thread.
+   * 
+   * @param repository The repository that contains the file.
+   * @param reader The reader to use.
+   * @param filePath File for which to compute the path.
+   * @param commitId The blamed commit. <code>null</code> if the repository has no commits.
+   * @param blobId The blob of the file in the blamed commit. <code>null</code> if the file is not committed.
+   * @param commitsWalk Parses the source commits of the lines.
+   * @param editorContent The content presented in the editor.
+   * @param historyController Interface to history support.
+   * @param textArea Text page that presents the file.
+   * 
+   * @throws IOException if it fails.
+   */
+  private void highlightBlame(
+      Repository repository,
+      ObjectReader reader,
+      String filePath,
+      ObjectId commitId,
+      ObjectId blobId,
+      RevWalk commitsWalk,
+      String editorContent,
+      HistoryController historyController,
+      JTextArea textArea) throws IOException {
+    if (blobId != null) {
+      byte[] committedBytes = reader.open(blobId).getCachedBytes(Integer.MAX_VALUE);
+      // The committed lines that are still in the editor. The other lines of the editor are not committed.
+      RawText editorText = toComparableText(editorContent);
+      int[] committedToEditor = mapLines(toComparableText(RawParseUtils.decode(committedBytes)), editorText);
+      paintNotCommitted(committedToEditor, editorText.size());
+
+      SwingUtilities.invokeLater(() -> {
+        if (!disposed) {
+          installSyncListeners(filePath, historyController, textArea);
+
+          // Present the history for the given resource.
+          historyController.showResourceHistory(filePath);
+        }
+      });
+
+      BlameCache blameCache = BlameCache.getInstance();
+      BlameLines committedLines = blameCache.get(repository, reader, filePath, commitId, blobId);
+      if (committedLines != null) {
+        paintRegions(committedLines, committedToEditor, commitsWalk);
+      } else {
+        BlameLines.Builder linesBuilder = new BlameLines.Builder(committedToEditor.length);
+        try (BlameGenerator generator = new BlameGenerator(repository, filePath)) {
+          generator.push(null, commitId);
+          BlameResult blame = BlameResult.create(generator);
+          // The generator walks the history from the newest commits to the oldest ones.
+          int start = blame != null ? blame.computeNext() : -1;
+          while (start != -1 && !disposed) {
+            int length = blame.lastLength();
+            RevCommit commit = blame.getSourceCommit(start);
+            if (commit != null) {
+              linesBuilder.set(start, length, commit);
+              paintRegion(start, length, commitsWalk.parseCommit(commit), committedToEditor);
+            }
+            start = blame.computeNext();
           }
         }
+        if (!disposed) {
+          blameCache.put(repository, filePath, commitId, blobId, linesBuilder.build());
+        }
       }
 
-      installSyncListeners(filePath, historyController, textArea);
-      
-      // Present the history for the given resource.
-      historyController.showResourceHistory(filePath);
+      SwingUtilities.invokeLater(() -> {
+        if (!disposed) {
+          // The lines were unknown when the caret was first synchronized.
+          syncCaretWithHistory(filePath, historyController, textArea, textArea.getCaretPosition());
+        }
+      });
     } else {
-      PluginWorkspaceProvider.getPluginWorkspace().showInformationMessage(
-          Translator.getInstance().getTranslation(Tags.NOTHING_TO_SHOW_FOR_NEW_FILES));
-    } 
+      SwingUtilities.invokeLater(() -> PluginWorkspaceProvider.getPluginWorkspace().showInformationMessage(
+          Translator.getInstance().getTranslation(Tags.NOTHING_TO_SHOW_FOR_NEW_FILES)));
+    }
+  }
+
+  /**
+   * Converts a content to a form in which its lines can be compared with the lines of another content,
+   * no matter the line separators and the encoding.
+   * 
+   * @param content The content.
+   * 
+   * @return The text to compare.
+   */
+  private static RawText toComparableText(String content) {
+    String text = content.replace("\r\n", "\n");
+    if (!text.isEmpty() && !text.endsWith("\n")) {
+      text = text + "\n";
+    }
+    return new RawText(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Maps the lines of the committed revision of a file to the lines presented in the editor.
+   * 
+   * @param committedContent The committed revision.
+   * @param editorContent The content presented in the editor.
+   * 
+   * @return For each committed line, the index of the same line in the editor, or -1 if the line was changed.
+   */
+  private static int[] mapLines(RawText committedContent, RawText editorContent) {
+    int[] toEditor = new int[committedContent.size()];
+    Arrays.fill(toEditor, -1);
+    int committedLine = 0;
+    int editorLine = 0;
+    for (Edit edit : BlameCache.diff(committedContent, editorContent)) {
+      while (committedLine < edit.getBeginA()) {
+        toEditor[committedLine++] = editorLine++;
+      }
+      committedLine = edit.getEndA();
+      editorLine = edit.getEndB();
+    }
+    while (committedLine < toEditor.length) {
+      toEditor[committedLine++] = editorLine++;
+    }
+    return toEditor;
+  }
+
+  /**
+   * Marks, on the AWT thread, the lines of the editor that are not in the blamed revision.
+   * 
+   * @param committedToEditor The index in the editor of each committed line, -1 if it was changed.
+   * @param editorLines The number of lines in the editor.
+   */
+  private void paintNotCommitted(int[] committedToEditor, int editorLines) {
+    boolean[] committed = new boolean[editorLines];
+    for (int line : committedToEditor) {
+      if (line != -1) {
+        committed[line] = true;
+      }
+    }
+    int start = -1;
+    for (int i = 0; i <= editorLines; i++) {
+      if (i < editorLines && !committed[i]) {
+        if (start == -1) {
+          start = i;
+        }
+      } else if (start != -1) {
+        postHighlights(start, i - start, null);
+        start = -1;
+      }
+    }
+  }
+
+  /**
+   * Highlights all the committed lines of a file, region by region.
+   * 
+   * @param committedLines The source commit of each committed line.
+   * @param committedToEditor The index in the editor of each committed line, -1 if it was changed.
+   * @param commitsWalk Parses the source commits.
+   * 
+   * @throws IOException When a commit cannot be parsed.
+   */
+  private void paintRegions(BlameLines committedLines, int[] committedToEditor, RevWalk commitsWalk) throws IOException {
+    int start = 0;
+    for (int i = 1; i <= committedLines.size(); i++) {
+      if (i == committedLines.size() || committedLines.getCommitIndex(i) != committedLines.getCommitIndex(start)) {
+        ObjectId commitId = committedLines.getCommit(start);
+        if (commitId != null) {
+          paintRegion(start, i - start, commitsWalk.parseCommit(commitId), committedToEditor);
+        }
+        start = i;
+      }
+    }
+  }
+
+  /**
+   * Highlights, on the AWT thread, the editor lines of a committed region that has the same source commit.
+   * 
+   * @param start The index of the first committed line of the region, 0 based.
+   * @param length The number of lines in the region.
+   * @param commit The source commit of the region.
+   * @param committedToEditor The index in the editor of each committed line, -1 if it was changed.
+   */
+  private void paintRegion(int start, int length, RevCommit commit, int[] committedToEditor) {
+    if (commit != null) {
+      int runStart = -1;
+      int runLength = 0;
+      for (int i = start; i < start + length; i++) {
+        int line = committedToEditor[i];
+        if (line != -1 && line == runStart + runLength) {
+          runLength++;
+        } else {
+          if (runLength > 0) {
+            postHighlights(runStart, runLength, commit);
+          }
+          runStart = line;
+          runLength = line != -1 ? 1 : 0;
+        }
+      }
+      if (runLength > 0) {
+        postHighlights(runStart, runLength, commit);
+      }
+    }
+  }
+
+  /**
+   * Highlights editor lines on the AWT thread.
+   * 
+   * @param start The index of the first line, 0 based.
+   * @param length The number of lines.
+   * @param commit The source commit of the lines. <code>null</code> for lines that are not committed.
+   */
+  private void postHighlights(int start, int length, RevCommit commit) {
+    SwingUtilities.invokeLater(() -> addHighlights(start, length, commit));
+  }
+
+  /**
+   * Highlights the lines of a region that has the same source commit.
+   * Must be called on the AWT thread.
+   * 
+   * @param start The index of the first line of the region, 0 based.
+   * @param length The number of lines in the region.
+   * @param commit The source commit of the region. <code>null</code> for lines that are not committed.
+   */
+  private void addHighlights(int start, int length, RevCommit commit) {
+    if (!disposed) {
+      int commitIndex = commit == null ? -1 : commitIndexes.computeIfAbsent(commit, c -> {
+        commits.add(c);
+        return commits.size() - 1;
+      });
+      Highlighter highlighter = ((JTextArea) textpage.getTextComponent()).getHighlighter();
+      try {
+        int offsetOfRegionStart = textpage.getOffsetOfLineStart(start + 1);
+        int offsetOfRegionEnd = textpage.getOffsetOfLineEnd(start + length);
+
+        Highlight highlight = (Highlight) highlighter.addHighlight(
+            offsetOfRegionStart,
+            offsetOfRegionEnd,
+            commit == null ? getNotCommittedPainter(textpage) : getPainter(commit, textpage));
+        regions.add(findRegion(offsetOfRegionStart) + 1, new Region(highlight, commitIndex));
+      } catch (BadLocationException e) {
+        LOGGER.error(e.getMessage(), e);
+      }
+    }
+  }
+
+  /**
+   * Searches the region that starts at or before an offset.
+   * 
+   * @param offset The offset.
+   * 
+   * @return The index of the last region that starts at or before the offset, or -1.
+   */
+  private int findRegion(int offset) {
+    int found = -1;
+    int low = 0;
+    int high = regions.size() - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      if (regions.get(middle).highlight.getStartOffset() <= offset) {
+        found = middle;
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Gets the source commit of the text at an offset.
+   * 
+   * @param offset The offset.
+   * 
+   * @return The source commit or <code>null</code> if the text is not committed or not yet blamed.
+   */
+  private RevCommit getCommitAtOffset(int offset) {
+    RevCommit commit = null;
+    int index = findRegion(offset);
+    if (index != -1) {
+      Region region = regions.get(index);
+      if (offset <= region.highlight.getEndOffset() && region.commitIndex != -1) {
+        commit = commits.get(region.commitIndex);
+      }
+    }
+    return commit;
   }
 
   /**
@@ -194,18 +550,10 @@ public class BlamePerformer {
     textArea.addFocusListener(focusListener);
     
     // When the caret changes we sync with the history view.
-    caretListener = e -> {
-      cancelCaretSyncTask();
-      
-      caretSyncTask = new TimerTask() {
-        @Override
-        public void run() {
-          syncCaretWithHistory(filePath, historyController, textArea, e.getDot());
-        }
-      };
-      
-      caretSyncTimer.schedule(caretSyncTask, CARET_LISTENER_DELAY);
-    };
+    caretSyncUpdater = new CoalescedEventUpdater(
+        CARET_LISTENER_DELAY,
+        () -> syncCaretWithHistory(filePath, historyController, textArea, textArea.getCaretPosition()));
+    caretListener = e -> caretSyncUpdater.update();
     textArea.addCaretListener(caretListener);
     
     syncCaretWithHistory(filePath, historyController, textArea, textArea.getCaretPosition());
@@ -215,13 +563,13 @@ public class BlamePerformer {
    * Cancel the sync task, if any.
    */
   private void cancelCaretSyncTask() {
-    if (caretSyncTask != null) {
-      caretSyncTask.cancel();
+    if (caretSyncUpdater != null) {
+      caretSyncUpdater.cancel();
     }
   }
   
   /**
-   * Synchronizes the history view with the caret position.
+   * Synchronizes the history view with the caret position. Must be called on the AWT thread.
    * 
    * @param filePath The file we show blame for.
    * @param historyController History controller.
@@ -229,25 +577,14 @@ public class BlamePerformer {
    * @param caret Caret position.
    */
   private void syncCaretWithHistory(String filePath, HistoryController historyController, JTextArea textArea, int caret) {
-    try {
-      int line = textpage.getLineOfOffset(caret);
-      
-      RevCommit nextRevCommit = lineIndicesToRevCommits.get(line - 1);
-      // The active highlight might have changed.
-      
-      if (!Equaler.verifyEquals(activeRevCommit , nextRevCommit)) {
-        activeRevCommit = nextRevCommit;
-        textArea.repaint();
+    RevCommit nextRevCommit = getCommitAtOffset(caret);
+    // The active highlight might have changed. Moving inside the same commit doesn't touch the history view.
+    if (!Equaler.verifyEquals(activeRevCommit , nextRevCommit)) {
+      activeRevCommit = nextRevCommit;
+      textArea.repaint();
 
-        SwingUtilities.invokeLater(() -> {
-          if (historyController.isHistoryShowing()) {
-            historyController.showCommit(filePath, activeRevCommit);
-          }
-        });
-      }
-    } catch (BadLocationException e1) {
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug(e1.getMessage(), e1);
+      if (historyController.isHistoryShowing()) {
+        historyController.showCommit(filePath, nextRevCommit);
       }
     }
   }
@@ -266,14 +603,30 @@ public class BlamePerformer {
       float g = rand.nextFloat();
       float b = rand.nextFloat();
       Color randomColor = new Color(r, g, b, HIGHLIGHT_PAINTER_COLOR_ALPHA);
-      return new CommitHighlightPainter(randomColor, textpage, lineIndicesToRevCommits, () -> activeRevCommit);
+      return new CommitHighlightPainter(randomColor, textpage, rev, this::getCommitAtOffset, () -> activeRevCommit);
     });
   }
 
+  /**
+   * Get the painter that marks the lines that are not committed.
+   * 
+   * @param textpage Text page.
+   * 
+   * @return The painter for the lines that are not committed.
+   */
+  private  HighlightPainter getNotCommittedPainter(WSTextEditorPage textpage) {
+    if (notCommittedPainter == null) {
+      Color gray = new Color(NOT_COMMITTED_GRAY, NOT_COMMITTED_GRAY, NOT_COMMITTED_GRAY, HIGHLIGHT_PAINTER_COLOR_ALPHA);
+      notCommittedPainter = new CommitHighlightPainter(gray, textpage, null, this::getCommitAtOffset, () -> activeRevCommit);
+    }
+    return notCommittedPainter;
+  }
+
   /**
    * Clears all internal buffers and removes all listeners added on the editor.
    */
   public void dispose() {
+    disposed = true;
     if (textpage != null) {
       cancelCaretSyncTask();
       
@@ -284,10 +637,8 @@ public class BlamePerformer {
       JTextArea textArea = (JTextArea) textpage.getTextComponent();
       Highlighter highlighter = textArea.getHighlighter();
       
-      Iterator<Object> iterator = highlightsToRevCommits.keySet().iterator();
-      while (iterator.hasNext()) {
-        Object h = iterator.next();
-        highlighter.removeHighlight(h);
+      for (Region region : regions) {
+        highlighter.removeHighlight(region.highlight);
       }
       
       if (focusListener != null) {
@@ -299,4 +650,29 @@ public class BlamePerformer {
       }
     }
   }
+
+  /**
+   * A highlighted region of consecutive lines with the same source commit.
+   */
+  private static class Region {
+    /**
+     * The highlight.
+     */
+    private final Highlight highlight;
+    /**
+     * The index of the source commit in {@link BlamePerformer#commits}.
+     */
+    private final int commitIndex;
+
+    /**
+     * Constructor.
+     * 
+     * @param highlight The highlight.
+     * @param commitIndex The index of the source commit.
+     */
+    Region(Highlight highlight, int commitIndex) {
+      this.highlight = highlight;
+      this.commitIndex = commitIndex;
+    }
+  }
 }
\ No newline at end of file
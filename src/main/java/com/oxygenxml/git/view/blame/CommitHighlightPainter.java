@@ -6,7 +6,7 @@ import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.Shape;
 import java.awt.geom.Rectangle2D;
-import java.util.Map;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 import javax.swing.plaf.TextUI;
@@ -47,9 +47,13 @@ public class CommitHighlightPainter extends LayeredHighlighter.LayerPainter {
    */
   private WSTextEditorPage textpage;
   /**
-   * Mapping between lines and revisions in which that line was last changed.
+   * The revision of the regions painted by this painter. <code>null</code> for the lines that are not committed.
    */
-  private Map<Integer, RevCommit> lineToRevCommitMap;
+  private RevCommit revCommit;
+  /**
+   * Gives the revision in which the text at an offset was last changed.
+   */
+  private IntFunction<RevCommit> offsetToRevCommit;
   /**
    * The active commit is the commit under the caret.
    */
@@ -64,18 +68,27 @@ public class CommitHighlightPainter extends LayeredHighlighter.LayerPainter {
    * the JTextComponent will be queried for its selection color.
    *
    * @param color               The color for the highlight
-   * @param lineToRevCommitMap  Mapping between lines and revisions in which that line was last changed.
    * @param textpage            The text page.
+   * @param revCommit           The revision of the painted regions. <code>null</code> for the lines that are not committed.
+   * @param offsetToRevCommit   Gives the revision in which the text at an offset was last changed.
    * @param activeCommit        The commit under the caret.
    */
-  public CommitHighlightPainter(Color color, WSTextEditorPage textpage,
-      Map<Integer, RevCommit> lineToRevCommitMap , Supplier<RevCommit> activeCommit) {
+  public CommitHighlightPainter(Color color, WSTextEditorPage textpage, RevCommit revCommit,
+      IntFunction<RevCommit> offsetToRevCommit, Supplier<RevCommit> activeCommit) {
     this.color = color;
     this.textpage = textpage;
-    this.lineToRevCommitMap = lineToRevCommitMap;
+    this.revCommit = revCommit;
+    this.offsetToRevCommit = offsetToRevCommit;
     this.activeCommit = activeCommit;
   }
 
+  /**
+   * @return <code>true</code> if the revision of the painted regions is the one under the caret.
+   */
+  public boolean isActive() {
+    return Equaler.verifyEquals(activeCommit.get(), revCommit);
+  }
+
 
   /**
    * Returns the color of the highlight.
@@ -198,7 +211,11 @@ public class CommitHighlightPainter extends LayeredHighlighter.LayerPainter {
       // if the model-to-view projection is of zero width (6340106).
       rect.width = Math.max(rect.width, 1);
 
-      int delta = getYDelta(stOffs, g);
+      int delta = getYDelta(stOffs);
+      if (!isActive()) {
+        // Bleach it a bit.
+        g.setColor(getBleachedColor());
+      }
 
       g.fillRect(rect.x, rect.y + delta, rect.width, rect.height - delta);
     }
@@ -209,31 +226,27 @@ public class CommitHighlightPainter extends LayeredHighlighter.LayerPainter {
   /**
    * A small correction on the Y axis. If the line that contains this offset has a different revision than the previous line then we 
    * leave a gap between them.
+   * <br>
+   * The revision of the previous line is taken from the highlights, which follow the edits.
    * 
    * @param offset Offset to check.
-   * @param g Graphics.
    * 
    * @return A correction for the Y axis.
    */
-  private int getYDelta(int offset, Graphics g) {
+  public int getYDelta(int offset) {
     int delta = 0;
 
     try {
       int lineOfOffset = textpage.getLineOfOffset(offset);
-
-      int key = lineOfOffset - 1;
-      RevCommit revCommit = lineToRevCommitMap.get(key);
       if (lineOfOffset > 1) {
         // Not the first line.
-        RevCommit prevRevCommit = lineToRevCommitMap.get(key - 1);
+        RevCommit prevRevCommit = offsetToRevCommit.apply(textpage.getOffsetOfLineStart(lineOfOffset - 1));
 
         boolean same = Equaler.verifyEquals(revCommit, prevRevCommit);
         if (!same) {
           delta = 1;
         }
       }
-
-      setCommitColor(g, revCommit);
     } catch (BadLocationException e) {
       LOGGER.error(e.getMessage(), e);
     }
@@ -243,22 +256,14 @@ public class CommitHighlightPainter extends LayeredHighlighter.LayerPainter {
 
 
   /**
-   * Set the commit color.
-   * 
-   * @param g          Graphics.
-   * @param revCommit  Commit.
+   * @return The color of the highlight, bleached for the regions of the revisions that are not active.
    */
-  private void setCommitColor(Graphics g, RevCommit revCommit) {
-    RevCommit currentRevCommit = activeCommit.get();
-    if (!Equaler.verifyEquals(currentRevCommit, revCommit)) {
-      // Bleach it a bit.
-      Color c = getColor();
-      Color bleached = new Color(
-          (float) c.getRed() / MAX_COLOR_VALUE_255,
-          (float) c.getGreen() / MAX_COLOR_VALUE_255,
-          (float) c.getBlue() / MAX_COLOR_VALUE_255,
-          HIGHLIGHT_COLOR_ALPHA);
-      g.setColor(bleached);
-    }
+  private Color getBleachedColor() {
+    Color c = getColor();
+    return new Color(
+        (float) c.getRed() / MAX_COLOR_VALUE_255,
+        (float) c.getGreen() / MAX_COLOR_VALUE_255,
+        (float) c.getBlue() / MAX_COLOR_VALUE_255,
+        HIGHLIGHT_COLOR_ALPHA);
   }
-}
\ No newline at end of file
+}
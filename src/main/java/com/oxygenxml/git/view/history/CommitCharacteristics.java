@@ -6,6 +6,8 @@ import java.util.List;
 import org.eclipse.jgit.lib.PersonIdent;
 import org.eclipse.jgit.revplot.PlotCommit;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.oxygenxml.git.service.RevCommitUtil;
 import com.oxygenxml.git.service.RevCommitUtilBase;
 import com.oxygenxml.git.view.history.graph.VisualCommitsList;
@@ -17,16 +19,28 @@ import com.oxygenxml.git.view.history.graph.VisualCommitsList;
  *
  */
 public class CommitCharacteristics {
+  
+  /**
+   * Marks a missing date.
+   */
+  private static final long NO_DATE = Long.MIN_VALUE;
+  
+  /**
+   * Shares the author and committer identities between commits. A repository usually has 
+   * few distinct identities, compared to the number of commits.
+   */
+  private static final Interner<String> IDENTITIES = Interners.newWeakInterner();
 
 	/**
-	 * The commit message.
+	 * The commit message. For the commits backed by a plot commit, it is decoded from the commit buffer 
+	 * the first time it is needed, so only the painted or filtered commits keep it.
 	 */
-	private final String commitMessage;
+	private String commitMessage;
 
 	/**
-	 * The commit date.
+	 * The commit date, in milliseconds.
 	 */
-	private final Date date;
+	private final long date;
 
 	/**
 	 * The commit author with its email.
@@ -34,14 +48,15 @@ public class CommitCharacteristics {
 	private final String author;
 
 	/**
-	 * The abbreviated commitId.
+	 * The abbreviated commitId. Only kept for the commits not backed by a plot commit.
 	 */
 	private final String commitAbbreviatedId;
 
 	/**
-	 * The long version of the commitId.
+	 * The long version of the commitId. For the commits backed by a plot commit, it is formatted 
+	 * the first time it is needed.
 	 */
-	private final String commitId;
+	private String commitId;
 
 	/**
 	 * The committer name.
@@ -49,32 +64,32 @@ public class CommitCharacteristics {
 	private final String committer;
 
 	/**
-	 * The abbreviated commitId of the parent.
+	 * The abbreviated commitId of the parent. Only kept for the commits not backed by a plot commit.
 	 */
 	private final List<String> parentCommitId;
 	
 	/**
-	 * The plot for current commit. 
+	 * The plot for current commit. Holds the ID, the parents and the raw commit buffer. 
 	 */
 	private final PlotCommit<VisualCommitsList.VisualLane> plotCommit;
 	
 	
 	/**
-	 * Constructor.
+	 * Constructor. Only the identities (interned) and the time are extracted from the commit, 
+	 * everything else is computed on demand from the plot commit.
 	 * 
 	 * @param plotCommit The plot commit from which the details are extracted.
 	 */
 	public CommitCharacteristics(PlotCommit<VisualCommitsList.VisualLane> plotCommit) {
-		commitMessage = plotCommit.getFullMessage();
-	    PersonIdent authorIdent = plotCommit.getAuthorIdent();
-	    author = authorIdent.getName() + " <" + authorIdent.getEmailAddress() + ">";
-	    date = authorIdent.getWhen();
-	    commitAbbreviatedId = plotCommit.getId().abbreviate(RevCommitUtilBase.ABBREVIATED_COMMIT_LENGTH).name();
-	    commitId = plotCommit.getId().getName();
-	    PersonIdent committerIdent = plotCommit.getCommitterIdent();
-	    committer = committerIdent.getName();
-	    parentCommitId = RevCommitUtil.getParentsId(plotCommit);
-        this.plotCommit = plotCommit;
+	  PersonIdent authorIdent = plotCommit.getAuthorIdent();
+	  author = IDENTITIES.intern(authorIdent.getName() + " <" + authorIdent.getEmailAddress() + ">");
+	  date = authorIdent.getWhen().getTime();
+	  committer = IDENTITIES.intern(plotCommit.getCommitterIdent().getName());
+	  this.plotCommit = plotCommit;
+	  commitMessage = null;
+	  commitAbbreviatedId = null;
+	  commitId = null;
+	  parentCommitId = null;
 	}
 
 	/**
@@ -92,7 +107,7 @@ public class CommitCharacteristics {
 			String commitAbbreviatedId, String commitId, String committer, List<String> parentCommitId) {
 
 		this.commitMessage = commitMessage;
-		this.date = authorDate;
+		this.date = authorDate != null ? authorDate.getTime() : NO_DATE;
 		this.author = author;
 		this.commitAbbreviatedId = commitAbbreviatedId;
 		this.commitId = commitId;
@@ -103,8 +118,8 @@ public class CommitCharacteristics {
 
 	@Override
 	public String toString() {
-		return "[ " + commitMessage + " , " + date + " , " + author + " , " + commitAbbreviatedId + " , " + commitId + " , "
-				+ committer + " , " + parentCommitId + " ]";
+		return "[ " + getCommitMessage() + " , " + getDate() + " , " + author + " , " + getCommitAbbreviatedId() + " , " 
+		    + getCommitId() + " , " + committer + " , " + getParentCommitId() + " ]";
 
 	}
 
@@ -113,6 +128,9 @@ public class CommitCharacteristics {
 	 * @return The message of commit.
 	 */
 	public String getCommitMessage() {
+		if (commitMessage == null && plotCommit != null) {
+		  commitMessage = plotCommit.getFullMessage();
+		}
 		return commitMessage;
 	}
 
@@ -121,7 +139,7 @@ public class CommitCharacteristics {
 	 * @return The commit date.
 	 */
 	public Date getDate() {
-		return date;
+		return date != NO_DATE ? new Date(date) : null;
 	}
 
 	
@@ -137,13 +155,17 @@ public class CommitCharacteristics {
 	 * @return The abbreviated commit id.
 	 */
 	public String getCommitAbbreviatedId() {
-		return commitAbbreviatedId;
+		return plotCommit != null ? 
+		    plotCommit.abbreviate(RevCommitUtilBase.ABBREVIATED_COMMIT_LENGTH).name() : commitAbbreviatedId;
 	}
 
 	/**
 	 * @return The commit id.
 	 */
 	public String getCommitId() {
+		if (commitId == null && plotCommit != null) {
+		  commitId = plotCommit.name();
+		}
 		return commitId;
 	}
 
@@ -162,7 +184,7 @@ public class CommitCharacteristics {
 	 * @return List with parents id.
 	 */
 	public List<String> getParentCommitId() {
-		return parentCommitId;
+		return plotCommit != null ? RevCommitUtil.getParentsId(plotCommit) : parentCommitId;
 	}
 	
 	
@@ -10,6 +10,7 @@ import java.awt.Insets;
 import java.awt.Rectangle;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,9 +23,8 @@ import javax.swing.border.EmptyBorder;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableColumnModel;
 
-import org.eclipse.jgit.annotations.NonNull;
+import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Repository;
-import org.eclipse.jgit.revwalk.RevCommit;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.oxygenxml.git.translator.Tags;
@@ -51,6 +51,21 @@ public class CommitMessageTableRenderer extends JPanel implements TableCellRende
    * Font size for the arrow characters that show the incoming and outgoing changes.
    */
   private static final int ARROWS_FONT_SIZE = 12;
+  
+  /**
+   * Font for the arrow characters that show the incoming and outgoing changes.
+   */
+  private static final Font ARROWS_FONT = new Font("Dialog", Font.PLAIN, ARROWS_FONT_SIZE);
+  
+  /**
+   * Up arrow. Marks a commit to push.
+   */
+  private static final String AHEAD_ARROW = "\u2191";
+  
+  /**
+   * Down arrow. Marks a commit to pull.
+   */
+  private static final String BEHIND_ARROW = "\u2193";
 
   /**
    * Default horizontal insets between components.
@@ -73,7 +88,7 @@ public class CommitMessageTableRenderer extends JPanel implements TableCellRende
   private final Repository repository;
 
   /**
-   * Commits ahead (to push) and behind (to pull).
+   * Commits ahead (to push) and behind (to pull). <code>null</code> if the current branch doesn't have an upstream.
    */
   private final CommitsAheadAndBehind commitsAheadAndBehind;
   /**
@@ -111,7 +126,42 @@ public class CommitMessageTableRenderer extends JPanel implements TableCellRende
   /**
    * The list of labels for current commit.
    */
-  private List<JLabel> commitLabels = new ArrayList<>();
+  private final List<JLabel> commitLabels = new ArrayList<>();
+  
+  /**
+   * The labels used to present branches and tags. They are reused from one cell to another.
+   */
+  private final List<JLabel> branchOrTagLabelsPool = new ArrayList<>();
+  
+  /**
+   * Presents the arrow for the commits to push or pull.
+   */
+  private final JLabel arrowLabel = new JLabel();
+  
+  /**
+   * Presents the commit message.
+   */
+  private final JLabel messageLabel = new ApplicationLabel();
+  
+  /**
+   * Presents the values that are not commits.
+   */
+  private final JLabel textLabel = new JLabel();
+  
+  /**
+   * The regular font for the branch and tag labels.
+   */
+  private Font branchOrTagFont;
+  
+  /**
+   * The font for the current branch label.
+   */
+  private Font currentBranchFont;
+  
+  /**
+   * The data needed to render each commit, computed once for each commit, the first time it is painted.
+   */
+  private final Map<CommitCharacteristics, CommitRenderData> renderCache = new HashMap<>();
   
   /**
    * The delta for current message.
@@ -144,6 +194,7 @@ public class CommitMessageTableRenderer extends JPanel implements TableCellRende
     this.remoteBranchMap = remoteBranchMap;
 
     setLayout(new GridBagLayout());
+    arrowLabel.setFont(ARROWS_FONT);
   }
 
   @Override
@@ -167,17 +218,15 @@ public class CommitMessageTableRenderer extends JPanel implements TableCellRende
       constr.insets = new Insets(0, HORIZONTAL_INSET, 0, HORIZONTAL_INSET);
 
       if (value instanceof CommitCharacteristics) {
-        addAllRenderingInfoForCurrentCommit(value, constr, table);
+        addAllRenderingInfoForCurrentCommit((CommitCharacteristics) value, constr, table);
       } else {
         final String toRender = value != null ? value.toString() : "";
         constr.fill = GridBagConstraints.HORIZONTAL;
         constr.weightx = 1;
-        final JLabel comp = new JLabel(toRender);
-        comp.setForeground(getForeground());
-        if(!toRender.isEmpty()) {
-          comp.setToolTipText(toRender);
-        }
-        add(comp, constr);
+        textLabel.setText(toRender);
+        textLabel.setForeground(getForeground());
+        textLabel.setToolTipText(!toRender.isEmpty() ? toRender : null);
+        add(textLabel, constr);
       }
       
     }
@@ -216,57 +265,36 @@ public class CommitMessageTableRenderer extends JPanel implements TableCellRende
   }
 
   /**
-   * Get the text to render for a commit.
+   * Adds the components that render a commit: the arrow for the commits to push or pull, 
+   * the branches and tags labels and the commit message.
    * 
-   * @param value  The commit characteristics.
-   * @param constr Grid bag constraints.
-   * @param table  The table.
-   * 
-   * @return the text to render.
+   * @param commitCharacteristics The commit characteristics.
+   * @param constr                Grid bag constraints.
+   * @param table                 The table.
    */
-  private void addAllRenderingInfoForCurrentCommit(Object value, GridBagConstraints constr, JTable table) {
-    final CommitCharacteristics commitCharacteristics = (CommitCharacteristics) value;
+  private void addAllRenderingInfoForCurrentCommit(
+      CommitCharacteristics commitCharacteristics, GridBagConstraints constr, JTable table) {
     int availableWidth = table.getColumnModel().getColumn(column).getWidth();
-    String commitMessageToRender = commitCharacteristics.getCommitMessage().replaceAll("\\n+", " ").trim();
+    final CommitRenderData renderData = renderCache.computeIfAbsent(commitCharacteristics, this::computeRenderData);
     
     commitLabels.clear();
 
     // Show outgoing and incoming commits using arrows
-    String arrow = "";
-    if (isAheadCommit(commitCharacteristics.getCommitId())) {
-      // Up arrow
-      arrow = "\u2191";
-    } else if (isBehindCommit(commitCharacteristics.getCommitId())) {
-      // Down arrow
-      arrow = "\u2193";
-    }
-    
-    if (!arrow.isEmpty()) {
-      final JLabel arrowLabel = new JLabel(arrow);
-      arrowLabel.setFont(new Font("Dialog", Font.PLAIN, ARROWS_FONT_SIZE));
+    if (renderData.arrow != null) {
+      arrowLabel.setText(renderData.arrow);
       arrowLabel.setForeground(getForeground());
       constr.gridx ++;
       add(arrowLabel, constr);
       availableWidth -= arrowLabel.getPreferredSize().width;
     }
     
-    JLabel comp = new ApplicationLabel(commitMessageToRender);
-
-    // bold the text for uncommitted changes
-    final String uncommittedChangesMessage = Translator.getInstance().getTranslation(Tags.UNCOMMITTED_CHANGES);
-    if (commitMessageToRender.equals(uncommittedChangesMessage)) {
-      commitMessageToRender = "<html><body><b>" + uncommittedChangesMessage + "</b></body></html>";
-      comp = new ApplicationLabel(commitMessageToRender); 
-    } else if (repository != null) {
-      commitLabels = computeLabelsForCurrentCommit(table, commitCharacteristics);
-      
-      comp = new ApplicationLabel(commitMessageToRender); 
-      if(!commitMessageToRender.trim().isEmpty()) {
-        comp.setToolTipText(commitMessageToRender);
-      }
+    final String commitMessageToRender = renderData.message;
+    messageLabel.setText(commitMessageToRender);
+    if (!renderData.isUncommittedChanges && repository != null) {
+      computeLabelsForCurrentCommit(table, renderData);
       
       int labelsTotalWidth = commitLabels.stream().mapToInt(label -> label.getPreferredSize().width).sum();
-      final int commitMessageWidth = comp.getPreferredSize().width;
+      final int commitMessageWidth = messageLabel.getPreferredSize().width;
       if((labelsTotalWidth + commitMessageWidth) > availableWidth) {
         int labelsMaxWidth = availableWidth / 2;
         if(commitMessageWidth < labelsMaxWidth) {
@@ -281,11 +309,62 @@ public class CommitMessageTableRenderer extends JPanel implements TableCellRende
     constr.fill = GridBagConstraints.HORIZONTAL;
     constr.weightx = 1;
     constr.gridx++;
-    comp.setForeground(getForeground());
-    if(!commitMessageToRender.isEmpty()) {
-      comp.setToolTipText(commitMessageToRender);
+    messageLabel.setForeground(getForeground());
+    messageLabel.setToolTipText(!commitMessageToRender.isEmpty() ? commitMessageToRender : null);
+    add(messageLabel, constr);
+  }
+  
+  /**
+   * Computes the data needed to render a commit.
+   * 
+   * @param commitCharacteristics The commit.
+   * 
+   * @return The render data.
+   */
+  private CommitRenderData computeRenderData(CommitCharacteristics commitCharacteristics) {
+    final CommitRenderData renderData = new CommitRenderData();
+    String message = commitCharacteristics.getCommitMessage().replaceAll("\\n+", " ").trim();
+    // bold the text for uncommitted changes
+    final String uncommittedChangesMessage = Translator.getInstance().getTranslation(Tags.UNCOMMITTED_CHANGES);
+    if (message.equals(uncommittedChangesMessage)) {
+      renderData.isUncommittedChanges = true;
+      message = "<html><body><b>" + uncommittedChangesMessage + "</b></body></html>";
+    } else {
+      final String abbreviatedId = commitCharacteristics.getCommitAbbreviatedId();
+      renderData.tags = tagMap.get(abbreviatedId);
+      renderData.localBranches = localBranchMap.get(abbreviatedId);
+      renderData.remoteBranches = remoteBranchMap.get(abbreviatedId);
+    }
+    renderData.message = message;
+    
+    final ObjectId commitId = getObjectId(commitCharacteristics);
+    if (commitId != null && commitsAheadAndBehind != null) {
+      if (commitsAheadAndBehind.isAhead(commitId)) {
+        renderData.arrow = AHEAD_ARROW;
+      } else if (commitsAheadAndBehind.isBehind(commitId)) {
+        renderData.arrow = BEHIND_ARROW;
+      }
+    }
+    
+    return renderData;
+  }
+  
+  /**
+   * Gets the ID of a commit.
+   * 
+   * @param commitCharacteristics The commit.
+   * 
+   * @return The ID or <code>null</code> if the commit doesn't have a valid one (for example the uncommitted changes).
+   */
+  private static ObjectId getObjectId(CommitCharacteristics commitCharacteristics) {
+    ObjectId id = commitCharacteristics.getPlotCommit();
+    if (id == null) {
+      final String commitId = commitCharacteristics.getCommitId();
+      if (commitId != null && ObjectId.isId(commitId)) {
+        id = ObjectId.fromString(commitId);
+      }
     }
-    add(comp, constr);
+    return id;
   }
 
   /**
@@ -347,33 +426,22 @@ public class CommitMessageTableRenderer extends JPanel implements TableCellRende
   /**
    * Put on list of labels for current commit all the branches or tags labels.
    * 
-   * @param table                  The current table.
-   * @param commitCharacteristics  The current commit.
-   * 
-   * @return The computed list with all commit labels or an empty list.
+   * @param table       The current table.
+   * @param renderData  The render data of the current commit.
    */
-  @NonNull
-  private List<JLabel> computeLabelsForCurrentCommit(final JTable table,
-      final CommitCharacteristics commitCharacteristics) {
-    final List<JLabel> commitLabelsList = new ArrayList<>();
-    String abbreviatedId = commitCharacteristics.getCommitAbbreviatedId();
+  private void computeLabelsForCurrentCommit(final JTable table, final CommitRenderData renderData) {
     boolean isDarkTheme = PluginWorkspaceProvider.getPluginWorkspace().getColorTheme().isDarkTheme();
 
-    List<String> tagList = tagMap.get(abbreviatedId);
     Color tagBackgroundColor = isDarkTheme ? UIUtil.TAG_GRAPHITE_BACKGROUND 
         : UIUtil.TAG_LIGHT_BACKGROUND;
-    createAndPutBranchOrTagLabelOnList(commitLabelsList, tagList, tagBackgroundColor, table.getForeground());
+    createAndPutBranchOrTagLabelOnList(renderData.tags, tagBackgroundColor, table.getForeground());
 
-    List<String> localBranchList = localBranchMap.get(abbreviatedId);
-    createAndPutBranchOrTagLabelOnList(commitLabelsList, localBranchList, table.getBackground(), table.getForeground());
+    createAndPutBranchOrTagLabelOnList(renderData.localBranches, table.getBackground(), table.getForeground());
 
-    List<String> remoteBranchList = remoteBranchMap.get(abbreviatedId);
     Color remoteBackgroundColor = isDarkTheme ? UIUtil.REMOTE_BRANCH_GRAPHITE_BACKGROUND 
         : UIUtil.REMOTE_BRANCH_LIGHT_BACKGROUND;
 
-    createAndPutBranchOrTagLabelOnList(commitLabelsList, remoteBranchList, remoteBackgroundColor, table.getForeground());
-    
-    return commitLabelsList;
+    createAndPutBranchOrTagLabelOnList(renderData.remoteBranches, remoteBackgroundColor, table.getForeground());
   }
 
   /**
@@ -399,72 +467,86 @@ public class CommitMessageTableRenderer extends JPanel implements TableCellRende
 
   /**
    * Add Label to "Commit Message" column: tag or local/remote branch to te list of current commit labels.
+   * The labels are taken from a pool, to avoid creating new components each time a cell is painted.
    * 
-   * @param commitLabels     The collection to add the commit labels.
    * @param nameForLabelList List of tags or branches corresponding the commit.
    * @param backgroundColor  The background color.
    * @param foregroundColor  The foreground color.
    */
   private void createAndPutBranchOrTagLabelOnList(
-      List<JLabel> commitLabels,
       List<String> nameForLabelList,
       Color backgroundColor,
       Color foregroundColor) {
     if (nameForLabelList != null && !nameForLabelList.isEmpty()) {
-      int lineSize = 1;
-
       for (String name : nameForLabelList) {
-        final RoundedLineBorder border = new RoundedLineBorder(null, lineSize, LABEL_BORDER_CORNER_SIZE, true);
-        final JLabel label = new ApplicationLabel(name) {
-
-          @Override
-          protected void paintComponent(Graphics g) {
-            border.fillBorder(this, g, 0, 0, getWidth(), getHeight());
-            super.paintComponent(g);
-          }
-        };
-        if (name.equals(currentBranchName)) {
-          label.setFont(label.getFont().deriveFont(Font.BOLD));
-        }
+        final JLabel label = getBranchOrTagLabel(commitLabels.size());
+        label.setFont(name.equals(currentBranchName) ? currentBranchFont : branchOrTagFont);
+        label.setText(name);
         label.setBackground(backgroundColor);
         label.setForeground(foregroundColor);
-        label.setBorder(border);
         label.setToolTipText(name);
         commitLabels.add(label);
       }
     }
   }
-
+  
   /**
-   * Check if this is a commit to push.
+   * Gets a label from the pool of branch and tag labels, creating it if needed.
    * 
-   * @param commitID Commit ID.
-   *  
-   * @return true if this is a commit to push.
+   * @param index The index of the label.
+   * 
+   * @return The label.
    */
-  private boolean isAheadCommit(String commitID) {
-    boolean isIt = false;
-    if (commitsAheadAndBehind != null) {
-      List<RevCommit> commitsAhead = commitsAheadAndBehind.getCommitsAhead();
-      isIt = commitsAhead.stream().anyMatch(commit -> commit.getId().getName().equals(commitID));
+  private JLabel getBranchOrTagLabel(int index) {
+    while (branchOrTagLabelsPool.size() <= index) {
+      final int lineSize = 1;
+      final RoundedLineBorder border = new RoundedLineBorder(null, lineSize, LABEL_BORDER_CORNER_SIZE, true);
+      final JLabel label = new ApplicationLabel() {
+
+        @Override
+        protected void paintComponent(Graphics g) {
+          border.fillBorder(this, g, 0, 0, getWidth(), getHeight());
+          super.paintComponent(g);
+        }
+      };
+      label.setBorder(border);
+      if (branchOrTagFont == null) {
+        branchOrTagFont = label.getFont();
+        currentBranchFont = branchOrTagFont.deriveFont(Font.BOLD);
+      }
+      branchOrTagLabelsPool.add(label);
     }
-    return isIt;
+    return branchOrTagLabelsPool.get(index);
   }
 
   /**
-   * Check if this is a commit to pull.
-   * 
-   * @param commitID Commit ID.
-   *  
-   * @return true if this is a commit to pull.
+   * The data needed to render a commit. 
    */
-  private boolean isBehindCommit(String commitID) {
-    boolean isIt = false;
-    if (commitsAheadAndBehind != null) {
-      List<RevCommit> commitsBehind = commitsAheadAndBehind.getCommitsBehind();
-      isIt = commitsBehind.stream().anyMatch(commit -> commit.getId().getName().equals(commitID));
-    }
-    return isIt;
+  private static class CommitRenderData {
+    /**
+     * The message on a single line.
+     */
+    private String message;
+    /**
+     * <code>true</code> for the entry that presents the uncommitted changes.
+     */
+    private boolean isUncommittedChanges;
+    /**
+     * The arrow for a commit to push or pull. <code>null</code> for the other commits.
+     */
+    private String arrow;
+    /**
+     * The tags of the commit. May be <code>null</code>.
+     */
+    private List<String> tags;
+    /**
+     * The local branches of the commit. May be <code>null</code>.
+     */
+    private List<String> localBranches;
+    /**
+     * The remote branches of the commit. May be <code>null</code>.
+     */
+    private List<String> remoteBranches;
   }
 
   /**
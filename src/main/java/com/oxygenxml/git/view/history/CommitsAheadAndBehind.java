@@ -1,7 +1,11 @@
 package com.oxygenxml.git.view.history;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.revwalk.RevCommit;
 
 /**
@@ -18,6 +22,14 @@ public class CommitsAheadAndBehind {
    * The list of commits to be pulled from the server.
    */
   private List<RevCommit> commitsBehind;
+  /**
+   * The IDs of the commits to be pushed to the server.
+   */
+  private Set<ObjectId> commitsAheadIds;
+  /**
+   * The IDs of the commits to be pulled from the server.
+   */
+  private Set<ObjectId> commitsBehindIds;
   
   /**
    * Constructor.
@@ -28,6 +40,23 @@ public class CommitsAheadAndBehind {
   public CommitsAheadAndBehind(List<RevCommit> commitsAhead, List<RevCommit> commitsBehind) {
     this.commitsAhead = commitsAhead;
     this.commitsBehind = commitsBehind;
+    this.commitsAheadIds = toIds(commitsAhead);
+    this.commitsBehindIds = toIds(commitsBehind);
+  }
+  
+  /**
+   * @param commits Commits.
+   * 
+   * @return The IDs of the commits. Never <code>null</code>.
+   */
+  private static Set<ObjectId> toIds(List<RevCommit> commits) {
+    Set<ObjectId> ids = new HashSet<>();
+    if (commits != null) {
+      for (RevCommit commit : commits) {
+        ids.add(commit.getId());
+      }
+    }
+    return ids;
   }
 
   /**
@@ -44,4 +73,36 @@ public class CommitsAheadAndBehind {
     return commitsBehind;
   }
   
+  /**
+   * @return The number of commits in the local branch that haven't been pushed yet.
+   */
+  public int getAheadCount() {
+    return commitsAheadIds.size();
+  }
+  
+  /**
+   * @return The number of commits present in the upstream branch that haven't been pulled yet.
+   */
+  public int getBehindCount() {
+    return commitsBehindIds.size();
+  }
+  
+  /**
+   * @param commitId A commit ID.
+   * 
+   * @return <code>true</code> if the commit is in the local branch and it hasn't been pushed yet.
+   */
+  public boolean isAhead(AnyObjectId commitId) {
+    return commitsAheadIds.contains(commitId);
+  }
+  
+  /**
+   * @param commitId A commit ID.
+   * 
+   * @return <code>true</code> if the commit is in the upstream branch and it hasn't been pulled yet.
+   */
+  public boolean isBehind(AnyObjectId commitId) {
+    return commitsBehindIds.contains(commitId);
+  }
+  
 }
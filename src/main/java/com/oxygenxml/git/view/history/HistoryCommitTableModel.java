@@ -10,6 +10,7 @@ import javax.swing.table.AbstractTableModel;
 
 import org.eclipse.jgit.revplot.PlotCommit;
 
+import com.oxygenxml.git.service.GitAccess;
 import com.oxygenxml.git.translator.Tags;
 import com.oxygenxml.git.translator.Translator;
 import com.oxygenxml.git.utils.Equaler;
@@ -199,6 +200,85 @@ public class HistoryCommitTableModel extends AbstractTableModel {
     return allCommitsCharacteristicsFiltered;
   }
 	
+	/**
+	 * Adds on top of the model the commits that are newer than the ones already presented.
+	 * The synthetic "uncommitted changes" entry is kept as the first row, if needed.
+	 * <br>
+	 * The last of the new commits is the commit presented on top until now, walked again to link it with the new
+	 * commits in the graph, so it replaces the presented one in place.
+	 * <br>
+	 * Must be called on the AWT thread.
+	 * 
+	 * @param newCommits            The new commits, from newest to oldest, followed by the presented top commit.
+	 * @param hasUncommittedChanges <code>true</code> to present the uncommitted changes entry on top.
+	 * 
+	 * @return The number of rows with which the previously presented rows were moved down. Can be negative.
+	 */
+	public int prependCommits(List<CommitCharacteristics> newCommits, boolean hasUncommittedChanges) {
+	  int rowsDelta = 0;
+	  if (!allCommitsCharacteristics.isEmpty() && allCommitsCharacteristics.get(0) == GitAccess.UNCOMMITED_CHANGES) {
+	    allCommitsCharacteristics.remove(0);
+	  }
+	  if (!allCommitsCharacteristicsFiltered.isEmpty() 
+	      && allCommitsCharacteristicsFiltered.get(0) == GitAccess.UNCOMMITED_CHANGES) {
+	    allCommitsCharacteristicsFiltered.remove(0);
+	    fireTableRowsDeleted(0, 0);
+	    rowsDelta--;
+	  }
+	  
+	  int newCount = newCommits.size();
+	  if (newCount > 0 && !allCommitsCharacteristics.isEmpty()) {
+	    newCount--;
+	    final CommitCharacteristics replacement = newCommits.get(newCount);
+	    final CommitCharacteristics replaced = allCommitsCharacteristics.set(0, replacement);
+	    if (!allCommitsCharacteristicsFiltered.isEmpty() && allCommitsCharacteristicsFiltered.get(0) == replaced) {
+	      allCommitsCharacteristicsFiltered.set(0, replacement);
+	      fireTableRowsUpdated(0, 0);
+	    }
+	  }
+	  
+	  List<CommitCharacteristics> toAdd = new ArrayList<>(newCommits.size());
+	  if (hasUncommittedChanges) {
+	    toAdd.add(GitAccess.UNCOMMITED_CHANGES);
+	  }
+	  toAdd.addAll(newCommits.subList(0, newCount));
+	  allCommitsCharacteristics.addAll(0, toAdd);
+	  
+	  List<CommitCharacteristics> toPresent = new ArrayList<>(toAdd.size());
+	  for (CommitCharacteristics commitCharac : toAdd) {
+	    if (!shouldFilter(commitCharac, textToFilter)) {
+	      toPresent.add(commitCharac);
+	    }
+	  }
+	  if (!toPresent.isEmpty()) {
+	    allCommitsCharacteristicsFiltered.addAll(0, toPresent);
+	    fireTableRowsInserted(0, toPresent.size() - 1);
+	    rowsDelta += toPresent.size();
+	  }
+	  
+	  return rowsDelta;
+	}
+	
+	/**
+	 * Adds commits at the end of the model. The current filter is applied on them.
+	 * <br>
+	 * Must be called on the AWT thread.
+	 *
+	 * @param commits The commits to add.
+	 */
+	public void appendCommits(List<CommitCharacteristics> commits) {
+	  allCommitsCharacteristics.addAll(commits);
+	  final int firstRow = allCommitsCharacteristicsFiltered.size();
+	  for (CommitCharacteristics commitCharac : commits) {
+	    if (!shouldFilter(commitCharac, textToFilter)) {
+	      allCommitsCharacteristicsFiltered.add(commitCharac);
+	    }
+	  }
+	  if (allCommitsCharacteristicsFiltered.size() > firstRow) {
+	    fireTableRowsInserted(firstRow, allCommitsCharacteristicsFiltered.size() - 1);
+	  }
+	}
+
 	/**
 	 * Filters the table
 	 * 
@@ -1,5 +1,6 @@
 package com.oxygenxml.git.view.history;
 
+import java.util.Collections;
 import java.util.List;
 
 import javax.swing.JTable;
@@ -16,20 +17,13 @@ public class HistoryHyperlinkListener implements HyperlinkListener {
 	 */
 	private JTable historyTable;
 	
-	/**
-	 * The Vector with CommitCharcteristics.
-	 */
-	private List<CommitCharacteristics> commits;
-
 	/**
 	 * Construct HyperlinkListener parent commit id shown in commitDescriptionPane.
 	 * 
 	 * @param historyTable   The historyTable
-	 * @param commits        The list with commitCharacterstics.
 	 */
-	public HistoryHyperlinkListener(JTable historyTable, List<CommitCharacteristics> commits) {
+	public HistoryHyperlinkListener(JTable historyTable) {
 		this.historyTable = historyTable;
-		this.commits = commits;
 	}
 
 	@Override
@@ -39,6 +33,9 @@ public class HistoryHyperlinkListener implements HyperlinkListener {
 			String query = event.getURL().getQuery();
 			int parentStringIdx = query.indexOf('=') + 1;
 			String parentCommitId = query.substring(parentStringIdx);
+			// The commits are taken from the model because new commits might be added on top of the history.
+			List<CommitCharacteristics> commits = historyTable.getModel() instanceof HistoryCommitTableModel ?
+			    ((HistoryCommitTableModel) historyTable.getModel()).getAllCommits() : Collections.emptyList();
 			int parentTableIndex = CommitCharacteristics.getCommitTableIndex(commits, parentCommitId);
 			if (parentTableIndex != -1) {
 				historyTable.getSelectionModel().setSelectionInterval(parentTableIndex, parentTableIndex);
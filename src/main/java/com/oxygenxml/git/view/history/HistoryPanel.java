@@ -16,20 +16,28 @@ import java.awt.event.MouseEvent;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import javax.swing.AbstractAction;
 import javax.swing.Action;
 import javax.swing.BorderFactory;
 import javax.swing.ButtonGroup;
+import javax.swing.JCheckBox;
 import javax.swing.JEditorPane;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -37,6 +45,7 @@ import javax.swing.JPopupMenu;
 import javax.swing.JRadioButtonMenuItem;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
+import javax.swing.JViewport;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
@@ -65,6 +74,7 @@ import com.oxygenxml.git.options.OptionsManager;
 import com.oxygenxml.git.service.GitAccess;
 import com.oxygenxml.git.service.GitEventAdapter;
 import com.oxygenxml.git.service.GitOperationScheduler;
+import com.oxygenxml.git.service.PickaxeSearch;
 import com.oxygenxml.git.service.RevCommitUtil;
 import com.oxygenxml.git.service.annotation.TestOnly;
 import com.oxygenxml.git.service.entities.FileStatus;
@@ -77,6 +87,7 @@ import com.oxygenxml.git.translator.Translator;
 import com.oxygenxml.git.utils.Equaler;
 import com.oxygenxml.git.utils.FileUtil;
 import com.oxygenxml.git.utils.RepoUtil;
+import com.oxygenxml.git.view.CoalescedEventUpdater;
 import com.oxygenxml.git.view.FilterTextField;
 import com.oxygenxml.git.view.event.GitController;
 import com.oxygenxml.git.view.event.GitEventInfo;
@@ -227,6 +238,48 @@ public class HistoryPanel extends JPanel {
    */
   private ObjectId selectedCommitId = null;
   
+  /**
+   * The tips from which the cached commits were collected, mapped by their ref name. 
+   * Empty when the cached commits cannot be updated incrementally.
+   */
+  private Map<String, ObjectId> historyTips = Collections.emptyMap();
+  
+  /**
+   * When selected, the filter text is searched in the content added or removed by the commits.
+   */
+  private JCheckBox contentSearchCheckBox;
+  
+  /**
+   * The running content search. <code>null</code> if there is none.
+   */
+  private PickaxeSearch contentSearch;
+  
+  /**
+   * The model with the entire history, while the results of a content search are presented instead.
+   * <code>null</code> when the entire history is presented.
+   */
+  private HistoryCommitTableModel historyModelBeforeContentSearch;
+  
+  /**
+   * Runs the content searches, so that they don't delay the other Git operations.
+   */
+  private final ExecutorService contentSearchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "Git history content search");
+    thread.setDaemon(true);
+    return thread;
+  });
+  
+  /**
+   * Starts the content search once the filter text stops changing.
+   */
+  private final CoalescedEventUpdater contentSearchUpdater = 
+      new CoalescedEventUpdater(TIMER_DELAY, () -> startContentSearch(filter.getText()));
+  
+  /**
+   * The path of the presented file at each commit of its history.
+   */
+  private RenameTracker fileRenameTracker = new RenameTracker();
+  
 
   /**
    * Constructor.
@@ -319,11 +372,14 @@ public class HistoryPanel extends JPanel {
             GitOperationScheduler.getInstance().schedule(HistoryPanel.this::showRepositoryHistory);
             break;
           case PULL:
+          case COMMIT:
+            // New commits are only added on top of the existing ones.
+            scheduleIncrementalRefreshHistory();
+            break;
           case PUSH:
           case CREATE_BRANCH:
           case CHECKOUT:
           case DELETE_BRANCH:
-          case COMMIT:
           case DISCARD:
           case MERGE:
           case MERGE_RESTART:
@@ -696,14 +752,13 @@ public class HistoryPanel extends JPanel {
         Translator.getInstance().getTranslation(Tags.TYPE_TEXT_TO_FILTER)) {
       @Override
       public void filterChanged(String text) {
-        TableModel tableModel = historyTable.getModel();
-        if(tableModel instanceof HistoryCommitTableModel) {
-          HistoryCommitTableModel historyTableModel = (HistoryCommitTableModel) tableModel;
-          graphCellRender.setShouldBePainted(text == null || text.isEmpty());
-          historyTableModel.filterChanged(text);
-        }
+        filterHistory(text);
       }
     };
+    
+    contentSearchCheckBox = new JCheckBox(Translator.getInstance().getTranslation(Tags.SEARCH_IN_FILE_CONTENTS));
+    contentSearchCheckBox.setToolTipText(Translator.getInstance().getTranslation(Tags.SEARCH_IN_FILE_CONTENTS_TOOLTIP));
+    contentSearchCheckBox.addActionListener(e -> filterHistory(filter.getText()));
 
     // Add the Refresh action to the toolbar
     Action refreshAction = new AbstractAction() {
@@ -736,9 +791,134 @@ public class HistoryPanel extends JPanel {
     constr.fill = GridBagConstraints.NONE;
     constr.weightx = 0;
     topPanel.add(filter, constr);
+    
+    constr.gridx++;
+    topPanel.add(contentSearchCheckBox, constr);
 
     add(topPanel, BorderLayout.NORTH);
   }
+  
+  
+  /**
+   * Filters the presented commits. When the content search is selected, the commits that add or remove 
+   * the text are presented instead.
+   * <br>
+   * Must be called on the AWT thread.
+   * 
+   * @param text The filter text.
+   */
+  private void filterHistory(String text) {
+    cancelContentSearch();
+    if (contentSearchCheckBox.isSelected() && text != null && !text.isEmpty()) {
+      contentSearchUpdater.update();
+    } else {
+      if (historyModelBeforeContentSearch != null) {
+        presentHistoryModel(historyModelBeforeContentSearch);
+        historyModelBeforeContentSearch = null;
+      }
+      TableModel tableModel = historyTable.getModel();
+      if(tableModel instanceof HistoryCommitTableModel) {
+        HistoryCommitTableModel historyTableModel = (HistoryCommitTableModel) tableModel;
+        graphCellRender.setShouldBePainted(text == null || text.isEmpty());
+        historyTableModel.filterChanged(text);
+      }
+    }
+  }
+  
+  
+  /**
+   * Starts a search for the commits that add or remove the given text in the presented history, 
+   * like "git log -S". The commits are added in the history table as they are found.
+   * When the history of a file is presented, only that file is searched.
+   * <br>
+   * Must be called on the AWT thread.
+   * 
+   * @param text The searched text. A text enclosed in slashes is a regular expression.
+   */
+  private void startContentSearch(final String text) {
+    Repository repository = null;
+    try {
+      repository = gitAccess.getRepository();
+    } catch (NoRepositorySelected e) {
+      LOGGER.debug(e.getMessage(), e);
+    }
+    
+    if (repository != null) {
+      if (historyModelBeforeContentSearch == null && historyTable.getModel() instanceof HistoryCommitTableModel) {
+        historyModelBeforeContentSearch = (HistoryCommitTableModel) historyTable.getModel();
+      }
+      
+      // An invalid expression matches nothing.
+      final HistoryCommitTableModel resultsModel = new HistoryCommitTableModel(Collections.emptyList());
+      graphCellRender.setShouldBePainted(false);
+      presentHistoryModel(resultsModel);
+      
+      Pattern pattern = null;
+      try {
+        pattern = PickaxeSearch.createPattern(text);
+      } catch (PatternSyntaxException e) {
+        LOGGER.debug(e.getMessage(), e);
+      }
+      
+      if (pattern != null) {
+        final Map<ObjectId, CommitCharacteristics> candidates = new LinkedHashMap<>();
+        for (CommitCharacteristics commit : commitsCache) {
+          if (commit != GitAccess.UNCOMMITED_CHANGES) {
+            candidates.put(commit.getPlotCommit() != null ? 
+                commit.getPlotCommit() : ObjectId.fromString(commit.getCommitId()), commit);
+          }
+        }
+        
+        // The file is searched at its path from each commit, like its history is walked.
+        final String filePath = activeFilePath;
+        final RenameTracker renameTracker = fileRenameTracker;
+        final Function<ObjectId, String> filePaths = filePath != null ? 
+            commit -> Optional.ofNullable(renameTracker.getPath(commit)).orElse(filePath) : null;
+        
+        final PickaxeSearch search = new PickaxeSearch(repository, pattern, filePaths);
+        contentSearch = search;
+        contentSearchExecutor.execute(() -> {
+          try {
+            search.search(new ArrayList<>(candidates.keySet()), commitId -> {
+              final CommitCharacteristics match = candidates.get(commitId);
+              SwingUtilities.invokeLater(() -> {
+                if (!search.isCanceled()) {
+                  resultsModel.appendCommits(Collections.singletonList(match));
+                }
+              });
+            });
+          } catch (IOException e) {
+            LOGGER.debug(e.getMessage(), e);
+          }
+        });
+      }
+    }
+  }
+  
+  
+  /**
+   * Stops the running content search, if any.
+   */
+  private void cancelContentSearch() {
+    contentSearchUpdater.cancel();
+    if (contentSearch != null) {
+      contentSearch.cancel();
+      contentSearch = null;
+    }
+  }
+  
+  
+  /**
+   * Sets the model of the history table.
+   * 
+   * @param historyModel The model.
+   */
+  private void presentHistoryModel(HistoryCommitTableModel historyModel) {
+    historyTable.setModel(historyModel);
+    updateHistoryTableWidths();
+    TableColumn authorColumn = historyTable.getColumn(TRANSLATOR.getTranslation(Tags.AUTHOR));
+    authorColumn.setCellRenderer(createAuthorColumnRenderer());
+  }
 
   
   /**
@@ -767,6 +947,118 @@ public class HistoryPanel extends JPanel {
   }
   
 
+  /**
+   * Schedules an update of the presented history that only adds the new commits on top of it.
+   * If the history was rewritten, a complete refresh is performed instead.
+   */
+  private void scheduleIncrementalRefreshHistory() {
+    GitOperationScheduler.getInstance().schedule(this::refreshHistoryIncrementally);
+  }
+  
+  
+  /**
+   * Adds on top of the presented history only the commits reachable from the new branch tips that are not 
+   * reachable from the tips used when the history was loaded. The cost is proportional with the number of new commits,
+   * the scroll position and the selection are preserved. 
+   * <br>
+   * Falls back to a complete refresh for a file history, when a ref was removed or rewritten or when the new commits 
+   * do not continue the first lane of the presented graph.
+   */
+  private void refreshHistoryIncrementally() {
+    boolean wasUpdated = false;
+    if (activeFilePath == null && !historyTips.isEmpty() && historyTable.getModel() instanceof HistoryCommitTableModel) {
+      try {
+        // Make sure we know about the remote as well, to present data about the
+        // upstream branch.
+        tryFetch();
+        
+        final Repository repository = gitAccess.getRepository();
+        final Map<String, ObjectId> newTips = RevCommitUtil.getHistoryTips(repository, currentStrategy);
+        final Optional<CommitCharacteristics> presentedTop = commitsCache.stream()
+            .filter(commit -> commit != GitAccess.UNCOMMITED_CHANGES)
+            .findFirst();
+        if (presentedTop.isPresent() && RevCommitUtil.isFastForward(repository, historyTips, newTips)) {
+          final Optional<List<CommitCharacteristics>> newCommits = RevCommitUtil.collectNewRevisions(
+              repository, newTips.values(), historyTips.values(), presentedTop.get());
+          if (newCommits.isPresent()) {
+            historyTips = newTips;
+            prependToHistoryView(repository, newCommits.get());
+            wasUpdated = true;
+          }
+        }
+      } catch (NoRepositorySelected | IOException e) {
+        LOGGER.debug(e.getMessage(), e);
+      }
+    }
+    
+    if (!wasUpdated) {
+      clearCommitsCache();
+      showHistory(activeFilePath, true);
+    }
+  }
+  
+  
+  /**
+   * Adds the new commits on top of the presented ones and updates the labels (branches, tags) of the commits.
+   * 
+   * @param repository The current repository.
+   * @param newCommits The new commits, from newest to oldest, followed by the presented top commit, 
+   *                   which replaces the presented one.
+   * 
+   * @throws IOException When IO problems occur.
+   */
+  private void prependToHistoryView(final Repository repository, final List<CommitCharacteristics> newCommits) throws IOException {
+    final boolean hasUncommittedChangesNow = gitAccess.getStatusCache().getStatus().hasUncommittedChanges();
+    hasUncommitedChanges = hasUncommittedChangesNow;
+    
+    final List<CommitCharacteristics> allCommits = new ArrayList<>(commitsCache.size() + newCommits.size() + 1);
+    if (hasUncommittedChangesNow) {
+      allCommits.add(GitAccess.UNCOMMITED_CHANGES);
+    }
+    allCommits.addAll(newCommits);
+    // The presented top commit is the last of the new ones.
+    commitsCache.stream().filter(commit -> commit != GitAccess.UNCOMMITED_CHANGES).skip(1).forEach(allCommits::add);
+    commitsCache = allCommits;
+    
+    final ObjectId branchHeadObjectId = getLocalBranchHead(allCommits, repository);
+    graphCellRender.setLastCommitIdForCurrentBranch(branchHeadObjectId != null ? branchHeadObjectId.getName() : null);
+    // The branch and tag labels might have moved.
+    final CommitMessageTableRenderer renderer = createCommitMessageRenderer(repository);
+    
+    SwingUtilities.invokeLater(() -> {
+      if (historyModelBeforeContentSearch != null) {
+        historyModelBeforeContentSearch.prependCommits(newCommits, hasUncommittedChangesNow);
+        historyTable.setDefaultRenderer(CommitCharacteristics.class, renderer);
+        // Search the new commits as well.
+        filterHistory(filter.getText());
+      } else if (historyTable.getModel() instanceof HistoryCommitTableModel) {
+        final HistoryCommitTableModel historyModel = (HistoryCommitTableModel) historyTable.getModel();
+        final int rowsDelta = historyModel.prependCommits(newCommits, hasUncommittedChangesNow);
+        keepScrollPosition(rowsDelta);
+        historyTable.setDefaultRenderer(CommitCharacteristics.class, renderer);
+        historyTable.repaint();
+      }
+    });
+  }
+  
+  
+  /**
+   * Keeps the same rows visible after rows were added or removed on top of the history table.
+   * 
+   * @param rowsDelta The number of rows with which the presented rows were moved down. Can be negative.
+   */
+  private void keepScrollPosition(final int rowsDelta) {
+    if (rowsDelta != 0 && historyTable.getParent() instanceof JViewport) {
+      final JViewport viewport = (JViewport) historyTable.getParent();
+      final Point viewPosition = viewport.getViewPosition();
+      if (viewPosition.y > 0) {
+        viewPosition.y = Math.max(0, viewPosition.y + rowsDelta * historyTable.getRowHeight());
+        viewport.setViewPosition(viewPosition);
+      }
+    }
+  }
+  
+
   /**
    * Shows the commit history for the entire repository.
    * 
@@ -790,8 +1082,12 @@ public class HistoryPanel extends JPanel {
 
         final Repository repository = gitAccess.getRepository();
         final RenameTracker renameTracker = new RenameTracker();
+        // The tips are read first. The history of a file is always computed from scratch.
+        final Map<String, ObjectId> tips = filePath == null ? 
+            RevCommitUtil.getHistoryTips(repository, currentStrategy) : Collections.emptyMap();
         final List<CommitCharacteristics> commitCharacteristicsVector = gitAccess.getCommitsCharacteristics(
             currentStrategy, filePath, renameTracker);
+        historyTips = tips;
         final boolean shouldRefreshHistory = checkForCommitsUpdate(commitCharacteristicsVector);
         if(shouldRefreshHistory) {
         	updateHistoryView(filePath, repository, renameTracker, commitCharacteristicsVector);    
@@ -862,33 +1158,25 @@ public class HistoryPanel extends JPanel {
 
 		hasUncommitedChanges = GitAccess.getInstance().getStatusCache().getStatus().hasUncommittedChanges();
     
-		final CommitsAheadAndBehind commitsAheadAndBehind = RevCommitUtil.getCommitsAheadAndBehind(repository,
-		    repository.getFullBranch());
-		Optional.ofNullable(contextualMenuPresenter).ifPresent(
-		    menuPresenter -> menuPresenter.setCommitsAheadAndBehind(commitsAheadAndBehind));
-		// Compute the row height.
-		final String currentBranchName = gitAccess.getBranchInfo().getBranchName();
-		final Map<String, List<String>> localBranchesMap = gitAccess.getBranchMap(repository, ConfigConstants.CONFIG_KEY_LOCAL);
-		CommitMessageTableRenderer renderer = new CommitMessageTableRenderer(repository, commitsAheadAndBehind,
-		    currentBranchName, getTagMap(repository),
-		    localBranchesMap,
-		    gitAccess.getBranchMap(repository, ConfigConstants.CONFIG_KEY_REMOTE));
+		CommitMessageTableRenderer renderer = createCommitMessageRenderer(repository);
 		
+		// Compute the row height.
 		final int rh = getRowHeight(renderer, getFirstCommit(actualCommits));
 
 		final HistoryCommitTableModel historyModel = new HistoryCommitTableModel(
 		    actualCommits);
 		
 		SwingUtilities.invokeLater(() -> { 
-		  historyModel.filterChanged(filter.getText());
-		  historyTable.setModel(historyModel);
-		  updateHistoryTableWidths();
+		  cancelContentSearch();
+		  historyModelBeforeContentSearch = null;
+		  fileRenameTracker = renameTracker;
+		  graphCellRender.clearCache();
+		  presentHistoryModel(historyModel);
 		  historyTable.setDefaultRenderer(PlotCommit.class, graphCellRender);
 		  historyTable.setDefaultRenderer(CommitCharacteristics.class, renderer);
 		  historyTable.setDefaultRenderer(Date.class, new DateTableCellRenderer(UIUtil.DATE_FORMAT_PATTERN));
-		  TableColumn authorColumn = historyTable.getColumn(TRANSLATOR.getTranslation(Tags.AUTHOR));
-		  authorColumn.setCellRenderer(createAuthorColumnRenderer());
 		  historyTable.setRowHeight(rh);
+		  filterHistory(filter.getText());
 		});
 
 		revisionDataUpdater = new RowHistoryTableSelectionListener(getUpdateDelay(), 
@@ -903,7 +1191,7 @@ public class HistoryPanel extends JPanel {
 		if (hyperlinkListener != null) {
 		  commitDescriptionPane.removeHyperlinkListener(hyperlinkListener);
 		}
-		hyperlinkListener = new HistoryHyperlinkListener(historyTable, actualCommits);
+		hyperlinkListener = new HistoryHyperlinkListener(historyTable);
 		commitDescriptionPane.addHyperlinkListener(hyperlinkListener);
 		
 		SwingUtilities.invokeLater(() -> { 
@@ -920,6 +1208,29 @@ public class HistoryPanel extends JPanel {
 		
 	}
 
+	/**
+	 * Creates the renderer for the commit message column. It presents the tags, the branches 
+	 * and the commits ahead and behind the upstream branch.
+	 * 
+	 * @param repository The current repository.
+	 * 
+	 * @return The renderer.
+	 * 
+	 * @throws IOException When IO problems occur.
+	 */
+	private CommitMessageTableRenderer createCommitMessageRenderer(final Repository repository) throws IOException {
+	  final CommitsAheadAndBehind commitsAheadAndBehind = RevCommitUtil.getCommitsAheadAndBehind(repository,
+	      repository.getFullBranch());
+	  Optional.ofNullable(contextualMenuPresenter).ifPresent(
+	      menuPresenter -> menuPresenter.setCommitsAheadAndBehind(commitsAheadAndBehind));
+	  final String currentBranchName = gitAccess.getBranchInfo().getBranchName();
+	  final Map<String, List<String>> localBranchesMap = gitAccess.getBranchMap(repository, ConfigConstants.CONFIG_KEY_LOCAL);
+	  return new CommitMessageTableRenderer(repository, commitsAheadAndBehind,
+	      currentBranchName, getTagMap(repository),
+	      localBranchesMap,
+	      gitAccess.getBranchMap(repository, ConfigConstants.CONFIG_KEY_REMOTE));
+	}
+
 	/**
 	 * Creates a listener for commits selection changes.
 	 * 
@@ -1161,6 +1472,16 @@ public class HistoryPanel extends JPanel {
   }
 
   
+  /**
+   * Set the interface to the history support. When set, the blame of the files from the commits is offered.
+   * 
+   * @param historyController Interface to the history support.
+   */
+  public void setHistoryController(HistoryController historyController) {
+    contextualMenuPresenter.setHistoryController(historyController);
+  }
+  
+  
   /**
    * Shows the commit history for the given file.
    * 
@@ -1227,6 +1548,7 @@ public class HistoryPanel extends JPanel {
    */
   private void clearCommitsCache() {
     commitsCache = Collections.emptyList();
+    historyTips = Collections.emptyMap();
   }
   
   /**
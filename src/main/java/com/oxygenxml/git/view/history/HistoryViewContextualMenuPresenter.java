@@ -39,6 +39,7 @@ import com.oxygenxml.git.translator.Tags;
 import com.oxygenxml.git.translator.Translator;
 import com.oxygenxml.git.utils.FileUtil;
 import com.oxygenxml.git.view.DiffPresenter;
+import com.oxygenxml.git.view.blame.BlameManager;
 import com.oxygenxml.git.view.history.actions.CheckoutCommitAction;
 import com.oxygenxml.git.view.history.actions.CreateBranchFromCommitAction;
 import com.oxygenxml.git.view.history.actions.CreateTagAction;
@@ -80,6 +81,11 @@ public class HistoryViewContextualMenuPresenter {
    */
   private CommitsAheadAndBehind commitsAheadAndBehind;
   
+  /**
+   * Interface to the history view, used by the blame. <code>null</code> if the blame is not offered.
+   */
+  private HistoryController historyController;
+  
   /**
    * Constructor.
    * 
@@ -353,6 +359,9 @@ public class HistoryViewContextualMenuPresenter {
     if (!GitAccess.UNCOMMITED_CHANGES.getCommitId().equals(currentCommitID)
         && fileStatusChangeType != GitChangeType.REMOVED) {
       actions.add(createOpenWorkingCopyFileAction(fileStatus, currentCommitID, addFileName));
+      if (historyController != null) {
+        actions.add(createShowBlameAction(fileStatus, currentCommitID));
+      }
     }
     
     if(fileStatusChangeType != GitChangeType.REMOVED
@@ -414,8 +423,7 @@ public class HistoryViewContextualMenuPresenter {
   private boolean isCommitPulled(final CommitCharacteristics commitCharacteristics) {
     return commitsAheadAndBehind != null
     && commitsAheadAndBehind.getCommitsBehind() != null
-    && commitsAheadAndBehind.getCommitsBehind()
-    .stream().noneMatch(commit -> commit.getId().equals(commitCharacteristics.getPlotCommit().getId()));
+    && !commitsAheadAndBehind.isBehind(commitCharacteristics.getPlotCommit().getId());
   }
 
   /**
@@ -639,6 +647,29 @@ public class HistoryViewContextualMenuPresenter {
   }
   
   
+  /**
+   * Creates an action to show the blame of a file at a given revision.
+   * 
+   * @param fileStatus File path, relative to the working copy.
+   * @param commitID   The revision to blame.
+   * 
+   * @return The action that will open the revision and show its blame when invoked.
+   */
+  private Action createShowBlameAction(FileStatus fileStatus, String commitID) {
+    return new AbstractAction(TRANSLATOR.getTranslation(Tags.SHOW_BLAME)) {
+      @Override
+      public void actionPerformed(ActionEvent e) {
+        try {
+          BlameManager.getInstance().doBlame(fileStatus.getFileLocation(), historyController, commitID);
+        } catch (IOException | GitAPIException ex) {
+          PluginWorkspaceProvider.getPluginWorkspace().showErrorMessage(ex.getMessage());
+          LOGGER.error(ex.getMessage(), ex);
+        }
+      }
+    };
+  }
+  
+  
   /**
    * Creates an action to open a file at a given revision.
    * 
@@ -781,4 +812,13 @@ public class HistoryViewContextualMenuPresenter {
   public void setCommitsAheadAndBehind(@Nullable final CommitsAheadAndBehind commitsAheadAndBehind) {
     this.commitsAheadAndBehind = commitsAheadAndBehind;
   }
+  
+  /**
+   * Set the interface to the history view. When set, the blame of the files from the commits is offered.
+   * 
+   * @param historyController Interface to the history view. <code>null</code> to not offer the blame.
+   */
+  public void setHistoryController(@Nullable final HistoryController historyController) {
+    this.historyController = historyController;
+  }
 }
@@ -5,6 +5,8 @@ import java.awt.event.ActionListener;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.swing.JEditorPane;
 import javax.swing.JTable;
@@ -17,6 +19,7 @@ import org.eclipse.jgit.api.errors.GitAPIException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.oxygenxml.git.service.ChangedFilesCache;
 import com.oxygenxml.git.service.GitAccess;
 import com.oxygenxml.git.service.RevCommitUtil;
 import com.oxygenxml.git.service.entities.FileStatus;
@@ -42,10 +45,15 @@ public class RowHistoryTableSelectionListener implements ListSelectionListener {
     
     /**
      * Set the commit description in a non-editable editor pane, including: CommitID,
-     * Parents IDs with hyperlink, Author, Committer and Commit Message.
+     * Parents IDs with hyperlink, Author, Committer and Commit Message. The description and the
+     * changed files are computed in the background and presented only if the commit is still selected.
      */
-    @SuppressWarnings("java:S1192")
     private void setCommitDescription() {
+      if (currentDetailsRequest != null) {
+        currentDetailsRequest.cancel();
+        currentDetailsRequest = null;
+      }
+      
       int selectedRow = historyTable.getSelectedRow();
       HistoryTableAffectedFilesModel dataModel = (HistoryTableAffectedFilesModel) changesTable.getModel();
       dataModel.setFilesStatus(new ArrayList<>());
@@ -54,34 +62,106 @@ public class RowHistoryTableSelectionListener implements ListSelectionListener {
             .getAllCommits().get(selectedRow);
         String searched = renameTracker.getInitialPath() != null ? renameTracker.getPath(commitCharacteristics.getPlotCommit().toObjectId()) : null;
         filePresenter.setFilePath(searched);
-        StringBuilder commitDescription = new StringBuilder();
-        // Case for already committed changes.
-        if (commitCharacteristics.getCommitter() != null) {
-          XMLUtilAccess xmlUtilAccess = PluginWorkspaceProvider.getPluginWorkspace().getXMLUtilAccess();
-          
-          commitDescription.append("<html><b>").append(Translator.getInstance().getTranslation(Tags.COMMIT)).append("</b>: ")
-              .append(commitCharacteristics.getCommitId())
-              .append(" [").append(commitCharacteristics.getCommitAbbreviatedId()).append("]");
-
-          // Add all parent commit IDs to the text
-          if (commitCharacteristics.getParentCommitId() != null) {
-            addParentIDsToCommitDescription(commitCharacteristics, commitDescription);
+        
+        final DetailsRequest request = new DetailsRequest(commitCharacteristics);
+        currentDetailsRequest = request;
+        Runnable computeDetails = () -> computeDetails(request);
+        if (descriptionUpdateTimer.getDelay() == 0) {
+          // Probably from tests.
+          computeDetails.run();
+        } else {
+          DETAILS_EXECUTOR.execute(computeDetails);
+        }
+        prefetchNeighbors(selectedRow);
+      }
+    }
+    
+    /**
+     * Computes the details of a commit and presents them, if the request was not canceled meanwhile.
+     * 
+     * @param request The request.
+     */
+    private void computeDetails(DetailsRequest request) {
+      if (request.isCanceled()) {
+        return;
+      }
+      long start = System.currentTimeMillis();
+      CommitCharacteristics commitCharacteristics = request.getCommit();
+      String commitDescription = buildCommitDescription(commitCharacteristics);
+      List<FileStatus> files = request.isCanceled() ? null : computeChangedFiles(commitCharacteristics);
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Details of commit {} computed in {} ms", 
+            commitCharacteristics.getCommitId(), System.currentTimeMillis() - start);
+      }
+      
+      if (files != null) {
+        Runnable presentDetails = () -> {
+          if (!request.isCanceled()) {
+            commitDescriptionPane.setText(commitDescription);
+            commitDescriptionPane.setCaretPosition(0);
+            ((HistoryTableAffectedFilesModel) changesTable.getModel()).setFilesStatus(files);
           }
-          
-          commitDescription.append("<br> <b>").append(Translator.getInstance().getTranslation(Tags.AUTHOR))
-              .append("</b>: ").append(xmlUtilAccess.escapeTextValue(commitCharacteristics.getAuthor())).append("<br>") 
-              .append("<b>").append(Translator.getInstance().getTranslation(Tags.DATE)).append("</b>: ")
-              .append(commitCharacteristics.getDate()).append("<br>") 
-              .append("<b>").append(Translator.getInstance().getTranslation(Tags.AUTHOR)).append("</b>: ")
-              .append(xmlUtilAccess.escapeTextValue(commitCharacteristics.getCommitter())).append("<br><br>")
-              .append(xmlUtilAccess.escapeTextValue(commitCharacteristics.getCommitMessage()).replace("\n", "<br>"))
-              .append("</html>");
+        };
+        if (descriptionUpdateTimer.getDelay() == 0) {
+          presentDetails.run();
+        } else {
+          SwingUtilities.invokeLater(presentDetails);
+        }
+      }
+    }
+    
+    /**
+     * Builds the description of a commit.
+     * 
+     * @param commitCharacteristics The commit.
+     * 
+     * @return The HTML description. Empty for the uncommitted changes.
+     */
+    @SuppressWarnings("java:S1192")
+    private String buildCommitDescription(CommitCharacteristics commitCharacteristics) {
+      StringBuilder commitDescription = new StringBuilder();
+      // Case for already committed changes.
+      if (commitCharacteristics.getCommitter() != null) {
+        XMLUtilAccess xmlUtilAccess = PluginWorkspaceProvider.getPluginWorkspace().getXMLUtilAccess();
+        
+        commitDescription.append("<html><b>").append(Translator.getInstance().getTranslation(Tags.COMMIT)).append("</b>: ")
+            .append(commitCharacteristics.getCommitId())
+            .append(" [").append(commitCharacteristics.getCommitAbbreviatedId()).append("]");
+
+        // Add all parent commit IDs to the text
+        if (commitCharacteristics.getParentCommitId() != null) {
+          addParentIDsToCommitDescription(commitCharacteristics, commitDescription);
         }
-        commitDescriptionPane.setText(commitDescription.toString());
-        commitDescriptionPane.setCaretPosition(0);
+        
+        commitDescription.append("<br> <b>").append(Translator.getInstance().getTranslation(Tags.AUTHOR))
+            .append("</b>: ").append(xmlUtilAccess.escapeTextValue(commitCharacteristics.getAuthor())).append("<br>") 
+            .append("<b>").append(Translator.getInstance().getTranslation(Tags.DATE)).append("</b>: ")
+            .append(commitCharacteristics.getDate()).append("<br>") 
+            .append("<b>").append(Translator.getInstance().getTranslation(Tags.AUTHOR)).append("</b>: ")
+            .append(xmlUtilAccess.escapeTextValue(commitCharacteristics.getCommitter())).append("<br><br>")
+            .append(xmlUtilAccess.escapeTextValue(commitCharacteristics.getCommitMessage()).replace("\n", "<br>"))
+            .append("</html>");
+      }
+      return commitDescription.toString();
+    }
 
-       updateDataModel(commitCharacteristics);
+    /**
+     * Computes in the background the files changed by the commits around the selected one, 
+     * so that they are presented instantly when navigating through the history.
+     * 
+     * @param selectedRow The selected row.
+     */
+    private void prefetchNeighbors(int selectedRow) {
+      List<CommitCharacteristics> commits = ((HistoryCommitTableModel) historyTable.getModel()).getAllCommits();
+      List<String> toPrefetch = new ArrayList<>(2 * PREFETCHED_NEIGHBORS);
+      for (int distance = 1; distance <= PREFETCHED_NEIGHBORS; distance++) {
+        for (int row : new int[] {selectedRow + distance, selectedRow - distance}) {
+          if (row >= 0 && row < commits.size() && commits.get(row) != GitAccess.UNCOMMITED_CHANGES) {
+            toPrefetch.add(commits.get(row).getCommitId());
+          }
+        }
       }
+      ChangedFilesCache.getInstance().prefetch(toPrefetch);
     }
 
     /**
@@ -125,12 +205,13 @@ public class RowHistoryTableSelectionListener implements ListSelectionListener {
     }
 
     /**
-     * Update data model.
+     * Computes the files changed by a commit.
      * 
      * @param commitCharacteristics Details about the current commit.
+     * 
+     * @return The changed files. Never <code>null</code>.
      */
-    private void updateDataModel(CommitCharacteristics commitCharacteristics) {
-      HistoryTableAffectedFilesModel dataModel = (HistoryTableAffectedFilesModel) changesTable.getModel();
+    private List<FileStatus> computeChangedFiles(CommitCharacteristics commitCharacteristics) {
       List<FileStatus> files = new ArrayList<>();
       if(GitAccess.UNCOMMITED_CHANGES != commitCharacteristics) {
         try {
@@ -141,7 +222,51 @@ public class RowHistoryTableSelectionListener implements ListSelectionListener {
       } else {
         files.addAll(GitAccess.getInstance().getUnstagedFiles());
       }
-      SwingUtilities.invokeLater(() -> dataModel.setFilesStatus(files));
+      return files;
+    }
+  }
+  
+  /**
+   * A request for the details of the selected commit. It is canceled when another commit is selected.
+   */
+  private static class DetailsRequest {
+    /**
+     * The selected commit.
+     */
+    private final CommitCharacteristics commit;
+    /**
+     * <code>true</code> if another commit was selected.
+     */
+    private volatile boolean canceled;
+    
+    /**
+     * Constructor.
+     * 
+     * @param commit The selected commit.
+     */
+    DetailsRequest(CommitCharacteristics commit) {
+      this.commit = commit;
+    }
+    
+    /**
+     * @return The selected commit.
+     */
+    CommitCharacteristics getCommit() {
+      return commit;
+    }
+    
+    /**
+     * Cancels the request.
+     */
+    void cancel() {
+      canceled = true;
+    }
+    
+    /**
+     * @return <code>true</code> if another commit was selected.
+     */
+    boolean isCanceled() {
+      return canceled;
     }
   }
   
@@ -150,6 +275,18 @@ public class RowHistoryTableSelectionListener implements ListSelectionListener {
     * Logger for logging.
     */
     private static final Logger LOGGER =  LoggerFactory.getLogger(RowHistoryTableSelectionListener.class);
+	/**
+	 * Computes the details of the selected commits.
+	 */
+	private static final ExecutorService DETAILS_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+	  Thread thread = new Thread(runnable, "Git commit details");
+	  thread.setDaemon(true);
+	  return thread;
+	});
+	/**
+	 * The number of commits before and after the selected one whose changed files are computed in advance.
+	 */
+	private static final int PREFETCHED_NEIGHBORS = 5;
 	/**
 	 * Fake commit URL to search for parents when using hyperlink.
 	 */
@@ -170,6 +307,10 @@ public class RowHistoryTableSelectionListener implements ListSelectionListener {
 	 * Coalescing support for updating commit related data.
 	 */
 	private final Timer descriptionUpdateTimer;
+	/**
+	 * The request for the details of the selected commit. Accessed on the AWT thread.
+	 */
+	private DetailsRequest currentDetailsRequest;
 	/**
 	 * Table that presents the resources changed inside a commit.
 	*/
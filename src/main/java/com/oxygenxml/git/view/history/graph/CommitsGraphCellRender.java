@@ -104,4 +104,12 @@ public class CommitsGraphCellRender extends JPanel implements TableCellRenderer
 	} 
 	 
 	 
+	 /**
+	  * Discards the graph geometry computed for the previously presented commits.
+	  */
+	 public void clearCache() {
+	   cellRender.clearCache();
+	 }
+	 
+	 
 }
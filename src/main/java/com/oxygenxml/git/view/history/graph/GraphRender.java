@@ -4,6 +4,11 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.jgit.annotations.NonNull;
 import org.eclipse.jgit.lib.Ref;
@@ -17,31 +22,49 @@ import com.oxygenxml.git.view.history.graph.VisualCommitsList.VisualLane;
  * Render for commits graph in GitHistory.
  * <br>
  * Is responsible for painting the graph for a commit.
+ * <br>
+ * The lines and the dot of a commit are computed only once, the first time the commit is painted,
+ * and afterwards they are just replayed from a cache.
  *  
  * @author alex_smarandache
  * 
  */
 public class GraphRender extends AbstractPlotRenderer<VisualCommitsList.VisualLane, Color> { 
+
+ /**
+  * The biggest stroke width that is shared.
+  */
+ private static final int MAX_SHARED_STROKE_WIDTH = 8;
+
+ /**
+  * Shared strokes, indexed by their width.
+  */
+ private static final Stroke[] STROKES = new Stroke[MAX_SHARED_STROKE_WIDTH + 1];
+ static {
+   for (int i = 0; i < STROKES.length; i++) {
+     STROKES[i] = new BasicStroke(i);
+   }
+ }
  
 /**
  * Graphics for paint.
  */
  private Graphics2D g;  
  
- /**
-  * The commit.
-  */
- private PlotCommit<VisualCommitsList.VisualLane> commit;
- 
  /**
   * The cell background.
   */
  private Color background;
  
  /**
-  * <code>true</code> if the current commit is the last commit of current local branch.
+  * The geometry of each painted commit.
+  */
+ private final Map<PlotCommit<VisualCommitsList.VisualLane>, RowGeometry> geometryCache = new IdentityHashMap<>();
+
+ /**
+  * Collects the geometry while the commit is processed by {@link #paintCommit(PlotCommit, int)}.
   */
- private boolean isCurrentBranchLastCommit;
+ private RowGeometry recordedGeometry;
  
  
 /**
@@ -57,43 +80,103 @@ public class GraphRender extends AbstractPlotRenderer<VisualCommitsList.VisualLa
 	 this.g.setRenderingHint(
 		        RenderingHints.KEY_ANTIALIASING,
 		        RenderingHints.VALUE_ANTIALIAS_ON);
-	 this.commit = commit;
-	 this.isCurrentBranchLastCommit = isCurrentBranchLastCommit;
-	 paintCommit(commit, height);
+	 RowGeometry geometry = geometryCache.get(commit);
+	 if (geometry == null || geometry.height != height) {
+	   recordedGeometry = new RowGeometry(height);
+	   try {
+	     paintCommit(commit, height);
+	   } finally {
+	     geometry = recordedGeometry;
+	     recordedGeometry = null;
+	   }
+	   geometryCache.put(commit, geometry);
+	 }
+	 replay(geometry, isCurrentBranchLastCommit);
+ }
+
+
+ /**
+  * Paints the cached geometry of a commit.
+  *
+  * @param geometry                   The geometry.
+  * @param isCurrentBranchLastCommit  <code>true</code> if the current commit is the last commit of current local branch.
+  */
+ private void replay(final RowGeometry geometry, final boolean isCurrentBranchLastCommit) {
+   for (Line line : geometry.lines) {
+     g.setColor(line.color);
+     g.setStroke(getStroke(line.width));
+     g.drawLine(line.x1, line.y1, line.x2, line.y2);
+   }
+
+   if (geometry.dotColor != null) {
+     paintDot(geometry.dotColor, geometry.dotX, geometry.dotY, geometry.dotWidth, geometry.dotHeight, isCurrentBranchLastCommit);
+   }
+ }
+
+
+ /**
+  * Paints the dot of a commit.
+  *
+  * @param color                      The color of the commit lane.
+  * @param x                          The X coordinate.
+  * @param y                          The Y coordinate.
+  * @param w                          The width.
+  * @param h                          The height.
+  * @param isCurrentBranchLastCommit  <code>true</code> if the current commit is the last commit of current local branch.
+  */
+ private void paintDot(final Color color, final int x, final int y, final int w, final int h,
+     final boolean isCurrentBranchLastCommit) {
+   if(isCurrentBranchLastCommit) {
+     g.setColor(background);
+     g.setStroke(getStroke(7));
+     g.drawOval(x + 1, y, w, h);
+     g.setColor(color);
+     g.fillOval(x + 1, y, w + 1, h + 1);
+     g.setStroke(getStroke(5));
+     g.drawOval(x + 1, y, w, h);
+     g.setColor(background);
+     g.setStroke(getStroke(2));
+     g.drawOval(x + 1, y, w, h);
+   } else {
+     g.setColor(color);
+     g.setStroke(getStroke(2));
+     g.fillOval(x + 1, y, w, h);
+     g.setColor(background);
+     g.setStroke(getStroke(1));
+     g.drawOval(x + 1, y, w, h);
+   }
+ }
+
+
+ /**
+  * Gets a stroke with the given width. The usual widths are shared.
+  *
+  * @param width The width.
+  *
+  * @return The stroke.
+  */
+ private static Stroke getStroke(final int width) {
+   return width >= 0 && width < STROKES.length ? STROKES[width] : new BasicStroke(width);
  }
  
  
  protected void drawLine(final Color color, final int x1, final int y1, 
 		 final int x2, final int y2, final int width) { 
-	 g.setColor(color);
-	 g.setStroke(new BasicStroke(width));
-	 g.drawLine(x1, y1, x2, y2);
+	 if (recordedGeometry != null) {
+	   recordedGeometry.lines.add(new Line(color, x1, y1, x2, y2, width));
+	 }
  } 
 
  
  protected void drawCommitDot(final int x, final int y, final int w, 
    final int h) { 
-	 Color color = laneColor(commit.getLane());
-	 if(isCurrentBranchLastCommit) {
-     g.setColor(color);
-     g.setStroke(new BasicStroke(1));
-     g.setColor(background);
-     g.setStroke(new BasicStroke(7));
-     g.drawOval(x + 1, y, w, h);
-     g.setColor(color);
-     g.fillOval(x + 1, y, w + 1, h + 1); 
-     g.setStroke(new BasicStroke(5));
-     g.drawOval(x + 1, y, w, h);
-     g.setColor(background);
-     g.setStroke(new BasicStroke(2));
-     g.drawOval(x + 1, y, w, h); 
-	 } else {
-	   g.setColor(color);
-	   g.setStroke(new BasicStroke(2));
-	   g.fillOval(x + 1, y, w, h); 
-	   g.setColor(background);
-	   g.setStroke(new BasicStroke(1));
-	   g.drawOval(x + 1, y, w, h); 
+	 // The color is taken from the lane of the commit being recorded.
+	 if (recordedGeometry != null) {
+	   recordedGeometry.dotX = x;
+	   recordedGeometry.dotY = y;
+	   recordedGeometry.dotWidth = w;
+	   recordedGeometry.dotHeight = h;
+	   recordedGeometry.dotColor = recordedGeometry.laneColor;
 	 }
  } 
  
@@ -117,6 +200,15 @@ public class GraphRender extends AbstractPlotRenderer<VisualCommitsList.VisualLa
  } 
  
  
+ @Override
+ protected void paintCommit(final PlotCommit<VisualCommitsList.VisualLane> commit, final int h) {
+   if (recordedGeometry != null) {
+     recordedGeometry.laneColor = laneColor(commit.getLane());
+   }
+   super.paintCommit(commit, h);
+ }
+
+
  protected Color laneColor(final VisualLane myLane) {
   return myLane != null ? myLane.color : GraphColorUtil.COMMIT_LINE_DEFAULT_COLOR; 
  }
@@ -129,6 +221,111 @@ public class GraphRender extends AbstractPlotRenderer<VisualCommitsList.VisualLa
    this.background = background;
  }
        
+ /**
+  * Discards the cached geometry. Should be called when a new list of commits is presented.
+  */
+ public void clearCache() {
+   geometryCache.clear();
+ }
+
+
+ /**
+  * The geometry of a commit row: the lane lines and the commit dot.
+  */
+ private static class RowGeometry {
+   /**
+    * The height for which the geometry was computed.
+    */
+   private final int height;
+   /**
+    * The lines.
+    */
+   private final List<Line> lines = new ArrayList<>();
+   /**
+    * The color of the commit lane.
+    */
+   private Color laneColor;
+   /**
+    * The dot color. <code>null</code> if there is no dot to paint.
+    */
+   private Color dotColor;
+   /**
+    * The dot X coordinate.
+    */
+   private int dotX;
+   /**
+    * The dot Y coordinate.
+    */
+   private int dotY;
+   /**
+    * The dot width.
+    */
+   private int dotWidth;
+   /**
+    * The dot height.
+    */
+   private int dotHeight;
+
+   /**
+    * Constructor.
+    *
+    * @param height The height for which the geometry is computed.
+    */
+   RowGeometry(final int height) {
+     this.height = height;
+   }
+ }
+
+
+ /**
+  * An immutable line segment.
+  */
+ private static class Line {
+   /**
+    * The color.
+    */
+   private final Color color;
+   /**
+    * Start X.
+    */
+   private final int x1;
+   /**
+    * Start Y.
+    */
+   private final int y1;
+   /**
+    * End X.
+    */
+   private final int x2;
+   /**
+    * End Y.
+    */
+   private final int y2;
+   /**
+    * The stroke width.
+    */
+   private final int width;
+
+   /**
+    * Constructor.
+    *
+    * @param color The color.
+    * @param x1    Start X.
+    * @param y1    Start Y.
+    * @param x2    End X.
+    * @param y2    End Y.
+    * @param width The stroke width.
+    */
+   Line(final Color color, final int x1, final int y1, final int x2, final int y2, final int width) {
+     this.color = color;
+     this.x1 = x1;
+     this.y1 = y1;
+     this.x2 = x2;
+     this.y2 = y2;
+     this.width = width;
+   }
+ }
+
 }
 
 
@@ -209,6 +209,9 @@ public class BranchSelectionCombo extends JComboBox<String> {
 
       String tooltipText = TRANSLATOR.getTranslation(Tags.TOOLBAR_PANEL_INFORMATION_STATUS_DETACHED_HEAD)
           + " " + currentBranchName;
+      if (!branchInfo.getTags().isEmpty()) {
+        tooltipText += " (" + String.join(", ", branchInfo.getTags()) + ")";
+      }
       if (repo != null && repo.getRepositoryState() == RepositoryState.REBASING_MERGE) {
         tooltipText += "<br>" + TRANSLATOR.getTranslation(Tags.REBASE_IN_PROGRESS) + ".";
       }
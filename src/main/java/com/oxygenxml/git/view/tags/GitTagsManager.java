@@ -6,6 +6,8 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.eclipse.jgit.api.errors.GitAPIException;
@@ -17,10 +19,9 @@ import org.eclipse.jgit.revwalk.RevObject;
 import org.eclipse.jgit.revwalk.RevSort;
 import org.eclipse.jgit.revwalk.RevTag;
 import org.eclipse.jgit.revwalk.RevWalk;
-import org.eclipse.jgit.transport.CredentialsProvider;
 
-import com.oxygenxml.git.auth.AuthUtil;
 import com.oxygenxml.git.service.GitAccess;
+import com.oxygenxml.git.service.RemoteTagsSnapshot;
 import com.oxygenxml.git.service.exceptions.NoRepositorySelected;
 
 /**
@@ -37,27 +38,55 @@ public class GitTagsManager {
   private GitTagsManager() {}
   
   /**
-   * Get the titles of the remote Tags
+   * Get the titles of the remote Tags. Contacts the remote.
    * 
    * @return A List<String> with all the titles of the remote Tags
    * 
    * @throws GitAPIException
    */
   public static List<String> getRemoteTagsTitle() throws GitAPIException{
-    
-    
-    CredentialsProvider credentialsProvider = AuthUtil.getCredentialsProvider(GitAccess.getInstance().getHostName());
-    Collection <Ref> refs = GitAccess.getInstance()
-        .getGit()
-        .lsRemote()
-        .setRemote(GitAccess.getInstance().getRemoteFromCurrentBranch())
-        .setCredentialsProvider(credentialsProvider)
-        .setTags(true)
-        .call();
+    GitAccess gitAccess = GitAccess.getInstance();
+    Collection <Ref> refs = RemoteTagsSnapshot.getInstance().refresh(gitAccess.getGit(), gitAccess.getRemoteFromCurrentBranch());
     
     return refs.stream().map(t -> Repository.shortenRefName(t.getName())).collect(Collectors.toList());
   }
   
+  /**
+   * Get the titles of the remote Tags known from the last fetch or listing of the remote tags.
+   * Doesn't contact the remote.
+   * 
+   * @return The titles of the remote Tags. Never <code>null</code>.
+   * 
+   * @throws NoRepositorySelected
+   */
+  public static Set<String> getKnownRemoteTagsTitle() throws NoRepositorySelected {
+    GitAccess gitAccess = GitAccess.getInstance();
+    return RemoteTagsSnapshot.getInstance().getNames(gitAccess.getRepository(), gitAccess.getRemoteFromCurrentBranch());
+  }
+  
+  /**
+   * Tells if the remote Tags are known, from a fetch or a listing of the remote tags. Doesn't contact the remote.
+   * 
+   * @return <code>true</code> if the remote Tags were read from the remote.
+   * 
+   * @throws NoRepositorySelected
+   */
+  public static boolean areRemoteTagsKnown() throws NoRepositorySelected {
+    GitAccess gitAccess = GitAccess.getInstance();
+    return RemoteTagsSnapshot.getInstance().isRead(gitAccess.getRepository(), gitAccess.getRemoteFromCurrentBranch());
+  }
+  
+  /**
+   * Lists the remote Tags in the background.
+   * 
+   * @param onRefresh Receives the titles of the remote Tags, on a background thread.
+   *                  Not called if the remote cannot be contacted.
+   */
+  public static void refreshRemoteTagsTitle(Consumer<Set<String>> onRefresh) {
+    GitAccess gitAccess = GitAccess.getInstance();
+    RemoteTagsSnapshot.getInstance().scheduleRefresh(gitAccess.getGit(), gitAccess.getRemoteFromCurrentBranch(), onRefresh);
+  }
+  
   /**
    * Get all the remote Tags
    * 
@@ -71,8 +100,8 @@ public class GitTagsManager {
 
     List<GitTag> remoteTags = new ArrayList<>(); 
 
-    CredentialsProvider credentialsProvider = AuthUtil.getCredentialsProvider(GitAccess.getInstance().getHostName());
-    Collection <Ref> refs = GitAccess.getInstance().getGit().lsRemote().setCredentialsProvider(credentialsProvider).setTags(true).call();
+    GitAccess gitAccess = GitAccess.getInstance();
+    Collection <Ref> refs = RemoteTagsSnapshot.getInstance().refresh(gitAccess.getGit(), gitAccess.getRemoteFromCurrentBranch());
 
     Repository repository = GitAccess.getInstance().getRepository();
     try (RevWalk walk = new RevWalk(repository)) {
@@ -108,7 +137,8 @@ public class GitTagsManager {
   }
   
   /**
-   * Get all of the local tags ( can be pushed or not pushed )
+   * Get all of the local tags ( can be pushed or not pushed ). The tags are marked as pushed based on the remote
+   * tags known from the last fetch or listing of the remote tags, without contacting the remote.
    * 
    * @return A GitTag list with all the Tags
    * 
@@ -118,7 +148,7 @@ public class GitTagsManager {
    */
   public static List<GitTag> getLocalTags() throws GitAPIException, NoRepositorySelected, IOException {
     List<GitTag> allTags = new ArrayList<>();
-    List<String> remoteTagsTitle = getRemoteTagsTitle();
+    Set<String> remoteTagsTitle = getKnownRemoteTagsTitle();
     
     List<Ref> refs = GitAccess.getInstance().getGit().tagList().call();
     Repository repository = GitAccess.getInstance().getRepository();
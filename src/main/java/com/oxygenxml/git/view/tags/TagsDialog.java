@@ -11,6 +11,7 @@ import java.awt.event.MouseEvent;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.List;
+import java.util.Set;
 
 import javax.swing.Action;
 import javax.swing.JButton;
@@ -76,6 +77,11 @@ public class TagsDialog extends OKCancelDialog {
    * The table with the tags
    */
   private JTable tagsTable;
+  
+  /**
+   * <code>true</code> if the pushed state of the tags is known, from a fetch or a listing of the remote tags.
+   */
+  private boolean isPushedStateKnown;
   /**
    * The button used to push a local tag
    */
@@ -226,6 +232,7 @@ public class TagsDialog extends OKCancelDialog {
    */
   private void createTagsTable() throws GitAPIException, NoRepositorySelected, IOException {
     List<GitTag> localTagsList = GitTagsManager.getLocalTags();
+    isPushedStateKnown = GitTagsManager.areRemoteTagsKnown();
 
     String[] columnNames = {TRANSLATOR.getTranslation(Tags.TAGS_DIALOG_NAME_COLUMN),
         TRANSLATOR.getTranslation(Tags.MESSAGE_LABEL)};  
@@ -278,6 +285,32 @@ public class TagsDialog extends OKCancelDialog {
 
     tagsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
     tagsTable.setComponentPopupMenu(createTableComponentMenu());  
+    
+    // The tags are shown as pushed based on what is known locally. Check the remote in the background.
+    GitTagsManager.refreshRemoteTagsTitle(remoteTagsTitle -> SwingUtilities.invokeLater(
+        () -> updatePushedTags(model, remoteTagsTitle)));
+  }
+  
+  /**
+   * Marks the tags that exist on the remote as pushed.
+   * 
+   * @param model           The model of the tags table.
+   * @param remoteTagsTitle The titles of the remote tags.
+   */
+  private void updatePushedTags(TagsTableModel model, Set<String> remoteTagsTitle) {
+    isPushedStateKnown = true;
+    for (int i = 0; i < model.getRowCount(); i++) {
+      GitTag tag = model.getItemAt(i);
+      tag.setPushed(remoteTagsTitle.contains(tag.getName()));
+    }
+    if (model.getRowCount() > 0) {
+      model.fireTableRowsUpdated(0, model.getRowCount() - 1);
+    }
+    
+    int selectedRow = tagsTable.getSelectedRow();
+    if (selectedRow >= 0) {
+      pushButton.setEnabled(!model.getItemAt(selectedRow).isPushed());
+    }
   }
 
   /**
@@ -360,6 +393,17 @@ public class TagsDialog extends OKCancelDialog {
     return e -> {
       final int selectedRow = (tagsTable.getSelectedRow());
       final GitTag tag = ((TagsTableModel)tagsTable.getModel()).getItemAt(selectedRow);
+      if (!isPushedStateKnown) {
+        // Don't ask about deleting a local tag that might be on the remote. List the remote tags first.
+        try {
+          GitTagsManager.getRemoteTagsTitle();
+          updatePushedTags((TagsTableModel) tagsTable.getModel(), GitTagsManager.getKnownRemoteTagsTitle());
+        } catch (GitAPIException | NoRepositorySelected ex) {
+          LOGGER.debug(ex.getMessage(), ex);
+          PluginWorkspaceProvider.getPluginWorkspace().showErrorMessage(ex.getMessage(), ex);
+          return;
+        }
+      }
       final int result = tag.isPushed() ? questionAboutDeletingPushedTag(tag.getName()) 
           : questionAboutDeletingLocalTag();
           
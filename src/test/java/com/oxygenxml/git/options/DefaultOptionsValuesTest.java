@@ -105,6 +105,14 @@ public class DefaultOptionsValuesTest {
     counter++;
     assertEquals("", options.getCurrentBranch());
     counter++;
+    assertEquals("", options.getHistoryIncludedBranches());
+    counter++;
+    assertEquals("", options.getHistoryExcludedBranches());
+    counter++;
+    assertEquals(0, options.getHistoryBranchesMaxAgeDays());
+    counter++;
+    assertEquals(0, options.getHistoryMaxBranches());
+    counter++;
     assertEquals("Probably a new option has been added, test its default value in this test and increment the counter.",
         OptionTags.class.getFields().length, counter);
   }
@@ -265,7 +265,11 @@ public class OptionsWithTagsTest {
         + "REJECT_PUSH_ON_VALIDATION_PROBLEMS\n"
         + "DETECT_AND_OPEN_XPR_FILES\n"
         + "ASK_USER_TO_CREATE_REPO\n"
-        + "CURRENT_BRANCH", dump);
+        + "CURRENT_BRANCH\n"
+        + "HISTORY_INCLUDED_BRANCHES\n"
+        + "HISTORY_EXCLUDED_BRANCHES\n"
+        + "HISTORY_BRANCHES_MAX_AGE_DAYS\n"
+        + "HISTORY_MAX_BRANCHES", dump);
   }
 
 }
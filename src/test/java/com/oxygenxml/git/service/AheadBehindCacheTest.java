@@ -0,0 +1,56 @@
+package com.oxygenxml.git.service;
+
+import org.eclipse.jgit.lib.ConfigConstants;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.junit.Test;
+
+import com.oxygenxml.git.view.history.CommitsAheadAndBehind;
+
+/**
+ * Tests for the commits ahead and behind the upstream branch.
+ */
+public class AheadBehindCacheTest extends GitTestBase {
+
+  /**
+   * <p><b>Description:</b> the commits ahead and behind are computed once for a pair of tips
+   * and again when one of the tips moves.</p>
+   *
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testResultFollowsTips() throws Exception {
+    String repoPath = "target/test-resources/AheadBehindCacheTest/testResultFollowsTips";
+    Repository repository = createRepository(repoPath);
+    commitOneFile(repoPath, "a.txt", "a");
+    GitAccess gitAccess = GitAccess.getInstance();
+    String branchName = gitAccess.getBranchInfo().getBranchName();
+
+    // Track a local branch, which is enough for the walk.
+    gitAccess.getGit().branchCreate().setName("upstream").call();
+    StoredConfig config = repository.getConfig();
+    config.setString(ConfigConstants.CONFIG_BRANCH_SECTION, branchName, ConfigConstants.CONFIG_KEY_REMOTE, ".");
+    config.setString(ConfigConstants.CONFIG_BRANCH_SECTION, branchName, ConfigConstants.CONFIG_KEY_MERGE,
+        Constants.R_HEADS + "upstream");
+    config.save();
+
+    AheadBehindCache cache = AheadBehindCache.getInstance();
+    cache.clear();
+    assertNull(cache.get(repository, "upstream"));
+
+    commitOneFile(repoPath, "b.txt", "b");
+    CommitsAheadAndBehind commitsAheadAndBehind = cache.get(repository, branchName);
+    assertEquals(1, commitsAheadAndBehind.getAheadCount());
+    assertEquals(0, commitsAheadAndBehind.getBehindCount());
+    assertTrue(commitsAheadAndBehind.isAhead(repository.resolve(Constants.HEAD)));
+    assertSame(commitsAheadAndBehind, cache.get(repository, branchName));
+    assertEquals(1, gitAccess.getPushesAhead());
+    assertEquals(0, gitAccess.getPullsBehind());
+
+    commitOneFile(repoPath, "c.txt", "c");
+    commitsAheadAndBehind = cache.get(repository, branchName);
+    assertEquals(2, commitsAheadAndBehind.getAheadCount());
+    assertEquals(2, gitAccess.getPushesAhead());
+  }
+}
@@ -5,6 +5,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 
@@ -12,6 +13,10 @@ import javax.swing.JFrame;
 import javax.swing.JTextArea;
 import javax.swing.text.Highlighter.Highlight;
 
+import org.awaitility.Awaitility;
+import org.awaitility.Duration;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -24,6 +29,7 @@ import com.oxygenxml.git.service.entities.GitChangeType;
 import com.oxygenxml.git.utils.FileUtil;
 import com.oxygenxml.git.utils.script.RepoGenerationScript;
 import com.oxygenxml.git.view.blame.BlamePerformer;
+import com.oxygenxml.git.view.blame.CommitHighlightPainter;
 import com.oxygenxml.git.view.history.HistoryController;
 import com.oxygenxml.git.view.staging.ChangesPanel.SelectedResourcesProvider;
 import com.oxygenxml.git.view.staging.actions.ShowBlameForUnstagedResourceAction;
@@ -125,7 +131,7 @@ public class BlameTest extends GitTestBase{
       new BlamePerformer().doit(
           GitAccess.getInstance().getRepository(), "file1.txt", wsEditor, historyController);
       
-      Highlight[] highlights = textArea.getHighlighter().getHighlights();
+      Highlight[] highlights = waitForHighlights(textArea, 5);
       assertEquals(5, highlights.length);
       
       String expected = dumpOffsetMap(line2offsets);
@@ -137,7 +143,7 @@ public class BlameTest extends GitTestBase{
       for (Highlight highlight : highlights) {
         textArea.setCaretPosition(highlight.getStartOffset());
         // Wait for the thread that presents the revision.
-        sleep(400);
+        sleep(500);
         flushAWT();
       }
       
@@ -157,6 +163,208 @@ public class BlameTest extends GitTestBase{
     }
   }
   
+  /**
+   * <p><b>Description:</b> consecutive lines changed by the same commit are highlighted together
+   * and the caret anywhere inside such a region activates its commit.</p>
+   * 
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testBlameRegions() throws Exception {
+    String repoPath = "target/test-resources/BlameTest/testBlameRegions";
+    createRepository(repoPath);
+    commitOneFile(repoPath, "a.txt", "Line 1\nLine 2\nLine 3");
+    commitOneFile(repoPath, "a.txt", "Line 1\nLine 2\nLine 3\nLine 4\nLine 5");
+
+    String content = 
+        "Line 1\n" + 
+        "Line 2\n" + 
+        "Line 3\n" + 
+        "Line 4\n" + 
+        "Line 5";
+    HashMap<Integer, int[]> line2offsets = computeLineMappings(content);
+    JTextArea textArea = new JTextArea();
+    WSEditor wsEditor = mockEditor(textArea, line2offsets);
+
+    final List<RevCommit> commits = new ArrayList<>(); 
+    HistoryController historyController = Mockito.mock(HistoryController.class);
+    Mockito.doAnswer(invocation -> {
+      commits.add((RevCommit) invocation.getArguments()[1]);
+      return null;
+    }).when(historyController).showCommit(Mockito.anyString(), Mockito.any());
+    Mockito.when(historyController.isHistoryShowing()).thenReturn(Boolean.TRUE);
+
+    textArea.setText(content);
+    textArea.setCaretPosition(0);
+    flushAWT();
+
+    new BlamePerformer().doit(
+        GitAccess.getInstance().getRepository(), "a.txt", wsEditor, historyController);
+
+    Highlight[] highlights = waitForHighlights(textArea, 2);
+    assertEquals(
+        "[" + line2offsets.get(1)[0] + ", " + line2offsets.get(3)[1] + "]"
+            + "[" + line2offsets.get(4)[0] + ", " + line2offsets.get(5)[1] + "]",
+        dumpHighlights(highlights));
+
+    // Move inside the regions.
+    textArea.setCaretPosition(line2offsets.get(5)[0] + 2);
+    sleep(500);
+    flushAWT();
+    textArea.setCaretPosition(line2offsets.get(2)[0] + 2);
+    sleep(500);
+    flushAWT();
+
+    assertEquals(
+        "New file: a.txt\n" + 
+        "New file: a.txt\n" + 
+        "New file: a.txt\n" + 
+        "", dumpCommits(commits));
+    assertEquals(3, commits.size());
+    assertEquals(commits.get(0), commits.get(2));
+    assertFalse(commits.get(0).equals(commits.get(1)));
+  }
+
+  /**
+   * <p><b>Description:</b> the blame is computed for the content presented in the editor, even if not saved,
+   * and for a given revision.</p>
+   * 
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testBlameUnsavedContentAndRevision() throws Exception {
+    String repoPath = "target/test-resources/BlameTest/testBlameUnsavedContentAndRevision";
+    Repository repository = createRepository(repoPath);
+    commitOneFile(repoPath, "a.txt", "Line 1\nLine 2\nLine 3");
+    ObjectId firstCommit = repository.resolve("HEAD");
+    commitOneFile(repoPath, "a.txt", "Line 1\nLine 2\nLine 3\nLine 4");
+
+    HistoryController historyController = Mockito.mock(HistoryController.class);
+
+    // A line inserted in the editor, but not saved.
+    String content = 
+        "Line 1\n" + 
+        "Not saved\n" + 
+        "Line 2\n" + 
+        "Line 3\n" + 
+        "Line 4";
+    HashMap<Integer, int[]> line2offsets = computeLineMappings(content);
+    JTextArea textArea = new JTextArea();
+    textArea.setText(content);
+    flushAWT();
+    BlamePerformer blamePerformer = new BlamePerformer();
+    blamePerformer.doit(repository, "a.txt", mockEditor(textArea, line2offsets), historyController);
+
+    Highlight[] highlights = waitForHighlights(textArea, 4);
+    assertEquals(
+        "[" + line2offsets.get(1)[0] + ", " + line2offsets.get(1)[1] + "]"
+            + "[" + line2offsets.get(2)[0] + ", " + line2offsets.get(2)[1] + "]"
+            + "[" + line2offsets.get(3)[0] + ", " + line2offsets.get(4)[1] + "]"
+            + "[" + line2offsets.get(5)[0] + ", " + line2offsets.get(5)[1] + "]",
+        dumpHighlights(highlights));
+    blamePerformer.dispose();
+    assertEquals(0, textArea.getHighlighter().getHighlights().length);
+
+    // The first revision, as presented in an editor.
+    content = 
+        "Line 1\n" + 
+        "Line 2\n" + 
+        "Line 3";
+    line2offsets = computeLineMappings(content);
+    textArea = new JTextArea();
+    textArea.setText(content);
+    flushAWT();
+    new BlamePerformer().doit(
+        repository, "a.txt", mockEditor(textArea, line2offsets), historyController, firstCommit);
+
+    highlights = waitForHighlights(textArea, 1);
+    assertEquals(
+        "[" + line2offsets.get(1)[0] + ", " + line2offsets.get(3)[1] + "]",
+        dumpHighlights(highlights));
+  }
+
+  /**
+   * <p><b>Description:</b> after lines are inserted in the editor, the regions are still painted with the commits 
+   * whose lines they contain: the active commit and the gaps between the regions follow the edits.</p>
+   * 
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testBlamePaintingFollowsEdits() throws Exception {
+    String repoPath = "target/test-resources/BlameTest/testBlamePaintingFollowsEdits";
+    Repository repository = createRepository(repoPath);
+    commitOneFile(repoPath, "a.txt", "Line 1\nLine 2\nLine 3");
+    commitOneFile(repoPath, "a.txt", "Line 1\nLine 2\nLine 3\nLine 4\nLine 5");
+
+    JTextArea textArea = new JTextArea();
+    textArea.setText("Line 1\nLine 2\nLine 3\nLine 4\nLine 5");
+    textArea.setCaretPosition(0);
+    flushAWT();
+    
+    // The lines are mapped to offsets on the current content of the text area.
+    WSEditor wsEditor = Mockito.mock(WSEditor.class);
+    WSXMLTextEditorPage page = Mockito.mock(WSXMLTextEditorPage.class);
+    Mockito.when(page.getTextComponent()).thenReturn(textArea);
+    Mockito.when(page.getParentEditor()).thenReturn(wsEditor);
+    Mockito.when(wsEditor.getCurrentPage()).thenReturn(page);
+    Mockito.when(page.getOffsetOfLineStart(Mockito.anyInt())).thenAnswer(
+        invocation -> textArea.getLineStartOffset((int) invocation.getArguments()[0] - 1));
+    Mockito.when(page.getOffsetOfLineEnd(Mockito.anyInt())).thenAnswer(
+        invocation -> Math.min(
+            textArea.getLineEndOffset((int) invocation.getArguments()[0] - 1) - 1, 
+            textArea.getDocument().getLength()));
+    Mockito.when(page.getLineOfOffset(Mockito.anyInt())).thenAnswer(
+        invocation -> textArea.getLineOfOffset((int) invocation.getArguments()[0]) + 1);
+
+    HistoryController historyController = Mockito.mock(HistoryController.class);
+    new BlamePerformer().doit(repository, "a.txt", wsEditor, historyController);
+    Highlight[] highlights = waitForHighlights(textArea, 2);
+    
+    // Activate the second commit.
+    textArea.setCaretPosition(textArea.getLineStartOffset(4));
+    sleep(500);
+    flushAWT();
+
+    // Insert a line in the middle of the first region. 
+    textArea.insert("Inserted\n", textArea.getLineStartOffset(1));
+    flushAWT();
+    
+    CommitHighlightPainter firstPainter = (CommitHighlightPainter) highlights[0].getPainter();
+    CommitHighlightPainter secondPainter = (CommitHighlightPainter) highlights[1].getPainter();
+    assertFalse(firstPainter.isActive());
+    assertTrue(secondPainter.isActive());
+    
+    // Line 4 still belongs to the first region, the second region starts on line 5.
+    assertEquals(textArea.getLineStartOffset(4), highlights[1].getStartOffset());
+    assertEquals(0, firstPainter.getYDelta(textArea.getLineStartOffset(2)));
+    assertEquals(0, firstPainter.getYDelta(textArea.getLineStartOffset(3)));
+    assertEquals(1, secondPainter.getYDelta(textArea.getLineStartOffset(4)));
+    assertEquals(0, secondPainter.getYDelta(textArea.getLineStartOffset(5)));
+  }
+
+  /**
+   * Mocks an editor that presents a text area.
+   * 
+   * @param textArea The text area.
+   * @param line2offsets The start and end offsets of each line, 1 based.
+   * 
+   * @return The editor.
+   * 
+   * @throws Exception If it fails.
+   */
+  private WSEditor mockEditor(JTextArea textArea, HashMap<Integer, int[]> line2offsets) throws Exception {
+    WSEditor wsEditor = Mockito.mock(WSEditor.class);
+    WSXMLTextEditorPage page = Mockito.mock(WSXMLTextEditorPage.class);
+    Mockito.when(page.getTextComponent()).thenReturn(textArea);
+    Mockito.when(page.getParentEditor()).thenReturn(wsEditor);
+    Mockito.when(wsEditor.getCurrentPage()).thenReturn(page);
+    Mockito.when(page.getOffsetOfLineStart(Mockito.anyInt())).thenAnswer(
+        invocation -> line2offsets.get(invocation.getArguments()[0])[0]);
+    Mockito.when(page.getOffsetOfLineEnd(Mockito.anyInt())).thenAnswer(
+        invocation -> line2offsets.get(invocation.getArguments()[0])[1]);
+    return wsEditor;
+  }
+
   /**
    * <p><b>Description:</b> ask save editor before blame if editor modified.</p>
    * <p><b>Bug ID:</b> EXM-45008</p>
@@ -280,7 +488,7 @@ public class BlameTest extends GitTestBase{
       
       assertTrue(confirmDialogShown[0]);
       
-      Highlight[] highlights = textArea.getHighlighter().getHighlights();
+      Highlight[] highlights = waitForHighlights(textArea, 5);
       assertEquals(5, highlights.length);
       
       String expected = dumpOffsetMap(line2offsets);
@@ -292,7 +500,7 @@ public class BlameTest extends GitTestBase{
       for (Highlight highlight : highlights) {
         textArea.setCaretPosition(highlight.getStartOffset());
         // Wait for the thread that presents the revision.
-        sleep(400);
+        sleep(500);
         flushAWT();
       }
       
@@ -449,7 +657,7 @@ public class BlameTest extends GitTestBase{
       assertTrue(confirmDialogShown[0]);
       assertTrue(editorSaved[0]);
       
-      Highlight[] highlights = textArea.getHighlighter().getHighlights();
+      Highlight[] highlights = waitForHighlights(textArea, 5);
       assertEquals(5, highlights.length);
       
       String expected = dumpOffsetMap(line2offsets);
@@ -462,6 +670,24 @@ public class BlameTest extends GitTestBase{
     }
   }
 
+  /**
+   * Waits for the blame computed in the background to add the highlights.
+   * 
+   * @param textArea The text area presenting the blamed file.
+   * @param count The expected number of highlights.
+   * 
+   * @return The highlights, sorted by their offsets.
+   */
+  private Highlight[] waitForHighlights(JTextArea textArea, int count) {
+    Awaitility.await().atMost(Duration.FIVE_SECONDS).until(() -> textArea.getHighlighter().getHighlights().length == count);
+    flushAWT();
+    
+    // The regions of the newest commits are highlighted first.
+    Highlight[] highlights = textArea.getHighlighter().getHighlights();
+    Arrays.sort(highlights, Comparator.comparingInt(Highlight::getStartOffset));
+    return highlights;
+  }
+
   /**
    * Dumps commit messages.
    * 
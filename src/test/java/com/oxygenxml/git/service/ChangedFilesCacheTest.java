@@ -0,0 +1,111 @@
+package com.oxygenxml.git.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.Action;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import com.oxygenxml.git.service.entities.FileStatus;
+import com.oxygenxml.git.service.entities.FileStatusOverDiffEntry;
+import com.oxygenxml.git.service.entities.GitChangeType;
+import com.oxygenxml.git.view.DiffPresenter;
+import com.oxygenxml.git.view.history.CommitCharacteristics;
+import com.oxygenxml.git.view.history.HistoryStrategy;
+import com.oxygenxml.git.view.history.HistoryViewContextualMenuPresenter;
+
+/**
+ * Tests for the cache with the files changed by the commits.
+ */
+public class ChangedFilesCacheTest extends GitTestBase {
+
+  /**
+   * <p><b>Description:</b> the changed files are cached when first computed and
+   * the cache gives copies that can be changed by the callers.</p>
+   *
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testCache() throws Exception {
+    String repoPath = "target/test-resources/ChangedFilesCacheTest/testCache";
+    Repository repository = createRepository(repoPath);
+    commitOneFile(repoPath, "a.txt", "a");
+    commitOneFile(repoPath, "b.txt", "b");
+
+    ChangedFilesCache cache = ChangedFilesCache.getInstance();
+    cache.clear();
+    ObjectId head = repository.resolve(Constants.HEAD);
+    assertNull(cache.get(repository, head));
+
+    List<FileStatus> changedFiles = RevCommitUtil.getChangedFiles(head.getName());
+    assertEquals(Arrays.asList(new FileStatus(GitChangeType.ADD, "b.txt")), changedFiles);
+    assertTrue(cache.getUsedMemory() > 0);
+
+    List<FileStatus> cachedFiles = cache.get(repository, head);
+    assertNotNull(cachedFiles);
+    assertEquals(changedFiles, cachedFiles);
+
+    cachedFiles.get(0).setChangeType(GitChangeType.MODIFIED);
+    assertEquals(GitChangeType.ADD, cache.get(repository, head).get(0).getChangeType());
+    assertEquals(changedFiles, RevCommitUtil.getChangedFiles(head.getName()));
+
+    cache.clear();
+    assertNull(cache.get(repository, head));
+    assertEquals(0, cache.getUsedMemory());
+  }
+
+  /**
+   * <p><b>Description:</b> a renamed file keeps its diff entry when read from the cache,
+   * so the history still compares it with its version from before the rename.</p>
+   *
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testRenameCompareOnCacheHit() throws Exception {
+    String repoPath = "target/test-resources/ChangedFilesCacheTest/testRenameCompareOnCacheHit";
+    Repository repository = createRepository(repoPath);
+    commitOneFile(repoPath, "old.txt", "some content that is long enough to be detected as a rename");
+
+    try (Git git = new Git(repository)) {
+      assertTrue(new File(repoPath, "old.txt").renameTo(new File(repoPath, "new.txt")));
+      git.add().addFilepattern("new.txt").call();
+      git.rm().addFilepattern("old.txt").call();
+      git.commit().setMessage("Rename").call();
+    }
+
+    ChangedFilesCache cache = ChangedFilesCache.getInstance();
+    cache.clear();
+    ObjectId head = repository.resolve(Constants.HEAD);
+    List<FileStatus> changedFiles = RevCommitUtil.getChangedFiles(head.getName());
+
+    List<FileStatus> cachedFiles = RevCommitUtil.getChangedFiles(head.getName());
+    assertEquals(changedFiles, cachedFiles);
+    assertEquals(1, cachedFiles.size());
+    FileStatus renamed = cachedFiles.get(0);
+    assertTrue(renamed instanceof FileStatusOverDiffEntry);
+    assertEquals(GitChangeType.RENAME, renamed.getChangeType());
+    assertEquals("old.txt", ((FileStatusOverDiffEntry) renamed).getDiffEntry().getOldPath());
+
+    CommitCharacteristics commit = GitAccess.getInstance().getCommitsCharacteristics(
+        HistoryStrategy.CURRENT_BRANCH, null, null).get(0);
+    assertEquals(head.getName(), commit.getCommitId());
+    List<Action> actions = new HistoryViewContextualMenuPresenter(null).getFileContextualActions(renamed, commit, false);
+    try (MockedStatic<DiffPresenter> diffPresenter = Mockito.mockStatic(DiffPresenter.class)) {
+      actions.get(0).actionPerformed(null);
+      diffPresenter.verify(() -> DiffPresenter.showTwoWayDiff((FileStatusOverDiffEntry) renamed));
+    }
+  }
+}
@@ -3,6 +3,10 @@ package com.oxygenxml.git.service;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +16,8 @@ import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.api.errors.InvalidRemoteException;
 import org.eclipse.jgit.api.errors.TransportException;
 import org.eclipse.jgit.errors.RevisionSyntaxException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.transport.CredentialsProvider;
@@ -165,6 +171,64 @@ public class GitAccesTagsTest extends TestCase {
     assertFalse(gitAccess.existsTag("Tagul1"));
   }
   
+  /**
+   * <p><b>Description:</b> the peeled tags are kept between the requests and they follow
+   * the created and the deleted tags.</p>
+   * 
+   * @throws Exception If it fails.
+   */
+  public void testTagMapFollowsTagChanges() throws Exception {
+    List<CommitCharacteristics> commitsCharacteristics = gitAccess.getCommitsCharacteristics(HistoryStrategy.CURRENT_BRANCH, null, null);
+    String shortCommitID = commitsCharacteristics.get(1).getCommitAbbreviatedId();
+    
+    Map<String, List<String>> tagsMap = gitAccess.getTagMap(gitAccess.getRepository());
+    assertNull(tagsMap.get(shortCommitID));
+    RefsSnapshot snapshot = gitAccess.getRefsCache().getSnapshot();
+    assertSame(snapshot, gitAccess.getRefsCache().getSnapshot());
+    
+    // An annotated tag and a lightweight one.
+    gitAccess.tagCommit("Annotated", "message", commitsCharacteristics.get(1).getCommitId());
+    gitAccess.getGit().tag().setName("Lightweight").setAnnotated(false)
+      .setObjectId(gitAccess.getRepository().parseCommit(gitAccess.getRepository().resolve(commitsCharacteristics.get(1).getCommitId())))
+      .call();
+    tagsMap = gitAccess.getTagMap(gitAccess.getRepository());
+    assertEquals("[Annotated, Lightweight]", tagsMap.get(shortCommitID).toString());
+    
+    gitAccess.deleteTags(false, "Annotated");
+    tagsMap = gitAccess.getTagMap(gitAccess.getRepository());
+    assertEquals("[Lightweight]", tagsMap.get(shortCommitID).toString());
+    
+    // The branches are read in the same snapshot.
+    assertNotSame(snapshot, gitAccess.getRefsCache().getSnapshot());
+    gitAccess.getGit().branchCreate().setName("fromTag").setStartPoint("Lightweight").call();
+    assertTrue(gitAccess.getLocalBranchList().stream().anyMatch(ref -> ref.getName().equals("refs/heads/fromTag")));
+  }
+  
+  /**
+   * <p><b>Description:</b> the snapshot of the references is read once per invalidation.
+   * A reference written by another process is presented after the cache is reset, 
+   * as it is when the application window is activated.</p>
+   * 
+   * @throws Exception If it fails.
+   */
+  public void testRefsSnapshotReadOncePerInvalidation() throws Exception {
+    RefsCache refsCache = gitAccess.getRefsCache();
+    RefsSnapshot snapshot = refsCache.getSnapshot();
+    
+    ObjectId head = gitAccess.getRepository().resolve(Constants.HEAD);
+    File tagFile = new File(gitAccess.getRepository().getDirectory(), "refs/tags/External");
+    Files.write(tagFile.toPath(), (head.name() + "\n").getBytes(StandardCharsets.UTF_8));
+    
+    // Not listed again.
+    assertSame(snapshot, refsCache.getSnapshot());
+    assertFalse(snapshot.getTags(head).contains("External"));
+    
+    refsCache.resetCache();
+    snapshot = refsCache.getSnapshot();
+    assertTrue(snapshot.getTags(head).contains("External"));
+    assertSame(snapshot, refsCache.getSnapshot());
+  }
+  
   /**
    * <p><b>Description:</b> Tests the delete remote tag method.</p>
    * <p><b>Bug ID:</b> EXM-50658</p>
@@ -245,5 +309,97 @@ public class GitAccesTagsTest extends TestCase {
     assertTrue(gitAccess.existsTag("Tag"));
 
   }
+  
+  /**
+   * <p><b>Description:</b> the tags are pushed to and deleted from the remote of the current branch,
+   * even when it is not the default remote.</p>
+   * 
+   * @throws Exception If it fails.
+   */
+  public void testPushTagToRemoteOfCurrentBranch() throws Exception {
+    File file = new File(REPOSITORY_TEST_CLONE);
+    URL url = gitAccess.getRepository().getDirectory().toURI().toURL();
+    gitAccess.clone(new URIish(url), file, null, "refs/heads/main");
+    
+    gitAccess.updateRemote(Constants.DEFAULT_REMOTE_NAME, "upstream", url.toString());
+    gitAccess.setBranchRemoteFromConfig(gitAccess.getBranchInfo().getBranchName(), "upstream");
+    assertEquals("upstream", gitAccess.getRemoteFromCurrentBranch());
+    assertFalse(gitAccess.getRemotesFromConfig().containsKey(Constants.DEFAULT_REMOTE_NAME));
+
+    List<CommitCharacteristics> commitsCharacteristics = gitAccess.getCommitsCharacteristics(HistoryStrategy.CURRENT_BRANCH, null, null);
+    gitAccess.tagCommit("Tag", "", commitsCharacteristics.get(0).getCommitId());
+    gitAccess.pushTag("Tag");
+    assertEquals("[Tag]", getRemoteTags().toString());
+    assertTrue(RemoteTagsSnapshot.getInstance().getNames(gitAccess.getRepository(), "upstream").contains("Tag"));
+
+    gitAccess.deleteTags(true, "Tag");
+    assertTrue(getRemoteTags().isEmpty());
+    assertFalse(RemoteTagsSnapshot.getInstance().getNames(gitAccess.getRepository(), "upstream").contains("Tag"));
+  }
+  
+  /**
+   * <p><b>Description:</b> the detached HEAD is detected from the HEAD reference
+   * and it presents the tags of its commit.</p>
+   * 
+   * @throws Exception If it fails.
+   */
+  public void testBranchInfoOnDetachedHead() throws Exception {
+    List<CommitCharacteristics> commitsCharacteristics = gitAccess.getCommitsCharacteristics(HistoryStrategy.CURRENT_BRANCH, null, null);
+    String commitId = commitsCharacteristics.get(1).getCommitId();
+    String branchName = gitAccess.getBranchInfo().getBranchName();
+    assertFalse(gitAccess.getBranchInfo().isDetached());
+    
+    gitAccess.tagCommit("Detached", "", commitId);
+    gitAccess.getGit().checkout().setName(commitId).call();
+    BranchInfo branchInfo = gitAccess.getBranchInfo();
+    assertTrue(branchInfo.isDetached());
+    assertEquals(commitId, branchInfo.getBranchName());
+    assertEquals(commitsCharacteristics.get(1).getCommitAbbreviatedId(), branchInfo.getShortBranchName());
+    assertEquals("[Detached]", branchInfo.getTags().toString());
+    assertSame(branchInfo, gitAccess.getBranchInfo());
+    
+    gitAccess.tagCommit("Detached2", "", commitId);
+    assertEquals("[Detached, Detached2]", gitAccess.getBranchInfo().getTags().toString());
+    
+    gitAccess.setBranch(branchName);
+    branchInfo = gitAccess.getBranchInfo();
+    assertFalse(branchInfo.isDetached());
+    assertEquals(branchName, branchInfo.getBranchName());
+  }
+  
+  /**
+   * <p><b>Description:</b> the remote tags are known from the last fetch and from the tags pushed
+   * or deleted since, without listing the remote tags.</p>
+   * 
+   * @throws Exception If it fails.
+   */
+  public void testKnownRemoteTags() throws Exception {
+    File file = new File(REPOSITORY_TEST_CLONE);
+    URL url = gitAccess.getRepository().getDirectory().toURI().toURL();
+    List<CommitCharacteristics> commitsCharacteristics = gitAccess.getCommitsCharacteristics(HistoryStrategy.CURRENT_BRANCH, null, null);
+    gitAccess.tagCommit("OnRemote", "", commitsCharacteristics.get(0).getCommitId());
+    gitAccess.clone(new URIish(url), file, null, "refs/heads/main");
+    
+    RemoteTagsSnapshot snapshot = RemoteTagsSnapshot.getInstance();
+    snapshot.clear();
+    Repository repository = gitAccess.getRepository();
+    String remote = gitAccess.getRemoteFromCurrentBranch();
+    assertTrue(snapshot.getNames(repository, remote).isEmpty());
+    assertEquals(0, snapshot.getTimestamp());
+    
+    gitAccess.fetch();
+    assertEquals("[OnRemote]", snapshot.getNames(repository, remote).toString());
+    assertTrue(snapshot.getTimestamp() > 0);
+    
+    gitAccess.tagCommit("Pushed", "", commitsCharacteristics.get(1).getCommitId());
+    gitAccess.pushTag("Pushed");
+    assertEquals(
+        Arrays.asList("OnRemote", "Pushed"),
+        snapshot.getNames(repository, remote).stream().sorted().collect(Collectors.toList()));
+    
+    gitAccess.deleteTags(true, "OnRemote");
+    assertEquals("[Pushed]", snapshot.getNames(repository, remote).toString());
+    assertEquals(getRemoteTags(), new ArrayList<>(snapshot.getNames(repository, remote)));
+  }
  
 }
@@ -215,6 +215,40 @@ public class GitAccessCommitFileContentTest extends TestCase {
 		assertEquals(expected, actual);
 	}
 	
+	/**
+	 * <p><b>Description:</b> the stages of the conflicting files are read from the index once
+	 * and read again after the index changes.</p>
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testConflictStagesFollowIndex() throws Exception {
+	  pushOneFileToRemote("hellllo");
+
+	  gitAccess.setRepositorySynchronously(SECOND_LOCAL_TEST_REPOSITORY);
+	  OptionsManager.getInstance().saveSelectedRepository(SECOND_LOCAL_TEST_REPOSITORY);
+	  PrintWriter out = new PrintWriter(SECOND_LOCAL_TEST_REPOSITORY + "/test.txt");
+	  out.println("teeeeeest");
+	  out.close();
+
+	  gitAccess.add(new FileStatus(GitChangeType.ADD, "test.txt"));
+	  gitAccess.commit("conflict");
+	  pull("", "", PullType.MERGE_FF, false);
+
+	  Repository repository = gitAccess.getRepository();
+	  ConflictStages conflictStages = ConflictStages.getInstance();
+	  assertEquals(1, conflictStages.getConflictingPaths(repository).size());
+	  assertTrue(conflictStages.isInConflict(repository, "test.txt"));
+	  // Added on both sides.
+	  assertNull(conflictStages.getStage(repository, "test.txt", 1));
+	  assertEquals(gitAccess.getCommit(Commit.MINE, "test.txt"), conflictStages.getStage(repository, "test.txt", 2));
+	  assertEquals(gitAccess.getCommit(Commit.THEIRS, "test.txt"), conflictStages.getStage(repository, "test.txt", 3));
+
+	  gitAccess.add(new FileStatus(GitChangeType.CONFLICT, "test.txt"));
+	  assertFalse(conflictStages.isInConflict(repository, "test.txt"));
+	  assertTrue(conflictStages.getConflictingPaths(repository).isEmpty());
+	}
+
 	/**
    * <p><b>Description:</b> for file that are not in conflict but are referenced from
    * files that are, when asking for MINE we actually return LAST COMMIt for that file.</p>
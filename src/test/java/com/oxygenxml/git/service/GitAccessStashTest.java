@@ -133,6 +133,26 @@ public class GitAccessStashTest extends TestCase {
   }
 
 
+  /**
+   * <p><b>Description:</b> the changes of a stash are computed against its first parent, so a change that is 
+   * also in the index is reported, even if the stash is a merge of the HEAD and of the index commits.</p>
+   *
+   * @throws Exception
+   */
+  public void testChangedFilesOfStash() throws Exception { 
+    try (PrintWriter out = new PrintWriter(LOCAL_TEST_REPOSITORY + "/test.txt")) {
+      out.println("modify");
+    }
+    gitAccess.addAll(gitAccess.getUnstagedFiles());
+    RevCommit commitStash = gitAccess.createStash(false, null);
+    assertEquals(2, commitStash.getParentCount());
+    
+    assertEquals(
+        "[(changeType=CHANGED, fileLocation=test.txt)]", 
+        RevCommitUtil.getChangedFiles(commitStash.getName()).toString());
+  }
+
+
   /**
    * <p><b>Description:</b> tests the com.oxygenxml.git.service.GitAccess.stashApply(String stashRef) API.</p>
    * <p><b>Bug ID:</b> EXM-45983</p>
@@ -82,6 +82,45 @@ public class GitHistoryTest extends HistoryPanelTestBase {
     }
   }
   
+  /**
+   * The identities are shared between the commits and the details decoded from a commit are kept after first use.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testCommitDetailsSharedAndCached() throws Exception {
+    URL script = getClass().getClassLoader().getResource("scripts/history_script.txt");
+
+    File wcTree = new File("target/gen/GitHistoryTest_testCommitDetailsSharedAndCached");
+    RepoGenerationScript.generateRepository(script, wcTree);
+
+    try {
+      GitAccess.getInstance().setRepositorySynchronously(wcTree.getAbsolutePath());
+
+      List<CommitCharacteristics> commitsCharacteristics = GitAccess.getInstance()
+          .getCommitsCharacteristics(HistoryStrategy.CURRENT_BRANCH, null, new RenameTracker());
+      assertEquals(4, commitsCharacteristics.size());
+
+      CommitCharacteristics first = commitsCharacteristics.get(0);
+      for (CommitCharacteristics commit : commitsCharacteristics) {
+        assertNotNull(commit.getPlotCommit());
+        assertSame(first.getAuthor(), commit.getAuthor());
+        assertSame(first.getCommitter(), commit.getCommitter());
+
+        String message = commit.getCommitMessage();
+        assertEquals(commit.getPlotCommit().getFullMessage(), message);
+        assertSame(message, commit.getCommitMessage());
+
+        String commitId = commit.getCommitId();
+        assertEquals(commit.getPlotCommit().name(), commitId);
+        assertSame(commitId, commit.getCommitId());
+      }
+    } finally {
+      GitAccess.getInstance().closeRepo();
+      FileUtil.deleteRecursivelly(wcTree);
+    }
+  }
+
   /**
    * Tests the files that are contained in each commit.
    * 
@@ -260,6 +299,11 @@ public class GitHistoryTest extends HistoryPanelTestBase {
       
       assertEquals(
           expected, dump);
+      
+      // Only the files that differ from every parent are reported, and the merge was clean.
+      assertEquals(
+          "", 
+          dumpFS(RevCommitUtil.getChangedFiles(commitsCharacteristics.get(1).getCommitId())));
   
   
       GitAccess.getInstance().setBranch("feature");
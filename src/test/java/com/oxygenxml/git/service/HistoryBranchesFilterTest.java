@@ -0,0 +1,84 @@
+package com.oxygenxml.git.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.junit.Test;
+
+/**
+ * Tests for the selection of the branches presented in the history of all branches.
+ */
+public class HistoryBranchesFilterTest extends GitTestBase {
+
+  /**
+   * <p><b>Description:</b> the glob patterns match the short and the full branch names.</p>
+   */
+  @Test
+  public void testGlobToPattern() {
+    Pattern pattern = HistoryBranchesFilter.globToPattern("origin/release-*");
+    assertTrue(pattern.matcher("origin/release-1.0").matches());
+    assertTrue(pattern.matcher("origin/release-").matches());
+    assertFalse(pattern.matcher("origin/releasex").matches());
+
+    pattern = HistoryBranchesFilter.globToPattern("a.b?");
+    assertTrue(pattern.matcher("a.bc").matches());
+    assertFalse(pattern.matcher("axbc").matches());
+  }
+
+  /**
+   * <p><b>Description:</b> the branches are selected by patterns and by count.
+   * The current branch is always kept.</p>
+   *
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testFilter() throws Exception {
+    String repoPath = "target/test-resources/HistoryBranchesFilterTest/testFilter";
+    Repository repository = createRepository(repoPath);
+    commitOneFile(repoPath, "a.txt", "a");
+    try (Git git = new Git(repository)) {
+      git.branchCreate().setName("feature/a").call();
+      git.branchCreate().setName("feature/b").call();
+      git.branchCreate().setName("release-1").call();
+    }
+    String currentBranch = repository.getFullBranch();
+    List<String> alwaysIncluded = Collections.singletonList(currentBranch);
+    List<Ref> branches = repository.getRefDatabase().getRefsByPrefix(Constants.R_HEADS);
+    assertEquals(4, branches.size());
+
+    assertTrue(new HistoryBranchesFilter("", "", 0, 0).keepsAll());
+
+    Map<String, ObjectId> tips = new HistoryBranchesFilter("feature/*", "", 0, 0)
+        .filter(repository, branches, alwaysIncluded);
+    assertEquals(
+        new TreeSet<>(Arrays.asList(currentBranch, "refs/heads/feature/a", "refs/heads/feature/b")),
+        new TreeSet<>(tips.keySet()));
+
+    tips = new HistoryBranchesFilter("", "feature/b, refs/heads/release-*", 0, 0)
+        .filter(repository, branches, alwaysIncluded);
+    assertEquals(
+        new TreeSet<>(Arrays.asList(currentBranch, "refs/heads/feature/a")),
+        new TreeSet<>(tips.keySet()));
+
+    // All the branches were just created.
+    tips = new HistoryBranchesFilter("", "", 1, 0).filter(repository, branches, alwaysIncluded);
+    assertEquals(4, tips.size());
+
+    tips = new HistoryBranchesFilter("", "", 0, 2).filter(repository, branches, alwaysIncluded);
+    assertEquals(2, tips.size());
+    assertTrue(tips.containsKey(currentBranch));
+  }
+}
@@ -0,0 +1,137 @@
+package com.oxygenxml.git.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.Test;
+
+/**
+ * Tests for the search of the commits that add or remove a text.
+ */
+public class PickaxeSearchTest extends GitTestBase {
+
+  /**
+   * <p><b>Description:</b> a commit matches only if it changes the number of occurrences of the searched text.
+   * The matches are reported in the order of the searched commits.</p>
+   *
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testSearch() throws Exception {
+    String repoPath = "target/test-resources/PickaxeSearchTest/testSearch";
+    Repository repository = createRepository(repoPath);
+    commitOneFile(repoPath, "a.txt", "alpha");
+    commitOneFile(repoPath, "b.txt", "beta");
+    commitOneFile(repoPath, "a.txt", "alpha gamma");
+
+    List<RevCommit> commits = new ArrayList<>();
+    try (Git git = new Git(repository)) {
+      git.log().call().forEach(commits::add);
+    }
+    assertEquals(3, commits.size());
+
+    assertEquals(Arrays.asList(commits.get(0)), search(repository, "gamma", null, commits));
+    assertEquals(Arrays.asList(commits.get(2)), search(repository, "alpha", null, commits));
+    assertEquals(Arrays.asList(commits.get(0), commits.get(1)), search(repository, "/g.mma|beta/", null, commits));
+    assertEquals(Arrays.asList(), search(repository, "g.mma", null, commits));
+    assertEquals(Arrays.asList(), search(repository, "beta", "a.txt", commits));
+    assertEquals(Arrays.asList(commits.get(1)), search(repository, "beta", "b.txt", commits));
+  }
+
+  /**
+   * <p><b>Description:</b> when a file is searched, its renames are followed: the commit that renames it
+   * matches only if it also changes the searched text.</p>
+   *
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testSearchFollowsRenames() throws Exception {
+    String repoPath = "target/test-resources/PickaxeSearchTest/testSearchFollowsRenames";
+    Repository repository = createRepository(repoPath);
+    String content = "alpha\nsome lines\nthat make the file\nsimilar enough\nafter the rename\n";
+    commitOneFile(repoPath, "old.txt", content);
+
+    List<RevCommit> commits = new ArrayList<>();
+    try (Git git = new Git(repository)) {
+      assertTrue(new File(repoPath, "old.txt").renameTo(new File(repoPath, "new.txt")));
+      git.add().addFilepattern("new.txt").call();
+      git.rm().addFilepattern("old.txt").call();
+      git.commit().setMessage("Rename").call();
+      commitOneFile(repoPath, "new.txt", content + "beta\n");
+      git.log().call().forEach(commits::add);
+    }
+    assertEquals(3, commits.size());
+    
+    // The path of the file in each commit, as the history of the file tracks it.
+    Map<ObjectId, String> paths = new HashMap<>();
+    paths.put(commits.get(0), "new.txt");
+    paths.put(commits.get(1), "new.txt");
+    paths.put(commits.get(2), "old.txt");
+
+    List<ObjectId> matches = new ArrayList<>();
+    PickaxeSearch search = new PickaxeSearch(repository, PickaxeSearch.createPattern("alpha"), paths::get);
+    assertTrue(search.search(commits, matches::add));
+    // Not the rename.
+    assertEquals(Arrays.asList(commits.get(2)), matches);
+    
+    matches.clear();
+    search = new PickaxeSearch(repository, PickaxeSearch.createPattern("beta"), paths::get);
+    assertTrue(search.search(commits, matches::add));
+    assertEquals(Arrays.asList(commits.get(0)), matches);
+  }
+
+  /**
+   * <p><b>Description:</b> a canceled search reports nothing.</p>
+   *
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testCancel() throws Exception {
+    String repoPath = "target/test-resources/PickaxeSearchTest/testCancel";
+    Repository repository = createRepository(repoPath);
+    commitOneFile(repoPath, "a.txt", "alpha");
+
+    List<RevCommit> commits = new ArrayList<>();
+    try (Git git = new Git(repository)) {
+      git.log().call().forEach(commits::add);
+    }
+
+    PickaxeSearch search = new PickaxeSearch(repository, PickaxeSearch.createPattern("alpha"), null);
+    search.cancel();
+    List<ObjectId> matches = new ArrayList<>();
+    assertFalse(search.search(commits, matches::add));
+    assertTrue(matches.isEmpty());
+  }
+
+  /**
+   * Searches a text.
+   *
+   * @param repository The repository.
+   * @param text       The searched text.
+   * @param filePath   The file to search in or <code>null</code>.
+   * @param commits    The commits to search.
+   *
+   * @return The matching commits.
+   *
+   * @throws Exception If it fails.
+   */
+  private static List<ObjectId> search(Repository repository, String text, String filePath, List<RevCommit> commits) throws Exception {
+    List<ObjectId> matches = new ArrayList<>();
+    PickaxeSearch search = new PickaxeSearch(
+        repository, PickaxeSearch.createPattern(text), filePath != null ? commit -> filePath : null);
+    assertTrue(search.search(commits, matches::add));
+    return matches;
+  }
+}
@@ -0,0 +1,220 @@
+package com.oxygenxml.git.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffEntry.ChangeType;
+import org.eclipse.jgit.diff.RenameDetector;
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.junit.Test;
+
+/**
+ * Tests for the memoized rename detection.
+ */
+public class RenameDetectionTest extends GitTestBase {
+
+  /**
+   * <p><b>Description:</b> the paths with the same file name and directory are the most similar.</p>
+   */
+  @Test
+  public void testNameScore() {
+    assertEquals(100, RenameDetection.nameScore("dir/a.txt", "dir/a.txt"));
+    assertTrue(RenameDetection.nameScore("dir/a.txt", "other/a.txt") > RenameDetection.nameScore("dir/a.txt", "other/b.xml"));
+  }
+
+  /**
+   * <p><b>Description:</b> identical and similar files are detected as renames, the same as JGit does.
+   * The second detection of the same changes is served from the cache.</p>
+   *
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testCompute() throws Exception {
+    String repoPath = "target/test-resources/RenameDetectionTest/testCompute";
+    Repository repository = createRepository(repoPath);
+    String content = createContent(20);
+    commitOneFile(repoPath, "exact.txt", "same content");
+    commitOneFile(repoPath, "similar.txt", content);
+
+    try (Git git = new Git(repository)) {
+      assertTrue(new File(repoPath, "exact.txt").renameTo(new File(repoPath, "exact_renamed.txt")));
+      assertTrue(new File(repoPath, "similar.txt").delete());
+      assertTrue(new File(repoPath, "dir").mkdirs());
+      write(new File(repoPath, "dir/similar.txt"), content.replace("line 5", "changed line"));
+      List<DiffEntry> diffs = commitAndScan(git, "Renames");
+      assertEquals(4, diffs.size());
+
+      try (ObjectReader reader = repository.newObjectReader()) {
+        RenameDetection.clearResults();
+        List<DiffEntry> renames = assertSameAsJGit(repository, reader, diffs);
+        assertEquals(
+            "[RENAME dir/similar.txt<-similar.txt, RENAME exact_renamed.txt<-exact.txt]", 
+            dump(renames));
+
+        List<DiffEntry> cached = RenameDetection.compute(repository, reader, new ArrayList<>(diffs));
+        assertEquals(renames.size(), cached.size());
+        for (int i = 0; i < renames.size(); i++) {
+          // The same instances, not detected again.
+          assertSame(renames.get(i), cached.get(i));
+        }
+      }
+    }
+  }
+
+  /**
+   * <p><b>Description:</b> the rename limit is applied the same as JGit does: when there are more added or 
+   * deleted files than the limit, only the exact renames are detected. A different limit is a different
+   * detection.</p>
+   *
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testComputeOverRenameLimit() throws Exception {
+    String repoPath = "target/test-resources/RenameDetectionTest/testComputeOverRenameLimit";
+    Repository repository = createRepository(repoPath);
+    String content = createContent(20);
+    commitOneFile(repoPath, "a.txt", content);
+    commitOneFile(repoPath, "b.txt", content + "b");
+    commitOneFile(repoPath, "c.txt", content + "c");
+
+    try (Git git = new Git(repository)) {
+      for (String name : new String[] {"a.txt", "b.txt", "c.txt"}) {
+        assertTrue(new File(repoPath, name).delete());
+      }
+      write(new File(repoPath, "d.txt"), content + "d");
+      List<DiffEntry> diffs = commitAndScan(git, "Merged");
+      assertEquals(4, diffs.size());
+
+      try (ObjectReader reader = repository.newObjectReader()) {
+        RenameDetection.clearResults();
+        List<DiffEntry> renames = assertSameAsJGit(repository, reader, diffs);
+        assertEquals(1, countRenames(renames));
+
+        // 1 added and 3 deleted files, over the limit although 1 * 3 <= 2 * 2.
+        repository.getConfig().setInt("diff", null, "renamelimit", 2);
+        renames = assertSameAsJGit(repository, reader, diffs);
+        assertEquals(0, countRenames(renames));
+        assertEquals("[DELETE a.txt, DELETE b.txt, DELETE c.txt, ADD d.txt]", dump(renames));
+      }
+    }
+  }
+
+  /**
+   * Detects the renames and checks that the result is the same as the one of JGit's rename detector.
+   *
+   * @param repository The repository.
+   * @param reader     The reader.
+   * @param diffs      The changes.
+   *
+   * @return The changes, with the detected renames.
+   *
+   * @throws Exception If it fails.
+   */
+  private static List<DiffEntry> assertSameAsJGit(Repository repository, ObjectReader reader, List<DiffEntry> diffs) throws Exception {
+    RenameDetector renameDetector = new RenameDetector(repository);
+    renameDetector.addAll(diffs);
+    List<DiffEntry> expected = renameDetector.compute(reader, NullProgressMonitor.INSTANCE);
+
+    List<DiffEntry> actual = RenameDetection.compute(repository, reader, new ArrayList<>(diffs));
+    assertEquals(dump(expected), dump(actual));
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+    }
+    return actual;
+  }
+
+  /**
+   * Commits all the changes from the working copy and compares the commit with its parent.
+   *
+   * @param git     The git instance.
+   * @param message The commit message.
+   *
+   * @return The changes, without renames.
+   *
+   * @throws Exception If it fails.
+   */
+  private static List<DiffEntry> commitAndScan(Git git, String message) throws Exception {
+    git.add().addFilepattern(".").call();
+    git.add().setUpdate(true).addFilepattern(".").call();
+    RevCommit commit = git.commit().setMessage(message).call();
+    try (TreeWalk treeWalk = new TreeWalk(git.getRepository())) {
+      treeWalk.setRecursive(true);
+      treeWalk.addTree(commit.getParent(0).getTree());
+      treeWalk.addTree(commit.getTree());
+      return DiffEntry.scan(treeWalk);
+    }
+  }
+
+  /**
+   * @param lines The number of lines.
+   *
+   * @return A content with the given number of distinct lines.
+   */
+  private static String createContent(int lines) {
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < lines; i++) {
+      content.append("line ").append(i).append("\n");
+    }
+    return content.toString();
+  }
+
+  /**
+   * Writes a file.
+   *
+   * @param file    The file.
+   * @param content The content.
+   *
+   * @throws Exception If it fails.
+   */
+  private static void write(File file, String content) throws Exception {
+    try (PrintWriter out = new PrintWriter(file)) {
+      out.print(content);
+    }
+  }
+
+  /**
+   * @param entries The changes.
+   *
+   * @return The number of renames.
+   */
+  private static int countRenames(List<DiffEntry> entries) {
+    int count = 0;
+    for (DiffEntry entry : entries) {
+      if (entry.getChangeType() == ChangeType.RENAME) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Dumps the changes.
+   *
+   * @param entries The changes.
+   *
+   * @return A string representation.
+   */
+  private static String dump(List<DiffEntry> entries) {
+    List<String> dump = new ArrayList<>();
+    for (DiffEntry entry : entries) {
+      if (entry.getChangeType() == ChangeType.RENAME || entry.getChangeType() == ChangeType.COPY) {
+        dump.add(entry.getChangeType() + " " + entry.getNewPath() + "<-" + entry.getOldPath());
+      } else {
+        dump.add(entry.getChangeType() + " " + entry.getPath(entry.getChangeType() == ChangeType.DELETE ? DiffEntry.Side.OLD : DiffEntry.Side.NEW));
+      }
+    }
+    return dump.toString();
+  }
+}
@@ -0,0 +1,110 @@
+package com.oxygenxml.git.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.Test;
+
+/**
+ * Tests for the index of the renames performed by the commits.
+ */
+public class RenameIndexTest extends GitTestBase {
+
+  /**
+   * <p><b>Description:</b> the path of a renamed file is found in both directions from the index.
+   * The commits between the revisions are indexed on demand.</p>
+   *
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testFindPath() throws Exception {
+    String repoPath = "target/test-resources/RenameIndexTest/testFindPath";
+    Repository repository = createRepository(repoPath);
+    commitOneFile(repoPath, "a.txt", "some content that is long enough to be detected as a rename");
+    commitOneFile(repoPath, "b.txt", "b");
+
+    try (Git git = new Git(repository)) {
+      assertTrue(new File(repoPath, "a.txt").renameTo(new File(repoPath, "c.txt")));
+      git.add().addFilepattern("c.txt").call();
+      git.rm().addFilepattern("a.txt").call();
+      git.commit().setMessage("Rename").call();
+
+      List<RevCommit> commits = new ArrayList<>();
+      git.log().call().forEach(commits::add);
+      assertEquals(3, commits.size());
+      RevCommit first = commits.get(2);
+      RevCommit head = commits.get(0);
+
+      RenameIndex index = RenameIndex.getInstance(repository);
+      assertEquals("c.txt", index.findPath(first, head, "a.txt", true).get());
+      assertEquals("a.txt", index.findPath(first, head, "c.txt", false).get());
+      assertEquals("b.txt", index.findPath(first, head, "b.txt", true).get());
+      assertEquals("a.txt", index.findPath(first, commits.get(1), "a.txt", true).get());
+      // Not on the first-parent chain.
+      assertFalse(index.findPath(head, first, "c.txt", true).isPresent());
+
+      assertEquals("c.txt", RevCommitUtil.getNewPath(git, first, head, "a.txt"));
+      assertEquals("a.txt", RevCommitUtil.getOldPath(git, first, head, "c.txt"));
+    }
+  }
+
+  /**
+   * <p><b>Description:</b> looking forward, a copied file is still at its old path and only the renamed one moves.
+   * Looking backward, the copy is followed to its source.</p>
+   *
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testFindPathWithCopy() throws Exception {
+    String repoPath = "target/test-resources/RenameIndexTest/testFindPathWithCopy";
+    Repository repository = createRepository(repoPath);
+    String content = "some content that is long enough to be detected as a rename";
+    commitOneFile(repoPath, "x.txt", content);
+
+    try (Git git = new Git(repository)) {
+      assertTrue(new File(repoPath, "x.txt").renameTo(new File(repoPath, "y.txt")));
+      assertTrue(new File(repoPath, "other").mkdirs());
+      try (PrintWriter out = new PrintWriter(new File(repoPath, "other/z.xml"))) {
+        out.print(content);
+      }
+      git.add().addFilepattern(".").call();
+      git.rm().addFilepattern("x.txt").call();
+      RevCommit head = git.commit().setMessage("Rename and copy").call();
+      RevCommit first = head.getParent(0);
+
+      RenameIndex index = RenameIndex.getInstance(repository);
+      assertEquals("y.txt", index.findPath(first, head, "x.txt", true).get());
+      assertEquals("x.txt", index.findPath(first, head, "y.txt", false).get());
+      assertEquals("x.txt", index.findPath(first, head, "other/z.xml", false).get());
+    }
+  }
+
+  /**
+   * <p><b>Description:</b> the index is dropped when another repository is used.</p>
+   *
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testDropIndexOnRepositoryChange() throws Exception {
+    Repository first = createRepository("target/test-resources/RenameIndexTest/testDropIndexOnRepositoryChange/first");
+    Repository second = createRepository("target/test-resources/RenameIndexTest/testDropIndexOnRepositoryChange/second");
+
+    RenameIndex firstIndex = RenameIndex.getInstance(first);
+    assertSame(firstIndex, RenameIndex.getInstance(first));
+
+    RenameIndex secondIndex = RenameIndex.getInstance(second);
+    assertNotSame(firstIndex, secondIndex);
+    assertNotSame(firstIndex, RenameIndex.getInstance(first));
+  }
+}
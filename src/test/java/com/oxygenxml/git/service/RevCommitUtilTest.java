@@ -3,18 +3,26 @@ package com.oxygenxml.git.service;
 import java.io.File;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand.ResetType;
 import org.eclipse.jgit.diff.DiffEntry;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revplot.PlotCommit;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.junit.Test;
 
+import com.oxygenxml.git.view.history.CommitCharacteristics;
+import com.oxygenxml.git.view.history.HistoryStrategy;
+import com.oxygenxml.git.view.history.graph.VisualCommitsList.VisualLane;
+
 /**
  * Utility methods Test case.
  */
@@ -78,4 +86,133 @@ public class RevCommitUtilTest extends GitTestBase {
     sort = RevCommitUtil.sort(new2old, "C", true);
     assertEquals("[C, B, A]", sort.toString());
   }
+  
+  /**
+   * Only the commits created after the history was loaded are collected when the history is refreshed incrementally.
+   * They continue the lane of the presented top commit, which is walked again to be linked with them.
+   * A rewritten history cannot be updated incrementally.
+   */
+  @Test
+  public void testCollectNewRevisions() throws Exception {
+    String repoPath = "target/test-resources/RevCommitUtilTest/testCollectNewRevisions";
+    Repository repository = createRepository(repoPath);
+    commitOneFile(repoPath, "a.txt", "a");
+    commitOneFile(repoPath, "a2.txt", "a2");
+    Map<String, ObjectId> oldTips = RevCommitUtil.getHistoryTips(repository, HistoryStrategy.CURRENT_LOCAL_BRANCH);
+    assertEquals(1, oldTips.size());
+    List<CommitCharacteristics> presented = new ArrayList<>();
+    RevCommitUtil.collectCurrentLocalBranchRevisions(null, presented, repository, null);
+    CommitCharacteristics presentedTop = presented.get(0);
+    
+    commitOneFile(repoPath, "b.txt", "b");
+    commitOneFile(repoPath, "c.txt", "c");
+    Map<String, ObjectId> newTips = RevCommitUtil.getHistoryTips(repository, HistoryStrategy.CURRENT_LOCAL_BRANCH);
+    assertTrue(RevCommitUtil.isFastForward(repository, oldTips, newTips));
+    
+    Optional<List<CommitCharacteristics>> collected = RevCommitUtil.collectNewRevisions(
+        repository, newTips.values(), oldTips.values(), presentedTop);
+    assertTrue(collected.isPresent());
+    List<CommitCharacteristics> newRevisions = collected.get();
+    assertEquals(3, newRevisions.size());
+    assertEquals("New file: c.txt", newRevisions.get(0).getCommitMessage());
+    assertEquals("New file: b.txt", newRevisions.get(1).getCommitMessage());
+    assertEquals(presentedTop.getCommitId(), newRevisions.get(2).getCommitId());
+    
+    // The lanes continue over the boundary, as in a complete walk.
+    List<CommitCharacteristics> all = new ArrayList<>();
+    RevCommitUtil.collectCurrentLocalBranchRevisions(null, all, repository, null);
+    for (int i = 0; i < newRevisions.size(); i++) {
+      PlotCommit<VisualLane> commit = newRevisions.get(i).getPlotCommit();
+      PlotCommit<VisualLane> expected = all.get(i).getPlotCommit();
+      assertEquals(expected.getName(), commit.getName());
+      assertEquals(expected.getLane().getPosition(), commit.getLane().getPosition());
+      assertEquals(expected.getChildCount(), commit.getChildCount());
+      assertEquals(expected.getParentCount(), commit.getParentCount());
+    }
+    PlotCommit<VisualLane> replacedTop = newRevisions.get(2).getPlotCommit();
+    assertEquals(1, replacedTop.getChildCount());
+    assertSame(newRevisions.get(1).getPlotCommit(), replacedTop.getChild(0));
+    assertEquals(presentedTop.getPlotCommit().getLane().getPosition(), replacedTop.getLane().getPosition());
+    
+    GitAccess.getInstance().resetToCommit(ResetType.HARD, oldTips.values().iterator().next().getName());
+    Map<String, ObjectId> afterResetTips = RevCommitUtil.getHistoryTips(repository, HistoryStrategy.CURRENT_LOCAL_BRANCH);
+    assertFalse(RevCommitUtil.isFastForward(repository, newTips, afterResetTips));
+  }
+  
+  /**
+   * New commits on two branches need two lanes, which cannot be connected to the presented graph, 
+   * so the history must be collected again.
+   */
+  @Test
+  public void testCollectNewRevisionsOnTwoLanes() throws Exception {
+    String repoPath = "target/test-resources/RevCommitUtilTest/testCollectNewRevisionsOnTwoLanes";
+    Repository repository = createRepository(repoPath);
+    commitOneFile(repoPath, "a.txt", "a");
+    GitAccess gitAccess = GitAccess.getInstance();
+    String mainBranch = gitAccess.getBranchInfo().getBranchName();
+    gitAccess.createBranch("other");
+    Map<String, ObjectId> oldTips = RevCommitUtil.getHistoryTips(repository, HistoryStrategy.ALL_LOCAL_BRANCHES);
+    List<CommitCharacteristics> presented = new ArrayList<>();
+    RevCommitUtil.collectLocalBranchesRevisions(null, presented, repository, null);
+    
+    commitOneFile(repoPath, "b.txt", "b");
+    gitAccess.setBranch("other");
+    commitOneFile(repoPath, "c.txt", "c");
+    gitAccess.setBranch(mainBranch);
+    Map<String, ObjectId> newTips = RevCommitUtil.getHistoryTips(repository, HistoryStrategy.ALL_LOCAL_BRANCHES);
+    assertTrue(RevCommitUtil.isFastForward(repository, oldTips, newTips));
+    
+    assertFalse(RevCommitUtil.collectNewRevisions(
+        repository, newTips.values(), oldTips.values(), presented.get(0)).isPresent());
+  }
+
+  /**
+   * <p><b>Description:</b> a file renamed in the working copy, but not committed, is found
+   * among the new files of the working copy.</p>
+   *
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testNewPathInWorkingCopy() throws Exception {
+    String repoPath = "target/test-resources/RevCommitUtilTest/testNewPathInWorkingCopy";
+    Repository repository = createRepository(repoPath);
+    commitOneFile(repoPath, "a.txt", "content of a file that will be renamed in the working copy");
+    commitOneFile(repoPath, "b.txt", "some other content");
+    String headId = repository.resolve("HEAD").getName();
+
+    // Initialize the cached status before the rename.
+    GitAccess.getInstance().getStatus();
+    assertTrue(new File(repoPath, "a.txt").renameTo(new File(repoPath, "renamed.txt")));
+
+    Git git = GitAccess.getInstance().getGit();
+    assertEquals("renamed.txt", RevCommitUtil.getNewPathInWorkingCopy(git, "a.txt", headId));
+    assertEquals("b.txt", RevCommitUtil.getNewPathInWorkingCopy(git, "b.txt", headId));
+  }
+
+  /**
+   * <p><b>Description:</b> the last local commits of many paths are found with one walk and
+   * they are the same as the ones found for each path.</p>
+   *
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testLastLocalCommitForPaths() throws Exception {
+    String repoPath = "target/test-resources/RevCommitUtilTest/testLastLocalCommitForPaths";
+    createRepository(repoPath);
+    commitOneFile(repoPath, "a.txt", "a");
+    commitOneFile(repoPath, "b.txt", "b");
+    new File(repoPath, "dir").mkdirs();
+    commitOneFile(repoPath, "dir/c.txt", "c");
+
+    Git git = GitAccess.getInstance().getGit();
+    Map<String, ObjectId> localCommits = RevCommitUtil.getLastLocalCommitForPaths(
+        git, Arrays.asList("a.txt", "dir/c.txt", "dir", "missing.txt"));
+    assertEquals(3, localCommits.size());
+    assertFalse(localCommits.containsKey("missing.txt"));
+    for (String path : localCommits.keySet()) {
+      assertEquals(RevCommitUtil.getLastLocalCommitForPath(git, path), localCommits.get(path));
+    }
+    assertEquals(localCommits.get("dir/c.txt"), localCommits.get("dir"));
+    assertNull(RevCommitUtil.getLastLocalCommitForPath(git, "missing.txt"));
+  }
 }
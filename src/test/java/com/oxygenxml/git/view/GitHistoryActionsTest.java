@@ -13,7 +13,9 @@ import javax.swing.Action;
 import javax.swing.JPopupMenu;
 
 import org.apache.commons.io.IOUtils;
+import org.eclipse.jgit.api.Git;
 import org.junit.Test;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -24,7 +26,9 @@ import com.oxygenxml.git.service.RevCommitUtil;
 import com.oxygenxml.git.service.entities.FileStatus;
 import com.oxygenxml.git.utils.FileUtil;
 import com.oxygenxml.git.utils.script.RepoGenerationScript;
+import com.oxygenxml.git.view.blame.BlameManager;
 import com.oxygenxml.git.view.history.CommitCharacteristics;
+import com.oxygenxml.git.view.history.HistoryController;
 import com.oxygenxml.git.view.history.HistoryStrategy;
 import com.oxygenxml.git.view.history.HistoryViewContextualMenuPresenter;
 import com.oxygenxml.git.view.history.RenameTracker;
@@ -69,6 +73,7 @@ public class GitHistoryActionsTest extends GitTestBase {
       assertEquals(expected, dump);
 
       HistoryViewContextualMenuPresenter presenter = new HistoryViewContextualMenuPresenter(null);
+      presenter.setHistoryController(Mockito.mock(HistoryController.class));
 
       List<Action> actions = new ArrayList<>();
       JPopupMenu jPopupMenu = Mockito.mock(JPopupMenu.class);
@@ -94,8 +99,22 @@ public class GitHistoryActionsTest extends GitTestBase {
           + "Compare_file_with_working_tree_version, "
           + "Open_this_version_of_filename, "
           + "Open_the_working_copy_version_of, "
+          + "Show_blame, "
           + "Reset_file_x_to_this_commit]", 
           dumpActions(actions));
+
+      // The blame is computed on the revision of the file.
+      Action showBlame = actions.stream()
+          .filter(action -> "Show_blame".equals(action.getValue(Action.NAME)))
+          .findFirst()
+          .get();
+      BlameManager blameManager = Mockito.mock(BlameManager.class);
+      try (MockedStatic<BlameManager> blameManagerProvider = Mockito.mockStatic(BlameManager.class)) {
+        blameManagerProvider.when(BlameManager::getInstance).thenReturn(blameManager);
+        showBlame.actionPerformed(null);
+      }
+      Mockito.verify(blameManager).doBlame(
+          Mockito.eq("file1.txt"), Mockito.any(HistoryController.class), Mockito.eq(commitCharacteristic.getCommitId()));
       
       // A deleted file.
       actions.clear();
@@ -116,7 +135,7 @@ public class GitHistoryActionsTest extends GitTestBase {
       actions.removeIf(e -> e == null);
       presenter.populateContextualActionsHistoryContext(jPopupMenu, "file2.txt", commitCharacteristic);
       assertEquals("[Open_this_version_of_filename,"
-          + " Open_the_working_copy_version_of]", dumpActions(actions));
+          + " Open_the_working_copy_version_of, Show_blame]", dumpActions(actions));
       
       // Next COMMIT / REVISION
       commitCharacteristic = iterator.next();
@@ -129,7 +148,7 @@ public class GitHistoryActionsTest extends GitTestBase {
       actions = presenter.getFileContextualActions(changedFiles.get(0), commitCharacteristic, true);
       actions.removeIf(e -> e == null);
       assertEquals("[Open_this_version_of_filename,"
-          + " Open_the_working_copy_version_of, Reset_file_x_to_this_commit]", dumpActions(actions));
+          + " Open_the_working_copy_version_of, Show_blame, Reset_file_x_to_this_commit]", dumpActions(actions));
 
       
       actions = new ArrayList<>();
@@ -152,7 +171,7 @@ public class GitHistoryActionsTest extends GitTestBase {
       actions = presenter.getFileContextualActions(changedFiles.get(0), commitCharacteristic, false);
       actions.removeIf(e -> e == null);
       assertEquals("[Compare_with_previous_version, Compare_with_working_tree_version, "
-          + "Open, Open_working_copy_version, Reset_file_to_this_commit]", 
+          + "Open, Open_working_copy_version, Show_blame, Reset_file_to_this_commit]", 
           dumpActions(actions));
       
       // A deleted file.
@@ -174,7 +193,7 @@ public class GitHistoryActionsTest extends GitTestBase {
       actions = presenter.getFileContextualActions(changedFiles.get(0), commitCharacteristic, false);
       actions.removeIf(e -> e == null);
       presenter.populateContextualActionsHistoryContext(jPopupMenu, "file2.txt", commitCharacteristic);
-      assertEquals("[Open, Open_working_copy_version]", dumpActions(actions));
+      assertEquals("[Open, Open_working_copy_version, Show_blame]", dumpActions(actions));
       
       // Next COMMIT / REVISION
       commitCharacteristic = iterator.next();
@@ -188,7 +207,7 @@ public class GitHistoryActionsTest extends GitTestBase {
       actions = presenter.getFileContextualActions(changedFiles.get(0), commitCharacteristic, false);
       actions.removeIf(e -> e == null);
       assertEquals(
-          "[Open, Open_working_copy_version, Reset_file_to_this_commit]", 
+          "[Open, Open_working_copy_version, Show_blame, Reset_file_to_this_commit]", 
           dumpActions(actions));
       
       // ========================= Uncommitted changes ======================================
@@ -322,7 +341,8 @@ public class GitHistoryActionsTest extends GitTestBase {
   }
 
   /**
-   * A commit with a removed file. The commit has 2 parents (it's a merge).
+   * A commit with a removed file. The commit has 2 parents (it's a merge) and the file 
+   * was removed while merging, so it differs from both parents.
    * 
    * @throws Exception If it fails.
    */
@@ -335,6 +355,9 @@ public class GitHistoryActionsTest extends GitTestBase {
   
     try {
       GitAccess.getInstance().setRepositorySynchronously(wcTree.getAbsolutePath());
+      Git git = GitAccess.getInstance().getGit();
+      git.rm().addFilepattern("file1.txt").call();
+      git.commit().setAmend(true).setMessage("Merge branch 'main'").call();
   
       List<CommitCharacteristics> commitsCharacteristics = GitAccess.getInstance().getCommitsCharacteristics(
     		  HistoryStrategy.CURRENT_BRANCH, null, new RenameTracker());
@@ -367,13 +390,13 @@ public class GitHistoryActionsTest extends GitTestBase {
       List<FileStatus> changes = RevCommitUtil.getChangedFiles(commitCharacteristics.getCommitId());
       String dumpFS = dumpFS(changes);
       assertEquals(
-          "(changeType=REMOVED, fileLocation=file2.txt)\n" + 
+          "(changeType=REMOVED, fileLocation=file1.txt)\n" + 
           "", dumpFS);
   
       // A deleted file.
       actions.clear();
       actions = presenter.getFileContextualActions(changes.get(0), commitCharacteristics, true);
-      presenter.populateContextualActionsHistoryContext(jPopupMenu, "file2.txt", commitCharacteristics);
+      presenter.populateContextualActionsHistoryContext(jPopupMenu, "file1.txt", commitCharacteristics);
       assertEquals("[Open_previous_version]", dumpActions(actions));
       
       final StringBuilder b = new StringBuilder();
@@ -389,7 +412,7 @@ public class GitHistoryActionsTest extends GitTestBase {
       assertTrue("Previous version URL was not detected", b.toString().length() > 0);
       
       try (InputStream openStream = new URL(b.toString()).openStream()) {
-        assertEquals("[file 2 content]", IOUtils.readLines(openStream).toString());
+        assertEquals("[3]", IOUtils.readLines(openStream).toString());
       }
       
     } finally {
@@ -236,6 +236,53 @@ public class TagsVisualTest extends GitTestBase {
     }
   }
   
+  /**
+   * <p><b>Description:</b> while the remote tags were never read, the pushed state of the tags is unknown.
+   * Deleting a tag pushed from outside the application lists the remote tags first and asks about
+   * deleting it from the remote.</p>
+   * 
+   * @throws Exception
+   */ 
+  public void testDeleteTagWithUnknownPushedState() throws Exception {
+    createCommits(1);
+    List<CommitCharacteristics> commitsCharacteristics = gitAccess.getCommitsCharacteristics(HistoryStrategy.CURRENT_BRANCH, null, null);
+    gitAccess.tagCommit("External", "", commitsCharacteristics.get(0).getCommitId());
+    // Pushed without the application knowing about it.
+    gitAccess.getGit().push().setPushTags().call();
+    assertFalse(GitTagsManager.areRemoteTagsKnown());
+    
+    TagsDialog[] tagsDialog = new TagsDialog[1];
+    SwingUtilities.invokeLater(() -> {
+      try {
+        tagsDialog[0] = new TagsDialog();
+        tagsDialog[0].setVisible(true);
+        JTable tagsTable = tagsDialog[0].getTagsTable();
+        tagsTable.setRowSelectionInterval(0, 0);
+        // The background listing of the remote tags did not update the table yet.
+        assertFalse(((TagsTableModel) tagsTable.getModel()).getItemAt(0).isPushed());
+        tagsDialog[0].getDeleteButton().doClick();
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    flushAWT();
+    
+    try {
+      JDialog deleteDialog = findDialog(Tags.DELETE_TAG_DIALOG_TITLE);
+      assertNotNull(deleteDialog);
+      assertTrue(findFirstTextArea(deleteDialog).getText().startsWith(Tags.DELETE_REMOTE_TAG_DIALOG_MESSAGE));
+      findFirstButton(deleteDialog, Tags.DELETE).doClick();
+      flushAWT();
+      
+      assertFalse(gitAccess.existsTag("External"));
+      assertTrue(GitTagsManager.getRemoteTags().isEmpty());
+    } finally {
+      if (tagsDialog[0] != null) {
+        tagsDialog[0].dispose();
+      }
+    }
+  }
+  
   /**
    * <p><b>Description:</b> Tests that the "Create Tags" dialog can't have wrong title values</p>
    * <p><b>Bug ID:</b> EXM-46109</p>
@@ -0,0 +1,78 @@
+package com.oxygenxml.git.view.blame;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.blame.BlameResult;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.junit.Test;
+
+import com.oxygenxml.git.service.GitTestBase;
+
+/**
+ * Tests for the cache with the blame of the committed files.
+ */
+public class BlameCacheTest extends GitTestBase {
+
+  /**
+   * <p><b>Description:</b> the cached blame of a file is carried forward over the commits that followed,
+   * with the same result as the blame computed from scratch.</p>
+   *
+   * @throws Exception If it fails.
+   */
+  @Test
+  public void testCarryForward() throws Exception {
+    String repoPath = "target/test-resources/BlameCacheTest/testCarryForward";
+    Repository repository = createRepository(repoPath);
+    commitOneFile(repoPath, "a.txt", "1\n2\n3\n4\n5");
+    commitOneFile(repoPath, "a.txt", "1\n2 changed\n3\n4\n5");
+    ObjectId cachedCommit = repository.resolve("HEAD");
+    commitOneFile(repoPath, "b.txt", "another file");
+    commitOneFile(repoPath, "a.txt", "0\n1\n2 changed\n3\n5 changed");
+    commitOneFile(repoPath, "a.txt", "0\n1\n2 changed\n4 restored\n5 changed\n6");
+    ObjectId head = repository.resolve("HEAD");
+
+    BlameCache blameCache = BlameCache.getInstance();
+    blameCache.clear();
+    try (ObjectReader reader = repository.newObjectReader(); RevWalk revWalk = new RevWalk(reader)) {
+      ObjectId headBlob = BlameCache.getBlob(reader, "a.txt", revWalk.parseCommit(head));
+      assertNull(blameCache.get(repository, reader, "a.txt", head, headBlob));
+
+      ObjectId cachedBlob = BlameCache.getBlob(reader, "a.txt", revWalk.parseCommit(cachedCommit));
+      blameCache.put(repository, "a.txt", cachedCommit, cachedBlob, blame(repository, cachedCommit));
+
+      BlameLines carried = blameCache.get(repository, reader, "a.txt", head, headBlob);
+      BlameLines expected = blame(repository, head);
+      assertEquals(expected.size(), carried.size());
+      for (int i = 0; i < expected.size(); i++) {
+        assertEquals("Line " + i, expected.getCommit(i), carried.getCommit(i));
+        // Only the IDs are cached, not the parsed commits that keep the walked history.
+        assertEquals(ObjectId.class, carried.getCommit(i).getClass());
+      }
+      // The lines of the same commit share it.
+      assertSame(carried.getCommit(3), carried.getCommit(5));
+    }
+  }
+
+  /**
+   * Computes the blame of a file from scratch.
+   *
+   * @param repository The repository.
+   * @param commit     The commit.
+   *
+   * @return The source commit of each line.
+   *
+   * @throws Exception If it fails.
+   */
+  private static BlameLines blame(Repository repository, ObjectId commit) throws Exception {
+    try (Git git = new Git(repository)) {
+      BlameResult result = git.blame().setFilePath("a.txt").setStartCommit(commit).call();
+      BlameLines.Builder lines = new BlameLines.Builder(result.getResultContents().size());
+      for (int i = 0; i < result.getResultContents().size(); i++) {
+        lines.set(i, 1, result.getSourceCommit(i));
+      }
+      return lines.build();
+    }
+  }
+}
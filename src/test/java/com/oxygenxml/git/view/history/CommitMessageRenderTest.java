@@ -1,12 +1,18 @@
 package com.oxygenxml.git.view.history;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
 import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableModel;
 
 import org.junit.Test;
 
@@ -56,4 +62,28 @@ public class CommitMessageRenderTest {
     assertEquals(commitLabels.get(2).getToolTipText(), commitLabels.get(2).getText());
   }
 
+  /**
+   * The message is rendered on a single line and the components are reused from one cell to another.
+   */
+  @Test
+  public void testRendererComponentsReuse() {
+    final JTable table = new JTable(new DefaultTableModel(2, 2));
+    final CommitMessageTableRenderer renderer = new CommitMessageTableRenderer(
+        null, null, "main", Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+    
+    final CommitCharacteristics first = new CommitCharacteristics("First line\n\nSecond line", new Date(), 
+        "author", "1234567", "1234567890", "committer", null);
+    final CommitCharacteristics second = new CommitCharacteristics("Another commit", new Date(), 
+        "author", "7654321", "7654321098", "committer", null);
+    
+    final JPanel firstCell = (JPanel) renderer.getTableCellRendererComponent(table, first, false, false, 0, 1);
+    final JLabel firstMessageLabel = (JLabel) firstCell.getComponent(firstCell.getComponentCount() - 1);
+    assertEquals("First line Second line", firstMessageLabel.getText());
+    
+    final JPanel secondCell = (JPanel) renderer.getTableCellRendererComponent(table, second, false, false, 1, 1);
+    final JLabel secondMessageLabel = (JLabel) secondCell.getComponent(secondCell.getComponentCount() - 1);
+    assertEquals("Another commit", secondMessageLabel.getText());
+    assertSame(firstMessageLabel, secondMessageLabel);
+  }
+
 }